@@ -22,6 +22,34 @@ val lombokVersion = "1.18.30"
 val googleApiClientVersion = "2.2.0"
 val googleSheetsVersion = "v4-rev20230227-2.0.0"
 val googleAuthVersion = "1.19.0"
+val jmhVersion = "1.37"
+
+/* ----------------------- load test source set -------------------- */
+// Simulated draft night (bot captains + spectators) against an in-process server: ./gradlew loadTest
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+/* --------------------------- jmh source set ---------------------- */
+// Microbenchmarks for the engine hot paths: ./gradlew jmh (-Pjmh.includes=MakePick to filter)
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+/* ----------------------- simulation source set ------------------ */
+// Headless drafts on a virtual clock, checked against the draft rules: ./gradlew simulate
+val simulation: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[simulation.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[simulation.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
 
 /* ------------------------------ deps ---------------------------- */
 dependencies {
@@ -29,6 +57,10 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-websocket")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    // Traces of each pick, written to the log (versions from the Boot BOM)
+    implementation("io.micrometer:micrometer-tracing-bridge-otel")
+    implementation("io.opentelemetry:opentelemetry-exporter-logging")
 
     // Firebase
     implementation("com.google.firebase:firebase-admin:$firebaseAdminVersion")
@@ -50,9 +82,77 @@ dependencies {
     
     // Firebase already includes the necessary Google Auth dependencies
 
+    // Binary encodings clients can negotiate for state broadcasts (versions from the Boot BOM)
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+
+    // STOMP broker relay (TCP client) and the embedded broker used for local multi-node runs
+    implementation("io.projectreactor.netty:reactor-netty")
+    implementation("org.apache.activemq:artemis-server")
+    implementation("org.apache.activemq:artemis-stomp-protocol")
+
+    // Benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+
     // Tests
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher:$junitLauncherVersion")
 }
 
-tasks.withType<Test> { useJUnitPlatform() }
\ No newline at end of file
+tasks.withType<Test> { useJUnitPlatform() }
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs a full simulated draft with bot captains and spectator clients and prints latency and heap figures."
+    group = "verification"
+    classpath = loadTest.runtimeClasspath
+    mainClass = "com.watermeloncup.draftengine.loadtest.DraftLoadTest"
+    maxHeapSize = "1g"
+    args(
+        "--spectators=${project.findProperty("spectators") ?: 300}",
+        "--players=${project.findProperty("players") ?: 120}",
+    )
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks with the gc profiler and writes JSON results."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    outputs.file(jmhResults)
+    doFirst { jmhResults.get().asFile.parentFile.mkdirs() }
+    args(listOfNotNull(
+        project.findProperty("jmh.includes")?.toString(),
+        // One fork, 3 x 2 s warmup and 5 x 2 s measurement: about 20 s per benchmark and
+        // parameter, instead of JMH's default of over 8 minutes
+        "-f", "1", "-wi", "3", "-w", "2s", "-i", "5", "-r", "2s",
+        "-prof", "gc",
+        "-rf", "json",
+        "-rff", jmhResults.get().asFile.absolutePath,
+    ))
+}
+
+// Record the last run as the baseline that later runs are compared against
+tasks.register<Copy>("jmhBaseline") {
+    description = "Copies the last JMH results to src/jmh/baseline.json."
+    group = "verification"
+    from(jmhResults) { rename { "baseline.json" } }
+    into("src/jmh")
+}
+
+tasks.register<JavaExec>("simulate") {
+    description = "Runs complete drafts in parallel on virtual time, checks the draft rules and prints throughput."
+    group = "verification"
+    classpath = simulation.runtimeClasspath
+    mainClass = "com.watermeloncup.draftengine.simulation.DraftSimulator"
+    args(listOfNotNull(
+        "--drafts=${project.findProperty("drafts") ?: 10000}",
+        "--players=${project.findProperty("players") ?: 120}",
+        "--seed=${project.findProperty("seed") ?: 1}",
+        "--strategy=${project.findProperty("strategy") ?: "mixed"}",
+        project.findProperty("parallelism")?.let { "--parallelism=$it" },
+        project.findProperty("broadcast")?.let { "--broadcast=$it" },
+    ))
+}
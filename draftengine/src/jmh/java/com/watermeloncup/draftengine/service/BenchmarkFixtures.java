@@ -0,0 +1,107 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.Season;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Services wired by hand the way Spring wires them, minus the network. Messages are
+ * converted to JSON as in the application and then dropped, so benchmarks measure the
+ * engine and payload building rather than the broker.
+ */
+final class BenchmarkFixtures {
+    static final int CAPTAINS = 6;
+    static final Season SEASON = new Season(2026);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Get a mapper configured like Spring Boot's default one
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Get a messaging template that converts payloads like the broker template and discards them
+     */
+    static SimpMessagingTemplate messagingTemplate(ObjectMapper objectMapper) {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        MappingJackson2MessageConverter jackson = new MappingJackson2MessageConverter();
+        jackson.setObjectMapper(objectMapper);
+        template.setMessageConverter(new CompositeMessageConverter(
+                List.of(new StringMessageConverter(), new ByteArrayMessageConverter(), jackson)));
+        return template;
+    }
+
+    /**
+     * Get metrics backed by an in-memory registry, so recording stays part of the measured cost
+     */
+    static DraftMetrics metrics() {
+        return new DraftMetrics(new SimpleMeterRegistry());
+    }
+
+    static BroadcastService broadcastService(SimpMessagingTemplate template, ObjectMapper objectMapper) {
+        return new BroadcastService(template, objectMapper, metrics(),
+                Set.of("/topic/draft", "/topic/captains", "/topic/connected-users"), List.of("cbor", "smile"), "simple");
+    }
+
+    static DraftEventFeed eventFeed(ObjectMapper objectMapper) {
+        return new DraftEventFeed(objectMapper, 256, 64);
+    }
+
+    /**
+     * Get a draft service whose player source yields the given number of generated players
+     */
+    static DraftService draftService(SimpMessagingTemplate template, ObjectMapper objectMapper,
+                                     BroadcastService broadcastService, DraftEventFeed eventFeed, int players) {
+        DraftMetrics metrics = metrics();
+        StateCache stateCache = new StateCache(objectMapper, metrics, 1024);
+        DraftUpdateLog updateLog = new DraftUpdateLog(128);
+        PlayerSource source = () -> players(players);
+        ObjectProvider<PlayerSource> provider = new StaticListableBeanFactory(Map.of("playerSource", source))
+                .getBeanProvider(PlayerSource.class);
+        return new DraftService(template, null, new GoogleSheetsService(), new ReplicationLog(template),
+                broadcastService, stateCache, eventFeed, updateLog, new PlayerIndex(SEASON), provider, metrics,
+                Clock.systemUTC(), new Random(1), SEASON);
+    }
+
+    static List<Player> players(int count) {
+        String[] positions = {"Goalkeeper", "Defender", "Midfielder", "Forward"};
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player-" + i, "First" + i, "Last" + i, List.of(positions[i % positions.length]),
+                    "Club " + (i % 12), i % 3 == 0 ? "left" : "right", String.valueOf(2026 + i % 4),
+                    "player" + i + "@example.com", "555-010" + (i % 10), i % 5 == 0 ? "Nick" + i : null,
+                    SEASON.bit()));
+        }
+        return players;
+    }
+
+    static List<Captain> captains() {
+        List<Captain> captains = new ArrayList<>(CAPTAINS);
+        for (int i = 0; i < CAPTAINS; i++) {
+            captains.add(new Captain("captain-" + i, "captain" + i + "@example.com", "Captain", "Number" + i,
+                    "session-" + i));
+        }
+        return captains;
+    }
+}
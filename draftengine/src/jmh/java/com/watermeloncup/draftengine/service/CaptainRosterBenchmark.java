@@ -0,0 +1,55 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.UserInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding and broadcasting the captain roster when a captain's connection drops and
+ * comes back, the most common roster change during a draft. Each invocation builds and
+ * sends two roster versions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CaptainRosterBenchmark {
+
+    private CaptainService captainService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void registerCaptains() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        SimpMessagingTemplate template = BenchmarkFixtures.messagingTemplate(objectMapper);
+        BroadcastService broadcastService = BenchmarkFixtures.broadcastService(template, objectMapper);
+        DraftEventFeed eventFeed = BenchmarkFixtures.eventFeed(objectMapper);
+        DraftService draftService = BenchmarkFixtures.draftService(template, objectMapper, broadcastService,
+                eventFeed, 120);
+        captainService = new CaptainService(broadcastService, draftService, new ReplicationLog(template), eventFeed);
+
+        // The sixth registration starts the draft, as on draft night
+        for (Captain captain : BenchmarkFixtures.captains()) {
+            captainService.registerCaptain(new UserInfo(captain.getEmail(), captain.getUserId(),
+                    captain.getFirstName(), captain.getLastName()), captain.getSessionId());
+        }
+    }
+
+    @Benchmark
+    public long disconnectAndReconnect() {
+        int captain = Math.floorMod(next++, BenchmarkFixtures.CAPTAINS);
+        captainService.removeCaptainBySessionId("session-" + captain);
+        captainService.updateCaptainSessionId("captain-" + captain, "session-" + captain);
+        return captainService.getCaptainRoster().version();
+    }
+}
@@ -0,0 +1,41 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.Captain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turn bookkeeping done on every pick: who is on the clock and their display name
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DraftTurnBenchmark {
+
+    private final List<Captain> captains = BenchmarkFixtures.captains();
+    private final List<String> draftOrder = captains.stream().map(Captain::getUserId).toList();
+    private int pickSlot;
+
+    @Benchmark
+    public String determineNextCaptainSnake() {
+        return DraftService.determineNextCaptain(null, draftOrder, pickSlot++ & 1023, true);
+    }
+
+    @Benchmark
+    public String determineNextCaptainRoundRobin() {
+        return DraftService.determineNextCaptain(null, draftOrder, pickSlot++ & 1023, false);
+    }
+
+    @Benchmark
+    public String getCaptainName() {
+        // Cycles through the draft order, so later captains cost a longer scan
+        return DraftService.getCaptainName(draftOrder.get(Math.floorMod(pickSlot++, BenchmarkFixtures.CAPTAINS)), captains);
+    }
+}
@@ -0,0 +1,63 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.ReplicationSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A live pick from end to end: pool and team update, next captain, serialization,
+ * catch-up diff and broadcast. The draft is reset from a snapshot once half the pool
+ * is gone, so every measured pick sees roughly the configured pool size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MakePickBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int poolSize;
+
+    private DraftService draftService;
+    private ReplicationSnapshot started;
+
+    @Setup(Level.Trial)
+    public void startDraft() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        SimpMessagingTemplate template = BenchmarkFixtures.messagingTemplate(objectMapper);
+        draftService = BenchmarkFixtures.draftService(template, objectMapper,
+                BenchmarkFixtures.broadcastService(template, objectMapper),
+                BenchmarkFixtures.eventFeed(objectMapper), poolSize);
+
+        List<Captain> captains = BenchmarkFixtures.captains();
+        draftService.initializeWithCaptains(captains);
+        started = draftService.replicationSnapshot(() -> captains);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetWhenHalfDrafted() {
+        if (draftService.currentState().availablePool().size() <= poolSize / 2) {
+            draftService.restoreSnapshot(started);
+        }
+    }
+
+    @Benchmark
+    public DraftState makePick() {
+        DraftState state = draftService.currentState();
+        draftService.makePick(state.currentCaptainId(), state.availablePool().get(0).id());
+        return draftService.currentState();
+    }
+}
@@ -0,0 +1,47 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.UserInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding and broadcasting the connected-users list, which happens on every
+ * connect, login and disconnect
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PresenceBenchmark {
+
+    @Param({"50", "500", "2000"})
+    private int connectedUsers;
+
+    private ConnectedUsersService connectedUsersService;
+
+    @Setup(Level.Trial)
+    public void connectUsers() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        SimpMessagingTemplate template = BenchmarkFixtures.messagingTemplate(objectMapper);
+        connectedUsersService = new ConnectedUsersService(BenchmarkFixtures.broadcastService(template, objectMapper));
+        for (int i = 0; i < connectedUsers; i++) {
+            connectedUsersService.addUser("session-" + i,
+                    new UserInfo("user" + i + "@example.com", "uid-" + i, "First" + i, "Last" + i));
+        }
+    }
+
+    @Benchmark
+    public void broadcastConnectedUsers() {
+        connectedUsersService.broadcastConnectedUsers();
+    }
+}
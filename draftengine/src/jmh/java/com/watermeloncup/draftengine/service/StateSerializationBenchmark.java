@@ -0,0 +1,78 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.SerializedState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a mid-draft state (a quarter of the pool on teams), on its own and
+ * through the state cache as a new version, which adds the comparison with the
+ * previous version and gzip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StateSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int poolSize;
+
+    private ObjectMapper objectMapper;
+    private StateCache stateCache;
+    private DraftState state;
+    // Same state with the pick deadline moved, so the two alternate as new versions
+    private DraftState extended;
+    private boolean flip;
+
+    @Setup(Level.Trial)
+    public void draftAQuarter() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        SimpMessagingTemplate template = BenchmarkFixtures.messagingTemplate(objectMapper);
+        DraftService draftService = BenchmarkFixtures.draftService(template, objectMapper,
+                BenchmarkFixtures.broadcastService(template, objectMapper),
+                BenchmarkFixtures.eventFeed(objectMapper), poolSize);
+
+        List<Captain> captains = BenchmarkFixtures.captains();
+        draftService.initializeWithCaptains(captains);
+        for (int i = 0; i < poolSize / 4; i++) {
+            DraftState current = draftService.currentState();
+            draftService.makePick(current.currentCaptainId(), current.availablePool().get(0).id());
+        }
+        state = draftService.currentState();
+        extended = withExpiry(state, state.pickExpiresAt().plusSeconds(30));
+        stateCache = new StateCache(objectMapper, BenchmarkFixtures.metrics(), 1024);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(state);
+    }
+
+    @Benchmark
+    public SerializedState stateCacheNewVersion() {
+        flip = !flip;
+        return stateCache.serialize(flip ? extended : state);
+    }
+
+    private static DraftState withExpiry(DraftState s, Instant pickExpiresAt) {
+        return new DraftState(s.currentCaptainId(), s.nextCaptainId(), s.currentCaptain(), s.nextCaptain(),
+                s.availablePool(), s.teams(), pickExpiresAt, s.lastPick(), s.draftStarted(), s.captains(),
+                s.autoDraftPreferences(), s.snakeDraft(), s.draftOrder(), s.currentRound());
+    }
+}
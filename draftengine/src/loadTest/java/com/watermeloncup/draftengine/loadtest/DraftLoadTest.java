@@ -0,0 +1,271 @@
+package com.watermeloncup.draftengine.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.DraftEngineApplication;
+import com.watermeloncup.draftengine.model.CompressionStats;
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.Season;
+import com.watermeloncup.draftengine.service.CompressionStatsService;
+import com.watermeloncup.draftengine.service.PlayerSource;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs a full draft against an in-process server with generated players, six bot
+ * captains and a crowd of spectator sessions, all over STOMP on the raw WebSocket
+ * endpoint, then prints latency, fan-out, traffic and heap figures.
+ *
+ * Usage: ./gradlew loadTest -Pspectators=500 -Pplayers=120
+ *
+ * Server and clients share this JVM (and its heap), so the heap figures are an upper
+ * bound for the server alone.
+ */
+public class DraftLoadTest {
+    private static final int CAPTAINS = 6;
+    private static final int CONNECT_BATCH = 50;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LoadTestMetrics metrics = new LoadTestMetrics();
+    private final CountDownLatch draftDone = new CountDownLatch(1);
+    private final int spectators;
+    private final int players;
+    private final long timeoutSeconds;
+
+    DraftLoadTest(int spectators, int players, long timeoutSeconds) {
+        this.spectators = spectators;
+        this.players = players;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length == 2) {
+                options.put(pair[0], pair[1]);
+            }
+        }
+        new DraftLoadTest(
+                Integer.parseInt(options.getOrDefault("spectators", "300")),
+                Integer.parseInt(options.getOrDefault("players", "120")),
+                Long.parseLong(options.getOrDefault("timeout-s", "600"))).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DraftEngineApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx)
+                        .registerBean(PlayerSource.class, () -> this::generatePlayers))
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "draft.replication.role=none",
+                        "draft.broker.mode=simple")
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String url = "ws://localhost:" + port + "/draft-ws/websocket";
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long idleHeap = memory.getHeapMemoryUsage().getUsed();
+
+        WebSocketStompClient stompClient = stompClient();
+        List<StompSession> sessions = new ArrayList<>();
+
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < spectators; i += CONNECT_BATCH) {
+            List<CompletableFuture<StompSession>> batch = new ArrayList<>();
+            for (int j = i; j < Math.min(i + CONNECT_BATCH, spectators); j++) {
+                batch.add(stompClient.connectAsync(url, new SpectatorHandler()));
+            }
+            for (CompletableFuture<StompSession> session : batch) {
+                sessions.add(session.get(30, TimeUnit.SECONDS));
+            }
+        }
+        System.gc();
+        long connectedHeap = memory.getHeapMemoryUsage().getUsed();
+        System.out.printf("Connected %d spectators in %.1f s%n", spectators, (System.nanoTime() - connectStart) / 1e9);
+
+        // Track peak heap while the draft runs
+        AtomicLong peakHeap = new AtomicLong(connectedHeap);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        // Counted from the first captain joining, since the draft starts when the sixth one does
+        long draftStart = System.nanoTime();
+        for (int i = 0; i < CAPTAINS; i++) {
+            sessions.add(stompClient.connectAsync(url, new CaptainBot("bot-" + i, i)).get(30, TimeUnit.SECONDS));
+        }
+        boolean finished = draftDone.await(timeoutSeconds, TimeUnit.SECONDS);
+        double draftSeconds = (System.nanoTime() - draftStart) / 1e9;
+        // Let the last broadcast reach every spectator
+        Thread.sleep(2000);
+        sampler.shutdown();
+
+        report(finished, draftSeconds, idleHeap, connectedHeap, peakHeap.get(),
+                context.getBean(CompressionStatsService.class).getStats());
+
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+        context.close();
+    }
+
+    private void report(boolean finished, double draftSeconds, long idleHeap, long connectedHeap, long peakHeap,
+                        List<CompressionStats> serverStats) {
+        long serverFrames = serverStats.stream().mapToLong(CompressionStats::frames).sum();
+        long serverBytes = serverStats.stream().mapToLong(CompressionStats::rawBytes).sum();
+
+        System.out.println();
+        System.out.printf("Draft %s: %d players, %d captains, %d spectators, %.1f s%n",
+                finished ? "completed" : "TIMED OUT", players, CAPTAINS, spectators, draftSeconds);
+        System.out.println("Pick to broadcast:  " + LoadTestMetrics.percentiles(metrics.pickToBroadcastNanos()));
+        System.out.println("Broadcast fan-out:  " + LoadTestMetrics.percentiles(metrics.fanOutNanos()));
+        System.out.printf("Spectators received %d /topic/draft frames, %.1f MB of payload%n",
+                metrics.frames.get(), metrics.payloadBytes.get() / 1e6);
+        System.out.printf("Server sent %d frames, %.1f MB before compression%n", serverFrames, serverBytes / 1e6);
+        serverStats.forEach(stats -> System.out.printf("  %-28s %8d frames %10.1f KB%n",
+                stats.destination(), stats.frames(), stats.rawBytes() / 1e3));
+        System.out.printf("Heap: %.1f MB idle, %.1f MB with sessions (%.1f KB per session), %.1f MB peak%n",
+                idleHeap / 1e6, connectedHeap / 1e6,
+                spectators > 0 ? (connectedHeap - idleHeap) / 1e3 / spectators : 0.0, peakHeap / 1e6);
+    }
+
+    private List<Player> generatePlayers() {
+        String[] positions = {"Goalkeeper", "Defender", "Midfielder", "Forward"};
+        List<Player> generated = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            generated.add(new Player("player-" + i, "First" + i, "Last" + i, List.of(positions[i % positions.length]),
+                    "Club " + (i % 12), i % 3 == 0 ? "left" : "right", String.valueOf(2026 + i % 4),
+                    "player" + i + "@example.com", null, i % 5 == 0 ? "Nick" + i : null,
+                    new Season(2026).bit()));
+        }
+        return generated;
+    }
+
+    private WebSocketStompClient stompClient() {
+        // Draft states are larger than the container's default 8 KB text message buffer
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(8 * 1024 * 1024);
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient(container));
+        client.setInboundMessageSizeLimit(8 * 1024 * 1024);
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("load-heartbeat-");
+        scheduler.initialize();
+        client.setTaskScheduler(scheduler);
+        return client;
+    }
+
+    private static StompFrameHandler bytesHandler(BiConsumer<StompHeaders, byte[]> handler) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.accept(headers, (byte[]) payload);
+            }
+        };
+    }
+
+    private byte[] json(Object payload) {
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class SpectatorHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            session.subscribe("/topic/draft", bytesHandler((headers, payload) ->
+                    metrics.arrived(headers.getFirst("draft-version"), payload.length, System.nanoTime())));
+        }
+    }
+
+    /**
+     * Registers as a captain and picks the first available player whenever it is on the clock
+     */
+    private class CaptainBot extends StompSessionHandlerAdapter {
+        private final String uid;
+        private final int index;
+        private StompSession session;
+        private String lastActedVersion;
+
+        CaptainBot(String uid, int index) {
+            this.uid = uid;
+            this.index = index;
+        }
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            this.session = session;
+            session.subscribe("/topic/draft", bytesHandler(this::onState));
+            send("/app/become-captain", Map.of(
+                    "email", uid + "@example.com", "uid", uid, "firstName", "Bot", "lastName", String.valueOf(index)));
+        }
+
+        private synchronized void onState(StompHeaders headers, byte[] payload) {
+            String version = headers.getFirst("draft-version");
+            JsonNode state;
+            try {
+                state = mapper.readTree(payload);
+            } catch (Exception e) {
+                return;
+            }
+            metrics.stateForPick(version, state.path("lastPick").path("id").asText(null));
+
+            JsonNode pool = state.path("availablePool");
+            if (state.path("draftStarted").asBoolean() && pool.isEmpty()) {
+                draftDone.countDown();
+                return;
+            }
+            if (!uid.equals(state.path("currentCaptainId").asText(null)) || version == null
+                    || version.equals(lastActedVersion) || pool.isEmpty()) {
+                return;
+            }
+            lastActedVersion = version;
+            String playerId = pool.get(0).path("id").asText();
+            metrics.pickSent(playerId);
+            send("/app/make-pick", Map.of("captainId", uid, "playerId", playerId));
+        }
+
+        private void send(String destination, Object payload) {
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination(destination);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            session.send(headers, json(payload));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.watermeloncup.draftengine.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timings shared by the simulated clients. All times are System.nanoTime() in this JVM.
+ */
+class LoadTestMetrics {
+    // Player ID -> when the captain bot sent the pick
+    final Map<String, Long> pickSentAt = new ConcurrentHashMap<>();
+    // draft-version -> when the pick that produced it was sent
+    final Map<String, Long> versionPickedAt = new ConcurrentHashMap<>();
+    // draft-version -> arrival time at each spectator
+    final Map<String, List<Long>> arrivals = new ConcurrentHashMap<>();
+
+    final AtomicLong frames = new AtomicLong();
+    final AtomicLong payloadBytes = new AtomicLong();
+
+    void pickSent(String playerId) {
+        pickSentAt.put(playerId, System.nanoTime());
+    }
+
+    /**
+     * Tie a state version to the pick that produced it, the first time any bot sees it
+     */
+    void stateForPick(String version, String lastPickId) {
+        Long sent = lastPickId != null ? pickSentAt.get(lastPickId) : null;
+        if (version != null && sent != null) {
+            versionPickedAt.putIfAbsent(version, sent);
+        }
+    }
+
+    void arrived(String version, int bytes, long nanos) {
+        frames.incrementAndGet();
+        payloadBytes.addAndGet(bytes);
+        if (version != null) {
+            arrivals.computeIfAbsent(version, v -> Collections.synchronizedList(new ArrayList<>())).add(nanos);
+        }
+    }
+
+    /**
+     * Pick sent by a captain to state received by a spectator, one sample per (pick, spectator)
+     */
+    List<Long> pickToBroadcastNanos() {
+        List<Long> samples = new ArrayList<>();
+        versionPickedAt.forEach((version, sent) -> {
+            List<Long> times = arrivals.get(version);
+            if (times != null) {
+                synchronized (times) {
+                    times.forEach(arrival -> samples.add(arrival - sent));
+                }
+            }
+        });
+        return samples;
+    }
+
+    /**
+     * First to last spectator receiving the same state, one sample per pick
+     */
+    List<Long> fanOutNanos() {
+        List<Long> samples = new ArrayList<>();
+        versionPickedAt.keySet().forEach(version -> {
+            List<Long> times = arrivals.get(version);
+            if (times != null && !times.isEmpty()) {
+                synchronized (times) {
+                    samples.add(Collections.max(times) - Collections.min(times));
+                }
+            }
+        });
+        return samples;
+    }
+
+    static String percentiles(List<Long> nanos) {
+        if (nanos.isEmpty()) {
+            return "no samples";
+        }
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return String.format("p50 %.2f ms, p99 %.2f ms, max %.2f ms (%d samples)",
+                millis(sorted, 0.50), millis(sorted, 0.99), sorted.get(sorted.size() - 1) / 1e6, sorted.size());
+    }
+
+    private static double millis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
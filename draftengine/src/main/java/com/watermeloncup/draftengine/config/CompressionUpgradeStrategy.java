@@ -0,0 +1,146 @@
+package com.watermeloncup.draftengine.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.RequestUpgradeStrategy;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Upgrade strategy that controls permessage-deflate negotiation for /draft-ws, wrapping
+ * the container's own strategy.
+ *
+ * The container (Tomcat) implements the extension and negotiates it straight from the
+ * Sec-WebSocket-Extensions request header, compressing every data frame once agreed.
+ * So the header is rewritten before the upgrade: the offer is dropped when compression
+ * is disabled, and the configured context takeover parameters are added to it otherwise.
+ */
+public class CompressionUpgradeStrategy implements RequestUpgradeStrategy {
+    static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+    private static final String EXTENSIONS_HEADER = "Sec-WebSocket-Extensions";
+
+    private final RequestUpgradeStrategy delegate;
+    private final boolean enabled;
+    private final boolean serverNoContextTakeover;
+    private final boolean clientNoContextTakeover;
+
+    /**
+     * @param delegate the strategy that performs the upgrade
+     * @param enabled whether to accept permessage-deflate offers
+     * @param serverNoContextTakeover reset the server's compression context after each
+     *        message (less memory per session, worse ratio)
+     * @param clientNoContextTakeover ask clients to reset their context after each message
+     */
+    public CompressionUpgradeStrategy(RequestUpgradeStrategy delegate, boolean enabled,
+                                      boolean serverNoContextTakeover, boolean clientNoContextTakeover) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.serverNoContextTakeover = serverNoContextTakeover;
+        this.clientNoContextTakeover = clientNoContextTakeover;
+    }
+
+    @Override
+    public String[] getSupportedVersions() {
+        return delegate.getSupportedVersions();
+    }
+
+    @Override
+    public List<WebSocketExtension> getSupportedExtensions(ServerHttpRequest request) {
+        return delegate.getSupportedExtensions(request);
+    }
+
+    @Override
+    public void upgrade(ServerHttpRequest request, ServerHttpResponse response, String selectedProtocol,
+                        List<WebSocketExtension> selectedExtensions, Principal user, WebSocketHandler wsHandler,
+                        Map<String, Object> attributes) throws HandshakeFailureException {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            List<String> offers = Collections.list(servletRequest.getServletRequest().getHeaders(EXTENSIONS_HEADER));
+            if (!offers.isEmpty()) {
+                String rewritten = rewriteOffer(String.join(", ", offers));
+                request = new ServletServerHttpRequest(
+                        new ExtensionsHeaderRequest(servletRequest.getServletRequest(), rewritten));
+            }
+        }
+        delegate.upgrade(request, response, selectedProtocol, selectedExtensions, user, wsHandler, attributes);
+    }
+
+    /**
+     * Apply the compression settings to a client's Sec-WebSocket-Extensions header
+     * @param offered the header value as sent by the client
+     * @return the header value the container should negotiate from, or null for none
+     */
+    String rewriteOffer(String offered) {
+        List<String> extensions = new ArrayList<>();
+        for (String offer : offered.split(",")) {
+            // Keep each offer's parameters verbatim, including valueless ones like client_max_window_bits
+            List<String> parts = new ArrayList<>();
+            for (String part : offer.split(";")) {
+                if (!part.isBlank()) {
+                    parts.add(part.trim());
+                }
+            }
+            if (parts.isEmpty()) {
+                continue;
+            }
+            if (!PERMESSAGE_DEFLATE.equalsIgnoreCase(parts.get(0))) {
+                extensions.add(String.join("; ", parts));
+            } else if (enabled) {
+                addParameter(parts, "server_no_context_takeover", serverNoContextTakeover);
+                addParameter(parts, "client_no_context_takeover", clientNoContextTakeover);
+                extensions.add(String.join("; ", parts));
+            }
+        }
+        return extensions.isEmpty() ? null : String.join(", ", extensions);
+    }
+
+    private static void addParameter(List<String> parts, String parameter, boolean wanted) {
+        if (wanted && parts.stream().noneMatch(parameter::equalsIgnoreCase)) {
+            parts.add(parameter);
+        }
+    }
+
+    /**
+     * Request view with a replaced (or removed) Sec-WebSocket-Extensions header
+     */
+    private static final class ExtensionsHeaderRequest extends HttpServletRequestWrapper {
+        private final String extensions;
+
+        ExtensionsHeaderRequest(HttpServletRequest request, String extensions) {
+            super(request);
+            this.extensions = extensions;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return EXTENSIONS_HEADER.equalsIgnoreCase(name) ? extensions : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!EXTENSIONS_HEADER.equalsIgnoreCase(name)) {
+                return super.getHeaders(name);
+            }
+            return Collections.enumeration(extensions != null ? List.of(extensions) : List.of());
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            if (extensions == null) {
+                names.removeIf(EXTENSIONS_HEADER::equalsIgnoreCase);
+            }
+            return Collections.enumeration(names);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.watermeloncup.draftengine.config;
+
+import com.watermeloncup.draftengine.model.SessionOutboundStats;
+import com.watermeloncup.draftengine.service.CompressionStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Outbound session wrapper that queues frames and writes them on a separate
+ * executor, so a slow client never blocks the broker. Frames for state-style
+ * destinations (e.g. /topic/draft) are conflated: if the previous frame for the
+ * same destination hasn't been written yet, it is replaced by the newer one.
+ * All other frames are written in the order they were sent.
+ */
+public class ConflatingWebSocketSessionDecorator extends WebSocketSessionDecorator {
+    private static final Logger logger = LoggerFactory.getLogger(ConflatingWebSocketSessionDecorator.class);
+    private static final String MESSAGE_COMMAND = "MESSAGE\n";
+    private static final String DESTINATION_HEADER = "destination:";
+    // STOMP headers are short; don't scan deep into large bodies looking for them
+    private static final int MAX_HEADER_SCAN = 1024;
+
+    private final Set<String> conflatedDestinations;
+    private final Executor sendExecutor;
+    private final int bufferSizeLimit;
+    // Optional; sees every frame actually written, for per-destination volume and compression stats
+    private final CompressionStatsService compressionStats;
+
+    // Queue entries are either a WebSocketMessage (in-order frame) or a StateSlot
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, StateSlot> stateSlots = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong bufferedFrames = new AtomicLong();
+    private final AtomicLong sentFrames = new AtomicLong();
+    private final AtomicLong conflatedFrames = new AtomicLong();
+
+    public ConflatingWebSocketSessionDecorator(WebSocketSession delegate, Set<String> conflatedDestinations,
+                                               Executor sendExecutor, int bufferSizeLimit) {
+        this(delegate, conflatedDestinations, sendExecutor, bufferSizeLimit, null);
+    }
+
+    public ConflatingWebSocketSessionDecorator(WebSocketSession delegate, Set<String> conflatedDestinations,
+                                               Executor sendExecutor, int bufferSizeLimit,
+                                               CompressionStatsService compressionStats) {
+        super(delegate);
+        this.conflatedDestinations = conflatedDestinations;
+        this.sendExecutor = sendExecutor;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.compressionStats = compressionStats;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (!isOpen()) {
+            return;
+        }
+
+        String destination = destinationOf(message);
+        if (destination != null && conflatedDestinations.contains(destination)) {
+            StateSlot slot = stateSlots.computeIfAbsent(destination, d -> new StateSlot());
+            WebSocketMessage<?> replaced = slot.pending.getAndSet(message);
+            if (replaced != null) {
+                // Slot is already queued; the newer frame takes the older one's place
+                conflatedFrames.incrementAndGet();
+                bufferedBytes.addAndGet(-replaced.getPayloadLength());
+                bufferedFrames.decrementAndGet();
+            } else {
+                queue.add(slot);
+            }
+        } else {
+            queue.add(message);
+        }
+        bufferedFrames.incrementAndGet();
+
+        if (bufferedBytes.addAndGet(message.getPayloadLength()) > bufferSizeLimit) {
+            throw new SessionLimitExceededException(
+                    "Outbound buffer for session " + getId() + " exceeded " + bufferSizeLimit + " bytes",
+                    CloseStatus.SESSION_NOT_RELIABLE);
+        }
+
+        scheduleFlush();
+    }
+
+    /**
+     * Get a snapshot of this session's outbound buffer and counters
+     * @return the current stats
+     */
+    public SessionOutboundStats getStats() {
+        return new SessionOutboundStats(
+                getId(),
+                bufferedFrames.get(),
+                bufferedBytes.get(),
+                sentFrames.get(),
+                conflatedFrames.get());
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            sendExecutor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        try {
+            Object entry;
+            while ((entry = queue.poll()) != null) {
+                WebSocketMessage<?> message = entry instanceof StateSlot slot
+                        ? slot.pending.getAndSet(null)
+                        : (WebSocketMessage<?>) entry;
+                if (message == null) {
+                    continue;
+                }
+
+                bufferedBytes.addAndGet(-message.getPayloadLength());
+                bufferedFrames.decrementAndGet();
+                if (!isOpen()) {
+                    continue;
+                }
+                getDelegate().sendMessage(message);
+                sentFrames.incrementAndGet();
+                if (compressionStats != null) {
+                    String destination = destinationOf(message);
+                    if (destination != null) {
+                        compressionStats.recordSent(destination, message);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to send to session {}, closing: {}", getId(), e.getMessage());
+            queue.clear();
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException ignored) {
+                // Session is already broken
+            }
+        } finally {
+            flushScheduled.set(false);
+            // A frame may have been queued after the last poll but before the flag was cleared
+            if (!queue.isEmpty() && isOpen()) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Extract the destination header from an outbound STOMP MESSAGE frame
+     * @param message the encoded frame
+     * @return the destination, or null for other frames (receipts, errors, heartbeats)
+     */
+    static String destinationOf(WebSocketMessage<?> message) {
+        String head;
+        if (message instanceof TextMessage text) {
+            String payload = text.getPayload();
+            head = payload.substring(0, Math.min(payload.length(), MAX_HEADER_SCAN));
+        } else if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().duplicate();
+            byte[] bytes = new byte[Math.min(payload.remaining(), MAX_HEADER_SCAN)];
+            payload.get(bytes);
+            head = new String(bytes, StandardCharsets.ISO_8859_1);
+        } else {
+            return null;
+        }
+
+        if (!head.startsWith(MESSAGE_COMMAND)) {
+            return null;
+        }
+
+        int lineStart = MESSAGE_COMMAND.length();
+        while (lineStart < head.length()) {
+            int lineEnd = head.indexOf('\n', lineStart);
+            if (lineEnd < 0 || lineEnd == lineStart) {
+                // End of scanned region or blank line ending the headers
+                return null;
+            }
+            if (head.startsWith(DESTINATION_HEADER, lineStart)) {
+                return head.substring(lineStart + DESTINATION_HEADER.length(), lineEnd).trim();
+            }
+            lineStart = lineEnd + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Latest unsent frame for one conflated destination
+     */
+    private static final class StateSlot {
+        private final AtomicReference<WebSocketMessage<?>> pending = new AtomicReference<>();
+    }
+}
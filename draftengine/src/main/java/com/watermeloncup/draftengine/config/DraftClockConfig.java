@@ -0,0 +1,31 @@
+package com.watermeloncup.draftengine.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.Random;
+
+/**
+ * The clock behind pick deadlines and the generator behind the random draft order.
+ * DraftService takes both from here rather than reading the system clock itself, so
+ * tests and the draft simulator can run drafts on virtual time with a fixed seed.
+ */
+@Configuration
+public class DraftClockConfig {
+
+    // Fixes the random draft order, e.g. to replay a draft; empty = different every run
+    @Value("${draft.random-seed:}")
+    private String randomSeed;
+
+    @Bean
+    public Clock draftClock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public Random draftRandom() {
+        return randomSeed.isBlank() ? new Random() : new Random(Long.parseLong(randomSeed.trim()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.watermeloncup.draftengine.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.logging.Logger;
+
+/**
+ * Starts an in-process Artemis broker with a STOMP acceptor, so relay mode can be
+ * run with several draftengine nodes on one machine without any external service.
+ * Only one node (normally the draft owner) should run with this profile.
+ */
+@Configuration
+@Profile("embedded-broker")
+public class EmbeddedBrokerConfig {
+    private static final Logger logger = Logger.getLogger(EmbeddedBrokerConfig.class.getName());
+
+    @Value("${draft.broker.embedded-bind-host:0.0.0.0}")
+    private String bindHost;
+
+    @Value("${draft.broker.relay-port:61613}")
+    private int stompPort;
+
+    @Bean(destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker() throws Exception {
+        // /topic/* destinations fan out to every subscriber, /queue/* go to one consumer
+        String acceptor = "tcp://" + bindHost + ":" + stompPort
+                + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/";
+
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.addAcceptorConfiguration("stomp", acceptor);
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+        logger.info("Embedded STOMP broker listening on " + bindHost + ":" + stompPort);
+        return broker;
+    }
+}
@@ -0,0 +1,131 @@
+package com.watermeloncup.draftengine.config;
+
+import com.watermeloncup.draftengine.service.BroadcastService;
+import com.watermeloncup.draftengine.service.DraftClusterService;
+import com.watermeloncup.draftengine.service.PresenceService;
+import com.watermeloncup.draftengine.service.ReplicationLog;
+import com.watermeloncup.draftengine.service.ReplicationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.util.Map;
+
+/**
+ * Screens every inbound client frame before it reaches the broker or a controller:
+ * <ul>
+ *   <li>any frame, heartbeats included, counts as activity for the session</li>
+ *   <li>cluster-only destinations are dropped, and on a mirror node state-changing
+ *       commands are forwarded to the owner</li>
+ *   <li>the replication stream is only readable by sessions that connected with the
+ *       replication token, and a standby refuses ordinary clients until it takes over</li>
+ *   <li>subscriptions from clients that asked for a binary encoding are moved to the
+ *       encoded variant of their topic</li>
+ * </ul>
+ */
+public class InboundFrameInterceptor implements ChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(InboundFrameInterceptor.class);
+    // Session attribute marking a standby node's connection
+    static final String REPLICATION_SESSION_ATTRIBUTE = "replicationSession";
+
+    private final PresenceService presenceService;
+    // Looked up lazily: these services depend on beans created from the WebSocket configuration
+    private final ObjectProvider<DraftClusterService> clusterServiceProvider;
+    private final ObjectProvider<ReplicationService> replicationServiceProvider;
+    private final ObjectProvider<BroadcastService> broadcastServiceProvider;
+
+    public InboundFrameInterceptor(PresenceService presenceService,
+                                   ObjectProvider<DraftClusterService> clusterServiceProvider,
+                                   ObjectProvider<ReplicationService> replicationServiceProvider,
+                                   ObjectProvider<BroadcastService> broadcastServiceProvider) {
+        this.presenceService = presenceService;
+        this.clusterServiceProvider = clusterServiceProvider;
+        this.replicationServiceProvider = replicationServiceProvider;
+        this.broadcastServiceProvider = broadcastServiceProvider;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            presenceService.touch(sessionId);
+        }
+
+        StompHeaderAccessor stomp = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        StompCommand command = stomp != null ? stomp.getCommand() : null;
+        if (StompCommand.CONNECT.equals(command)) {
+            authorizeConnect(stomp, sessionId);
+            broadcastServiceProvider.getObject().negotiateConnect(stomp);
+            return message;
+        }
+        if (StompCommand.UNSUBSCRIBE.equals(command)) {
+            broadcastServiceProvider.getObject().unsubscribed(sessionId, stomp.getSubscriptionId());
+        } else if (StompCommand.DISCONNECT.equals(command)) {
+            broadcastServiceProvider.getObject().sessionEnded(sessionId);
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null && isReplicationDestination(destination) && !isReplicationSession(message)) {
+            logger.warn("Session {} tried to use replication destination {} without a token", sessionId, destination);
+            return null;
+        }
+
+        // Per-session reply queues are only reachable through /user/queue/..., which the
+        // user destination handler resolves to the caller's own queue
+        if (destination != null && destination.startsWith("/queue/")) {
+            logger.warn("Session {} tried to use another session's queue {}", sessionId, destination);
+            return null;
+        }
+
+        DraftClusterService cluster = clusterServiceProvider.getObject();
+        if (destination != null && cluster.isReservedDestination(destination)) {
+            logger.warn("Session {} tried to use reserved destination {}", sessionId, destination);
+            return null;
+        }
+        // On a mirror node, state-changing commands run on the owner instead
+        if (cluster.shouldForward(message)) {
+            cluster.forwardCommand(message);
+            return null;
+        }
+        if (StompCommand.SUBSCRIBE.equals(command)) {
+            broadcastServiceProvider.getObject().negotiateSubscribe(stomp);
+        }
+        return message;
+    }
+
+    private void authorizeConnect(StompHeaderAccessor stomp, String sessionId) {
+        ReplicationService replication = replicationServiceProvider.getObject();
+        String token = stomp.getFirstNativeHeader(ReplicationService.TOKEN_HEADER);
+        if (token != null) {
+            if (!replication.isValidToken(token)) {
+                throw new MessageDeliveryException("Invalid replication token");
+            }
+            Map<String, Object> attributes = stomp.getSessionAttributes();
+            if (attributes != null) {
+                attributes.put(REPLICATION_SESSION_ATTRIBUTE, Boolean.TRUE);
+            }
+            logger.info("Standby node connected on session {}", sessionId);
+        } else if (replication.isStandby()) {
+            // The error frame tells the client to try the next server in its list
+            throw new MessageDeliveryException("This node is a standby and is not serving the draft");
+        }
+    }
+
+    private static boolean isReplicationDestination(String destination) {
+        return destination.startsWith(ReplicationLog.REPLICATION_TOPIC)
+                || destination.startsWith("/app/replication/");
+    }
+
+    private static boolean isReplicationSession(Message<?> message) {
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        return attributes != null && Boolean.TRUE.equals(attributes.get(REPLICATION_SESSION_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,105 @@
+package com.watermeloncup.draftengine.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.handler.invocation.AbstractMethodMessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+/**
+ * Starts a trace for every SEND frame a client makes to an /app destination. The
+ * observation runs from the frame entering the inbound channel until its
+ * {@code @MessageMapping} method returns, and is in scope while the method runs, so a
+ * pick's lock wait, execution and broadcasts are recorded as its children.
+ */
+public class InboundObservationInterceptor implements ExecutorChannelInterceptor {
+    private static final String OBSERVATION_HEADER = "draftInboundObservation";
+
+    private final ObservationRegistry registry;
+    private final String applicationPrefix;
+
+    public InboundObservationInterceptor(ObservationRegistry registry, String applicationPrefix) {
+        this.registry = registry;
+        this.applicationPrefix = applicationPrefix;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor stomp = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (stomp == null || !StompCommand.SEND.equals(stomp.getCommand())
+                || destination == null || !destination.startsWith(applicationPrefix)) {
+            return message;
+        }
+
+        Observation observation = Observation.createNotStarted("draft.stomp.inbound", registry)
+                .contextualName("STOMP SEND " + destination)
+                .lowCardinalityKeyValue("destination", destination)
+                .highCardinalityKeyValue("session", String.valueOf(stomp.getSessionId()))
+                .start();
+        return withHeader(message, OBSERVATION_HEADER, observation);
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // Dropped by another interceptor, or the executor rejected it: nothing will handle it
+        Observation observation = observation(message);
+        if (observation != null && (!sent || ex != null)) {
+            if (ex != null) {
+                observation.error(ex);
+            }
+            observation.stop();
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        Observation observation = observation(message, handler);
+        if (observation != null) {
+            observation.openScope();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Observation observation = observation(message, handler);
+        if (observation == null) {
+            return;
+        }
+        Observation.Scope scope = registry.getCurrentObservationScope();
+        if (scope != null && scope.getCurrentObservation() == observation) {
+            scope.close();
+        }
+        if (ex != null) {
+            observation.error(ex);
+        }
+        observation.stop();
+    }
+
+    /**
+     * Get the frame's observation if the handler is the one dispatching to controllers. The
+     * broker and user destination handlers are also subscribed to the inbound channel and
+     * see every frame, each on its own executor thread, but ignore /app destinations.
+     */
+    private static Observation observation(Message<?> message, MessageHandler handler) {
+        return handler instanceof AbstractMethodMessageHandler<?> ? observation(message) : null;
+    }
+
+    private static Observation observation(Message<?> message) {
+        return message.getHeaders().get(OBSERVATION_HEADER, Observation.class);
+    }
+
+    static Message<?> withHeader(Message<?> message, String name, Object value) {
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        accessor.setHeader(name, value);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
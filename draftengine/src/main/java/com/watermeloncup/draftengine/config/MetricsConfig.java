@@ -0,0 +1,49 @@
+package com.watermeloncup.draftengine.config;
+
+import com.watermeloncup.draftengine.model.CaptainRoster;
+import com.watermeloncup.draftengine.service.CaptainService;
+import com.watermeloncup.draftengine.service.ConnectedUsersService;
+import com.watermeloncup.draftengine.service.DraftEventFeed;
+import com.watermeloncup.draftengine.service.DraftService;
+import com.watermeloncup.draftengine.service.PresenceService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges for live counts, read from the services whenever Prometheus scrapes.
+ * Timers and counters are recorded through DraftMetrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder draftGauges(PresenceService presenceService, ConnectedUsersService connectedUsersService,
+                                   CaptainService captainService, DraftEventFeed eventFeed, DraftService draftService) {
+        return registry -> {
+            Gauge.builder("draft.sessions", presenceService, PresenceService::getTrackedSessionCount)
+                    .description("Open WebSocket sessions on this node")
+                    .register(registry);
+            Gauge.builder("draft.users.connected", connectedUsersService, ConnectedUsersService::getConnectedUsersCount)
+                    .description("Sessions that have identified a user")
+                    .register(registry);
+            Gauge.builder("draft.sse.viewers", eventFeed, DraftEventFeed::getViewerCount)
+                    .description("Connected Server-Sent Events viewers")
+                    .register(registry);
+            Gauge.builder("draft.captains", captainService, CaptainService::getCaptainCount)
+                    .description("Registered captains")
+                    .tag("state", "registered")
+                    .register(registry);
+            Gauge.builder("draft.captains", captainService, service -> service.getCaptainRoster().captains().stream()
+                            .filter(CaptainRoster.Entry::active)
+                            .count())
+                    .description("Registered captains")
+                    .tag("state", "active")
+                    .register(registry);
+            Gauge.builder("draft.players.available", draftService, service -> service.currentState().availablePool().size())
+                    .description("Players left in the pool")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.watermeloncup.draftengine.config;
+
+import com.watermeloncup.draftengine.service.DraftMetrics;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+/**
+ * Carries a trace from a broadcast to the frames the broker sends each session.
+ *
+ * On the broker channel, which runs on the caller's thread, a message sent while an
+ * observation is in scope (a pick, a heartbeat reply) is tagged with it. The simple
+ * broker copies that header onto every per-subscriber copy, so on the client outbound
+ * channel each session's frame gets its own child observation, tagged with the pick
+ * number and captain of the pick that caused it. The observation ends when the frame is
+ * handed to the session's outbound queue; socket writes happen later on the session's
+ * own sender thread. With the broker relay, frames come back from the external broker
+ * without the header and are not traced.
+ */
+public class OutboundObservationInterceptor implements ExecutorChannelInterceptor {
+    private static final String PARENT_HEADER = "draftParentObservation";
+    private static final String OBSERVATION_HEADER = "draftOutboundObservation";
+
+    private final ObservationRegistry registry;
+
+    public OutboundObservationInterceptor(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Observation parent = message.getHeaders().get(PARENT_HEADER, Observation.class);
+        SimpMessageHeaderAccessor simp = SimpMessageHeaderAccessor.wrap(message);
+
+        // Not yet fanned out: remember what was in scope when it was published
+        if (simp.getSubscriptionId() == null) {
+            Observation current = registry.getCurrentObservation();
+            return parent == null && current != null
+                    ? InboundObservationInterceptor.withHeader(message, PARENT_HEADER, current)
+                    : message;
+        }
+        if (parent == null) {
+            return message;
+        }
+
+        // Per-session copies of user destinations carry the session in the destination
+        String destination = (String) message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION);
+        if (destination == null) {
+            destination = simp.getDestination();
+        }
+        Observation observation = Observation.createNotStarted("draft.stomp.outbound", registry)
+                .parentObservation(parent)
+                .contextualName("STOMP MESSAGE " + destination)
+                .lowCardinalityKeyValue("destination", String.valueOf(destination))
+                .highCardinalityKeyValue("session", String.valueOf(simp.getSessionId()));
+        copyKeyValue(parent, observation, DraftMetrics.PICK_NUMBER_KEY);
+        copyKeyValue(parent, observation, DraftMetrics.CAPTAIN_KEY);
+        return InboundObservationInterceptor.withHeader(message, OBSERVATION_HEADER, observation.start());
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        Observation observation = message.getHeaders().get(OBSERVATION_HEADER, Observation.class);
+        if (observation != null && (!sent || ex != null)) {
+            if (ex != null) {
+                observation.error(ex);
+            }
+            observation.stop();
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Observation observation = message.getHeaders().get(OBSERVATION_HEADER, Observation.class);
+        if (observation != null) {
+            if (ex != null) {
+                observation.error(ex);
+            }
+            observation.stop();
+        }
+    }
+
+    /**
+     * Copy a pick key value from the nearest observation in the parent chain that has it
+     */
+    private static void copyKeyValue(Observation parent, Observation child, String key) {
+        Observation.ContextView context = parent.getContextView();
+        while (context != null) {
+            KeyValue keyValue = context.getHighCardinalityKeyValue(key);
+            if (keyValue != null) {
+                child.highCardinalityKeyValue(keyValue);
+                return;
+            }
+            ObservationView parentView = context.getParentObservation();
+            context = parentView != null ? parentView.getContextView() : null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.watermeloncup.draftengine.config;
+
+import com.watermeloncup.draftengine.service.ReplicationService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports a standby as OUT_OF_SERVICE until it takes over, so a load balancer
+ * health check only routes clients to the node running the draft
+ */
+@Component
+public class ReplicationHealthIndicator implements HealthIndicator {
+    private final ReplicationService replicationService;
+
+    public ReplicationHealthIndicator(ReplicationService replicationService) {
+        this.replicationService = replicationService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = replicationService.isStandby() ? Health.outOfService() : Health.up();
+        return builder.withDetails(replicationService.getStatus()).build();
+    }
+}
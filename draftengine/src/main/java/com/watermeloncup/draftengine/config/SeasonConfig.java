@@ -0,0 +1,22 @@
+package com.watermeloncup.draftengine.config;
+
+import com.watermeloncup.draftengine.model.Season;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The season being drafted. Players are loaded from its registration flag, and
+ * "returning" means registered for any season before it.
+ */
+@Configuration
+public class SeasonConfig {
+
+    @Value("${draft.season:2026}")
+    private String season;
+
+    @Bean
+    public Season activeSeason() {
+        return Season.of(season);
+    }
+}
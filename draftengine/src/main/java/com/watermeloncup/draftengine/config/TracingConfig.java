@@ -0,0 +1,22 @@
+package com.watermeloncup.draftengine.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exports finished spans to the application log. Spring Boot hands every SpanExporter
+ * bean to the OpenTelemetry SDK, so a collector exporter can be added next to this one
+ * later without touching the instrumentation.
+ */
+@Configuration
+@ConditionalOnProperty(name = "draft.tracing.log-spans", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -1,24 +1,196 @@
 package com.watermeloncup.draftengine.config;
 
+import com.watermeloncup.draftengine.service.BroadcastService;
+import com.watermeloncup.draftengine.service.CompressionStatsService;
+import com.watermeloncup.draftengine.service.DraftClusterService;
+import com.watermeloncup.draftengine.service.PresenceService;
+import com.watermeloncup.draftengine.service.ReplicationService;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.server.standard.StandardWebSocketUpgradeStrategy;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 @EnableWebSocketMessageBroker
 @Configuration
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
-    @Override 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+    private final PresenceService presenceService;
+    private final CompressionStatsService compressionStatsService;
+    // Looked up lazily: these services depend on beans created from this configuration
+    private final ObjectProvider<DraftClusterService> clusterServiceProvider;
+    private final ObjectProvider<ReplicationService> replicationServiceProvider;
+    private final ObjectProvider<BroadcastService> broadcastServiceProvider;
+    private final ObservationRegistry observationRegistry;
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // Socket writes happen here rather than on broker threads, so a slow client only delays itself
+    private final Executor outboundSendExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-", 0).factory());
+
+    // STOMP heartbeat interval in both directions; clients that negotiate heartbeats
+    // and then go silent are disconnected by the broker
+    @Value("${draft.presence.heartbeat-ms:10000}")
+    private long heartbeatMillis;
+
+    // Destinations carrying full state snapshots; a stale unsent frame for these is replaced
+    @Value("${draft.outbound.conflate-destinations:/topic/draft,/topic/captains,/topic/connected-users}")
+    private List<String> conflatedDestinations;
+
+    // Per-session limit on queued outbound bytes before the session is closed
+    @Value("${draft.outbound.buffer-limit-bytes:1048576}")
+    private int outboundBufferLimit;
+
+    // permessage-deflate for clients that offer it (Tomcat compresses every data frame once agreed)
+    @Value("${draft.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${draft.compression.server-no-context-takeover:false}")
+    private boolean serverNoContextTakeover;
+
+    @Value("${draft.compression.client-no-context-takeover:false}")
+    private boolean clientNoContextTakeover;
+
+    // "simple" keeps fan-out in this JVM; "relay" shares subscriptions through an external STOMP broker
+    @Value("${draft.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${draft.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${draft.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${draft.broker.login:guest}")
+    private String brokerLogin;
+
+    @Value("${draft.broker.passcode:guest}")
+    private String brokerPasscode;
+
+    public WebSocketConfig(PresenceService presenceService, CompressionStatsService compressionStatsService,
+                           ObjectProvider<DraftClusterService> clusterServiceProvider,
+                           ObjectProvider<ReplicationService> replicationServiceProvider,
+                           ObjectProvider<BroadcastService> broadcastServiceProvider,
+                           ObservationRegistry observationRegistry) {
+        this.presenceService = presenceService;
+        this.compressionStatsService = compressionStatsService;
+        this.clusterServiceProvider = clusterServiceProvider;
+        this.replicationServiceProvider = replicationServiceProvider;
+        this.broadcastServiceProvider = broadcastServiceProvider;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
+    @Override
     public void registerStompEndpoints(StompEndpointRegistry r) {
         r.addEndpoint("/draft-ws")
+         .setHandshakeHandler(new DefaultHandshakeHandler(new CompressionUpgradeStrategy(
+                 new StandardWebSocketUpgradeStrategy(), compressionEnabled, serverNoContextTakeover,
+                 clientNoContextTakeover)))
          .setAllowedOriginPatterns("*")
          .withSockJS();
     }
-    
-    @Override 
+
+    @Override
     public void configureMessageBroker(MessageBrokerRegistry r) {
-        r.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            logger.info("Using STOMP broker relay at {}:{}", relayHost, relayPort);
+            r.enableStompBrokerRelay("/topic", "/queue")
+             .setRelayHost(relayHost)
+             .setRelayPort(relayPort)
+             .setClientLogin(brokerLogin)
+             .setClientPasscode(brokerPasscode)
+             .setSystemLogin(brokerLogin)
+             .setSystemPasscode(brokerPasscode)
+             .setSystemHeartbeatSendInterval(heartbeatMillis)
+             .setSystemHeartbeatReceiveInterval(heartbeatMillis)
+             // Let user destinations resolve to sessions connected to other nodes
+             .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+             .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            // /queue carries per-session replies, reached by clients through /user/queue/...
+            r.enableSimpleBroker("/topic", "/queue")
+             .setHeartbeatValue(new long[] {heartbeatMillis, heartbeatMillis})
+             .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         r.setApplicationDestinationPrefixes("/app");
+        // Tags broadcasts with the observation (e.g. a pick) that published them
+        r.configureBrokerChannel().interceptors(new OutboundObservationInterceptor(observationRegistry));
+        // Keep each session's frames in publish order; a standby relies on the replication
+        // stream and its snapshot reply arriving in the order they were produced
+        r.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Frames dropped or forwarded to the owner by the first interceptor are not traced
+        registration.interceptors(
+                new InboundFrameInterceptor(
+                        presenceService, clusterServiceProvider, replicationServiceProvider, broadcastServiceProvider),
+                new InboundObservationInterceptor(observationRegistry, "/app/"));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new OutboundObservationInterceptor(observationRegistry));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Wrap each transport session with a conflating outbound queue, and keep a handle
+        // on it so the reaper can close stale ones and stats can be reported
+        // Binary-encoded variants of a state topic (e.g. /topic/draft.cbor) are conflated too
+        Set<String> variants = new HashSet<>();
+        for (String destination : conflatedDestinations) {
+            variants.add(destination);
+            for (BroadcastService.Encoding encoding : BroadcastService.Encoding.values()) {
+                variants.add(destination + encoding.suffix());
+            }
+        }
+        Set<String> conflated = Set.copyOf(variants);
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                // SockJS frames are text-only, so those clients can't negotiate a binary encoding
+                session.getAttributes().put(BroadcastService.BINARY_FRAMES_ATTRIBUTE, !(session instanceof SockJsSession));
+                ConflatingWebSocketSessionDecorator outbound = new ConflatingWebSocketSessionDecorator(
+                        session, conflated, outboundSendExecutor, outboundBufferLimit, compressionStatsService);
+                presenceService.sessionOpened(outbound);
+                super.afterConnectionEstablished(outbound);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                presenceService.sessionClosed(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        });
     }
 }
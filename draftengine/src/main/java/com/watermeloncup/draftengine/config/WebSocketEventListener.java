@@ -2,6 +2,7 @@ package com.watermeloncup.draftengine.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -16,11 +17,15 @@ import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 import com.watermeloncup.draftengine.model.UserInfo;
 import com.watermeloncup.draftengine.service.CaptainService;
 import com.watermeloncup.draftengine.service.ConnectedUsersService;
+import com.watermeloncup.draftengine.service.DraftClusterService;
+import com.watermeloncup.draftengine.service.DraftMetrics;
+import com.watermeloncup.draftengine.service.PresenceService;
 
 import java.security.Principal;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -39,7 +44,7 @@ public class WebSocketEventListener {
     private final AtomicInteger activeConnections = new AtomicInteger(0);
     
     // Set to track all connected session IDs
-    private final Set<String> connectedSessions = new HashSet<>();
+    private final Set<String> connectedSessions = ConcurrentHashMap.newKeySet();
     
     // Service to track connected users
     private final ConnectedUsersService connectedUsersService;
@@ -47,12 +52,29 @@ public class WebSocketEventListener {
     // Service to track team captains
     private final CaptainService captainService;
     
+    // Service to track last activity per session
+    private final PresenceService presenceService;
+    
+    // Decides whether session changes are applied here or sent to the owner node
+    private final DraftClusterService clusterService;
+    
+    private final DraftMetrics metrics;
+    
+    @Value("${draft.presence.reap-interval-ms:15000}")
+    private long reapIntervalMillis;
+    
     public WebSocketEventListener(SimpMessagingTemplate messagingTemplate, 
                                 ConnectedUsersService connectedUsersService,
-                                CaptainService captainService) {
+                                CaptainService captainService,
+                                PresenceService presenceService,
+                                DraftClusterService clusterService,
+                                DraftMetrics metrics) {
         this.messagingTemplate = messagingTemplate;
+        this.metrics = metrics;
         this.connectedUsersService = connectedUsersService;
         this.captainService = captainService;
+        this.presenceService = presenceService;
+        this.clusterService = clusterService;
     }
 
     @EventListener
@@ -72,17 +94,12 @@ public class WebSocketEventListener {
         Principal user = headers.getUser();
         String username = user != null ? user.getName() : "anonymous";
         
-        // Check if we've seen this session ID before
-        boolean isNewSession = !connectedSessions.contains(sessionId);
-        
         // Track all sessions for counting purposes
-        if (isNewSession) {
-            connectedSessions.add(sessionId);
-        }
+        boolean isNewSession = connectedSessions.add(sessionId);
         
         // Only track non-anonymous users in our service
         // Anonymous users will be updated with real info when they authenticate
-        if (!"anonymous".equals(username)) {
+        if (!"anonymous".equals(username) && clusterService.isOwner()) {
             UserInfo userInfo = new UserInfo(username, sessionId);
             connectedUsersService.addUser(sessionId, userInfo);
         }
@@ -94,9 +111,6 @@ public class WebSocketEventListener {
             
         logger.info("WebSocket connection established - Session ID: {}, User: {}, New Session: {}, Total Connections: {}", 
                 sessionId, username, isNewSession, totalConnections);
-        
-        // Broadcast captain updates to ensure all clients have the latest information
-        captainService.broadcastCaptainUpdate();
     }
 
     @EventListener
@@ -106,23 +120,29 @@ public class WebSocketEventListener {
         Principal user = headers.getUser();
         String username = user != null ? user.getName() : "anonymous";
         
-        // Remove the user from our tracking service
-        connectedUsersService.removeUser(sessionId);
-        
-        // Remove from our session tracking set
-        connectedSessions.remove(sessionId);
+        // Remove from our session tracking set (already gone if the reaper evicted it)
+        boolean wasTracked = connectedSessions.remove(sessionId);
+        presenceService.sessionClosed(sessionId);
         
-        // Check if this session belongs to a captain
-        // We don't remove captains when they disconnect, just mark their session as inactive
-        // This allows them to reconnect and continue as the same captain
-        captainService.removeCaptainBySessionId(sessionId);
+        if (clusterService.isOwner()) {
+            // Remove the user from our tracking service
+            connectedUsersService.removeUser(sessionId);
+            
+            // Check if this session belongs to a captain
+            // We don't remove captains when they disconnect, just mark their session as inactive
+            // This allows them to reconnect and continue as the same captain
+            // (CaptainService broadcasts the roster itself if the captain's status changed)
+            captainService.removeCaptainBySessionId(sessionId);
+        } else if (wasTracked) {
+            // The owner node holds user and captain state for sessions on this node
+            clusterService.forwardDisconnect(sessionId);
+        }
         
-        int totalConnections = activeConnections.decrementAndGet();
+        int totalConnections = wasTracked ? 
+            activeConnections.decrementAndGet() : 
+            activeConnections.get();
         logger.info("WebSocket connection closed - Session ID: {}, User: {}, Status: {}, Total Connections: {}", 
                 sessionId, username, event.getCloseStatus(), totalConnections);
-                
-        // Broadcast captain updates to ensure all clients have the latest information
-        captainService.broadcastCaptainUpdate();
     }
 
     @EventListener
@@ -150,25 +170,37 @@ public class WebSocketEventListener {
     }
     
     /**
-     * Scheduled task to clean up stale sessions
-     * Runs every 30 seconds
+     * Scheduled task to evict sessions that have stopped sending frames or heartbeats.
+     * Evicted sessions are removed from the connected users and captain lists in one
+     * batch each, then their transports are closed.
      */
-    @Scheduled(fixedRate = 30000)
+    @Scheduled(fixedRateString = "${draft.presence.reap-interval-ms:15000}")
     public void cleanupStaleSessions() {
-        logger.info("Running scheduled cleanup of stale sessions");
-        
-        // Get the current count before cleanup
-        int beforeCount = connectedUsersService.getConnectedUsersCount();
-        
-        // Broadcast the current state to ensure it's accurate
-        connectedUsersService.broadcastConnectedUsers();
+        metrics.scheduledTaskStarted("session-reaper", reapIntervalMillis, true);
+        List<String> staleSessions = presenceService.evictIdleSessions();
+        if (staleSessions.isEmpty()) {
+            return;
+        }
         
-        // Get the count after cleanup
-        int afterCount = connectedUsersService.getConnectedUsersCount();
+        boolean owner = clusterService.isOwner();
+        if (owner) {
+            connectedUsersService.removeUsers(staleSessions);
+            captainService.removeCaptainsBySessionIds(staleSessions);
+        }
         
-        if (beforeCount != afterCount) {
-            logger.info("Cleaned up {} stale sessions", beforeCount - afterCount);
+        int reaped = 0;
+        for (String sessionId : staleSessions) {
+            if (connectedSessions.remove(sessionId)) {
+                reaped++;
+                if (!owner) {
+                    clusterService.forwardDisconnect(sessionId);
+                }
+            }
         }
+        int totalConnections = activeConnections.addAndGet(-reaped);
+        
+        presenceService.closeSessions(staleSessions);
+        logger.info("Cleaned up {} stale sessions, Total Connections: {}", staleSessions.size(), totalConnections);
     }
     
     private String getDestination(SimpMessageHeaderAccessor headers) {
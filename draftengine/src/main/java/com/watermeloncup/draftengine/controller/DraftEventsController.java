@@ -0,0 +1,30 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.service.DraftEventFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class DraftEventsController {
+    private final DraftEventFeed eventFeed;
+
+    public DraftEventsController(DraftEventFeed eventFeed) {
+        this.eventFeed = eventFeed;
+    }
+
+    /**
+     * Stream draft state, captain roster and pick events to a read-only viewer.
+     * EventSource sends Last-Event-ID by itself when it reconnects.
+     * @param lastEventId the id of the last event the viewer received, if resuming
+     * @return the event stream
+     */
+    @CrossOrigin(originPatterns = "*")
+    @GetMapping(path = "/draft/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventFeed.subscribe(lastEventId);
+    }
+}
@@ -48,7 +48,7 @@ public class ExportController {
         try {
             // Get the current draft state
             String sheetUrl = googleSheetsService.exportTeamsToSheet(
-                draftService.currentState().teams(),
+                draftService.exportableTeams(),
                 draftService.currentState().captains()
             );
             
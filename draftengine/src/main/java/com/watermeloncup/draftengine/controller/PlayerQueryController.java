@@ -0,0 +1,102 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.model.PlayerQuery;
+import com.watermeloncup.draftengine.model.PlayerSearch;
+import com.watermeloncup.draftengine.service.PlayerIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+public class PlayerQueryController {
+    private final PlayerIndex playerIndex;
+
+    public PlayerQueryController(PlayerIndex playerIndex) {
+        this.playerIndex = playerIndex;
+    }
+
+    /**
+     * Get a filtered, sorted page of the available players with facet counts.
+     * Each filter may be repeated or comma-separated to match any of the values.
+     * @param position positions, e.g. Midfielder
+     * @param gradYear graduation years
+     * @param club club teams
+     * @param foot preferred feet
+     * @param returning true for players registered for an earlier season, false for new players
+     * @param sort name, gradYear, club or pool
+     * @param order asc or desc
+     * @param page 0-based page number
+     * @param size players per page, at most 500
+     * @return the page, or 400 for an unknown sort or order or a negative page
+     */
+    @GetMapping("/api/players")
+    public ResponseEntity<?> players(@RequestParam(required = false) List<String> position,
+                                     @RequestParam(required = false) List<String> gradYear,
+                                     @RequestParam(required = false) List<String> club,
+                                     @RequestParam(required = false) List<String> foot,
+                                     @RequestParam(required = false) Boolean returning,
+                                     @RequestParam(defaultValue = "name") String sort,
+                                     @RequestParam(defaultValue = "asc") String order,
+                                     @RequestParam(defaultValue = "0") int page,
+                                     @RequestParam(defaultValue = "50") int size) {
+        PlayerQuery.Sort parsedSort = parseSort(sort);
+        if (parsedSort == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown sort: " + sort));
+        }
+        if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown order: " + order));
+        }
+        if (page < 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Page must be 0 or more: " + page));
+        }
+        PlayerQuery query = new PlayerQuery(values(position), values(gradYear), values(club), values(foot),
+                returning, parsedSort, order.equalsIgnoreCase("desc"), page, size);
+        return ResponseEntity.ok(playerIndex.query(query));
+    }
+
+    /**
+     * Search the available players by name, tolerating typos and unfinished words
+     * @param q the text typed so far
+     * @param limit the maximum number of players, at most 50
+     * @return the matching players, best first
+     */
+    @GetMapping("/api/players/search")
+    public PlayerSearch search(@RequestParam(defaultValue = "") String q,
+                               @RequestParam(defaultValue = "10") int limit) {
+        return playerIndex.search(q, limit);
+    }
+
+    /**
+     * Accepts the enum name or its camelCase form (gradYear, grad_year, GRAD_YEAR)
+     */
+    static PlayerQuery.Sort parseSort(String sort) {
+        String key = sort.trim().replace("_", "").toLowerCase(Locale.ROOT);
+        for (PlayerQuery.Sort candidate : PlayerQuery.Sort.values()) {
+            if (candidate.name().replace("_", "").toLowerCase(Locale.ROOT).equals(key)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> values(List<String> params) {
+        Set<String> values = new HashSet<>();
+        if (params != null) {
+            for (String param : params) {
+                for (String value : param.split(",")) {
+                    if (!value.isBlank()) {
+                        values.add(value.trim());
+                    }
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,90 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.model.Season;
+import com.watermeloncup.draftengine.service.AdminAuthService;
+import com.watermeloncup.draftengine.service.RegistrationExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@RestController
+public class RegistrationExportController {
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationExportController.class);
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final RegistrationExportService exportService;
+    private final Season activeSeason;
+    private final AdminAuthService adminAuthService;
+
+    public RegistrationExportController(RegistrationExportService exportService, Season activeSeason,
+                                        AdminAuthService adminAuthService) {
+        this.exportService = exportService;
+        this.activeSeason = activeSeason;
+        this.adminAuthService = adminAuthService;
+    }
+
+    /**
+     * Download the users registered for the active season as CSV. Admins only.
+     * @param authorization "Bearer " and the caller's Firebase ID token
+     * @return the CSV, 401/403 for a caller who isn't a signed-in admin, or 503 without Firestore
+     */
+    @GetMapping("/api/registrations")
+    public ResponseEntity<?> export(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return export(authorization, Integer.toString(activeSeason.year()));
+    }
+
+    /**
+     * Download the users registered for a season as CSV. Admins only. Rows are sent as
+     * they're read from Firestore. If a read fails partway, an "EXPORT INCOMPLETE" row is
+     * written and the connection is dropped, so the download fails instead of looking complete.
+     * @param authorization "Bearer " and the caller's Firebase ID token
+     * @param year the season year, e.g. 2026
+     * @return the CSV, 400 for a bad season, 401/403 for a caller who isn't a signed-in admin,
+     *         or 503 without Firestore
+     */
+    @GetMapping("/api/registrations/{year}")
+    public ResponseEntity<?> export(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @PathVariable String year) {
+        AdminAuthService.Denial denial = adminAuthService.denial(authorization);
+        if (denial != null) {
+            return ResponseEntity.status(denial.status()).body(Map.of("success", false, "message", denial.message()));
+        }
+        Season season;
+        try {
+            season = Season.of(year);
+            exportService.checkExport();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.export(season, out);
+            } catch (IllegalStateException e) {
+                // Rethrown with the response already committed, so the container closes the
+                // connection without ending the chunked body and the client sees the transfer fail
+                logger.error("Registration export for {} stopped: {}", season.year(), e.getMessage());
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("registered-" + season.year() + ".csv").build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.model.ScheduleRequest;
+import com.watermeloncup.draftengine.service.ScheduleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class ScheduleController {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleController.class);
+    private final ScheduleService scheduleService;
+
+    public ScheduleController(ScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    /**
+     * Generate a match schedule for the drafted teams, or for the teams in the request
+     * @param request the slots and constraints; an empty body uses the draft.schedule settings
+     * @return the best schedule found within the time budget, or 400 if it can't be scheduled
+     */
+    @PostMapping("/api/schedule")
+    public ResponseEntity<?> generate(@RequestBody(required = false) ScheduleRequest request) {
+        try {
+            return ResponseEntity.ok(scheduleService.generate(request != null ? request
+                    : new ScheduleRequest(null, null, null, null, null, null, null, null)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Cannot generate a schedule: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+}
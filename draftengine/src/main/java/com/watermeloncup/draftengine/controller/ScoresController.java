@@ -0,0 +1,67 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.model.ScoreUploadResult;
+import com.watermeloncup.draftengine.service.AdminAuthService;
+import com.watermeloncup.draftengine.service.ScoreIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+public class ScoresController {
+    private static final Logger logger = LoggerFactory.getLogger(ScoresController.class);
+    private final ScoreIngestionService scoreIngestionService;
+    private final AdminAuthService adminAuthService;
+
+    public ScoresController(ScoreIngestionService scoreIngestionService, AdminAuthService adminAuthService) {
+        this.scoreIngestionService = scoreIngestionService;
+        this.adminAuthService = adminAuthService;
+    }
+
+    /**
+     * Upload a matchday of results as CSV (text/csv, with a header row) or a JSON array
+     * (application/json). The body is read as a stream, not buffered. Admins only.
+     * @param authorization "Bearer " and the caller's Firebase ID token
+     * @param leagueId the league document ID
+     * @param dryRun true to only validate
+     * @param overwrite true to replace scores that were already recorded
+     * @param request the upload
+     * @return the summary, 400 if the upload can't be read, 401/403 for a caller who isn't
+     *         a signed-in admin, or 503 if Firestore fails
+     */
+    @PostMapping("/api/leagues/{leagueId}/scores")
+    public ResponseEntity<?> upload(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @PathVariable String leagueId,
+                                    @RequestParam(defaultValue = "false") boolean dryRun,
+                                    @RequestParam(defaultValue = "false") boolean overwrite,
+                                    HttpServletRequest request) {
+        AdminAuthService.Denial denial = adminAuthService.denial(authorization);
+        if (denial != null) {
+            return ResponseEntity.status(denial.status()).body(Map.of("success", false, "message", denial.message()));
+        }
+        boolean json = request.getContentType() != null && request.getContentType().contains("json");
+        try {
+            ScoreUploadResult result = scoreIngestionService.ingest(leagueId, request.getInputStream(), json,
+                    dryRun, overwrite);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IOException e) {
+            logger.warn("Rejected score upload for league {}: {}", leagueId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.error("Score upload for league {} failed: {}", leagueId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.model.CompressionStats;
+import com.watermeloncup.draftengine.model.SessionOutboundStats;
+import com.watermeloncup.draftengine.service.CompressionStatsService;
+import com.watermeloncup.draftengine.service.DraftEventFeed;
+import com.watermeloncup.draftengine.service.PresenceService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class SessionStatsController {
+    private final PresenceService presenceService;
+    private final CompressionStatsService compressionStatsService;
+    private final DraftEventFeed eventFeed;
+    
+    public SessionStatsController(PresenceService presenceService, CompressionStatsService compressionStatsService,
+                                  DraftEventFeed eventFeed) {
+        this.presenceService = presenceService;
+        this.compressionStatsService = compressionStatsService;
+        this.eventFeed = eventFeed;
+    }
+    
+    /**
+     * Outbound buffer sizes and conflation counts for each connected session
+     */
+    @GetMapping("/api/sessions/outbound")
+    public List<SessionOutboundStats> outboundStats() {
+        return presenceService.getOutboundStats();
+    }
+    
+    /**
+     * Outbound bytes per destination with sampled deflate ratio and CPU cost
+     */
+    @GetMapping("/api/sessions/compression")
+    public List<CompressionStats> compressionStats() {
+        return compressionStatsService.getStats();
+    }
+    
+    /**
+     * Number of viewers on the SSE draft feed
+     */
+    @GetMapping("/api/sessions/sse")
+    public Map<String, Object> sseStats() {
+        return Map.of("viewers", eventFeed.getViewerCount());
+    }
+}
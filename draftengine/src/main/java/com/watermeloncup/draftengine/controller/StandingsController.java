@@ -0,0 +1,56 @@
+package com.watermeloncup.draftengine.controller;
+
+import com.watermeloncup.draftengine.model.Standings;
+import com.watermeloncup.draftengine.service.StandingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class StandingsController {
+    private static final Logger logger = LoggerFactory.getLogger(StandingsController.class);
+    private final StandingsService standingsService;
+
+    public StandingsController(StandingsService standingsService) {
+        this.standingsService = standingsService;
+    }
+
+    /**
+     * Get a league's standings. Answers 304 when the client already has this version.
+     * @param leagueId the league document ID
+     * @param ifNoneMatch the ETag(s) the client already has
+     * @return the standings, 304 Not Modified, 404 for an unknown league, or 503 while the
+     *         league's matches can't be loaded
+     */
+    @CrossOrigin(originPatterns = "*")
+    @GetMapping("/api/leagues/{leagueId}/standings")
+    public ResponseEntity<Standings> standings(@PathVariable String leagueId,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Standings standings;
+        try {
+            standings = standingsService.standings(leagueId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Standings unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        boolean notModified = StateRestController.matches(ifNoneMatch, standings.etag());
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(standings.etag())
+                .cacheControl(CacheControl.noCache());
+        if (notModified) {
+            return response.build();
+        }
+        return response.body(standings);
+    }
+}
@@ -1,20 +1,94 @@
 package com.watermeloncup.draftengine.controller;
 
-import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.SerializedState;
 import com.watermeloncup.draftengine.service.DraftService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class StateRestController {
     private final DraftService draft;
-    
-    public StateRestController(DraftService draft) { 
-        this.draft = draft; 
+
+    public StateRestController(DraftService draft) {
+        this.draft = draft;
     }
-    
+
+    /**
+     * Get the current draft state. Answers 304 when the client already has this version,
+     * and sends the cached gzip body to clients that accept it.
+     * @param ifNoneMatch the ETag(s) the client already has
+     * @param acceptEncoding the encodings the client accepts
+     * @return the state JSON, or 304 Not Modified
+     */
     @GetMapping("/state")
-    public DraftState state() { 
-        return draft.currentState(); 
+    public ResponseEntity<byte[]> state(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        SerializedState serialized = draft.serializedState();
+        boolean notModified = matches(ifNoneMatch, serialized.etag());
+        // Clients may cache, but must revalidate with the ETag every time
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(serialized.etag())
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (notModified) {
+            return response.build();
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (serialized.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.gzip());
+        }
+        return response.body(serialized.json());
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so W/ prefixes are ignored on both sides
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 means the client refuses it
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 }
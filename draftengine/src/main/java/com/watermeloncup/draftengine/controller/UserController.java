@@ -6,12 +6,13 @@ import com.google.firebase.cloud.FirestoreClient;
 import com.watermeloncup.draftengine.model.UserInfo;
 import com.watermeloncup.draftengine.service.CaptainService;
 import com.watermeloncup.draftengine.service.ConnectedUsersService;
+import com.watermeloncup.draftengine.service.DraftMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 import java.util.concurrent.ExecutionException;
@@ -23,10 +24,13 @@ public class UserController {
     private final FirebaseApp firebaseApp;
     private final ConnectedUsersService connectedUsersService;
     private final CaptainService captainService;
+    private final DraftMetrics metrics;
     
     @Autowired
-    public UserController(FirebaseApp firebaseApp, ConnectedUsersService connectedUsersService, CaptainService captainService) {
+    public UserController(FirebaseApp firebaseApp, ConnectedUsersService connectedUsersService, CaptainService captainService,
+                          DraftMetrics metrics) {
         this.firebaseApp = firebaseApp;
+        this.metrics = metrics;
         this.connectedUsersService = connectedUsersService;
         this.captainService = captainService;
     }
@@ -38,7 +42,7 @@ public class UserController {
      * @return Enhanced user info with first and last name
      */
     @MessageMapping("/auth")
-    @SendTo("/topic/auth-response")
+    @SendToUser(value = "/queue/auth-response", broadcast = false)
     public UserInfo handleUserAuth(UserInfo userInfo, SimpMessageHeaderAccessor headerAccessor) {
         logger.info("Received auth info: {}", userInfo);
         String sessionId = headerAccessor.getSessionId();
@@ -49,20 +53,12 @@ public class UserController {
                 // First try to get user info by UID
                 DocumentSnapshot userDoc = null;
                 if (userInfo.getUid() != null && !userInfo.getUid().isEmpty()) {
-                    userDoc = FirestoreClient.getFirestore(firebaseApp)
-                        .collection("users")
-                        .document(java.util.Objects.requireNonNull(userInfo.getUid()))
-                        .get()
-                        .get();
+                    userDoc = fetchUser(java.util.Objects.requireNonNull(userInfo.getUid()));
                 }
                 
                 // If not found by UID, try by email
                 if ((userDoc == null || !userDoc.exists()) && userInfo.getEmail() != null) {
-                    userDoc = FirestoreClient.getFirestore(firebaseApp)
-                        .collection("users")
-                        .document(java.util.Objects.requireNonNull(userInfo.getEmail()))
-                        .get()
-                        .get();
+                    userDoc = fetchUser(java.util.Objects.requireNonNull(userInfo.getEmail()));
                 }
                 
                 if (userDoc != null && userDoc.exists()) {
@@ -103,4 +99,25 @@ public class UserController {
         
         return userInfo;
     }
+    
+    /**
+     * Fetch a user document from Firestore, recording the call's latency
+     * @param documentId the user's UID or email
+     * @return the document snapshot (which may not exist)
+     */
+    private DocumentSnapshot fetchUser(String documentId) throws InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        String outcome = DraftMetrics.ERROR;
+        try {
+            DocumentSnapshot userDoc = FirestoreClient.getFirestore(firebaseApp)
+                .collection("users")
+                .document(documentId)
+                .get()
+                .get();
+            outcome = DraftMetrics.SUCCESS;
+            return userDoc;
+        } finally {
+            metrics.firestoreCall("auth-lookup", outcome, System.nanoTime() - started);
+        }
+    }
 }
@@ -7,8 +7,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 import java.util.HashMap;
@@ -34,7 +34,7 @@ public class WebSocketController {
      * @return Success status
      */
     @MessageMapping("/pick-legacy")
-    @SendTo("/topic/pick-response")
+    @SendToUser(value = "/queue/pick-response", broadcast = false)
     public Map<String, Object> handlePick(Map<String, String> pickRequest, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
         String playerId = pickRequest.get("playerId");
@@ -72,7 +72,7 @@ public class WebSocketController {
      * @return Success status
      */
     @MessageMapping("/autodraft")
-    @SendTo("/topic/autodraft-response")
+    @SendToUser(value = "/queue/autodraft-response", broadcast = false)
     public Map<String, Object> handleAutoDraft(Map<String, Boolean> request, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
         Boolean enabled = request.get("enabled");
@@ -115,7 +115,7 @@ public class WebSocketController {
      * @return Success status
      */
     @MessageMapping("/register-captain")
-    @SendTo("/topic/register-response")
+    @SendToUser(value = "/queue/register-response", broadcast = false)
     public Map<String, Object> handleRegisterCaptain(Map<String, String> request, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
         String userId = request.get("userId");
@@ -165,7 +165,7 @@ public class WebSocketController {
      * @return Success status
      */
     @MessageMapping("/export-teams")
-    @SendTo("/topic/export-response")
+    @SendToUser(value = "/queue/export-response", broadcast = false)
     public Map<String, Object> handleExportTeams(Map<String, Object> request, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,41 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the captain list as broadcast on /topic/captains.
+ * A new snapshot with a higher version is built only when a captain registers
+ * or a captain's session goes active/inactive.
+ */
+public record CaptainRoster(
+    long version,
+    List<Entry> captains,
+    int count,
+    int maxCaptains,
+    boolean canBecomeCaptain
+) {
+    public CaptainRoster {
+        captains = List.copyOf(captains);
+    }
+
+    /**
+     * Public view of a single captain, without email or session details
+     */
+    public record Entry(
+        String userId,
+        String firstName,
+        String lastName,
+        String teamName,
+        // Whether the captain currently has a live session
+        boolean active
+    ) {
+        public static Entry of(Captain captain) {
+            return new Entry(
+                captain.getUserId(),
+                captain.getFirstName(),
+                captain.getLastName(),
+                captain.getTeamName(),
+                captain.getSessionId() != null);
+        }
+    }
+}
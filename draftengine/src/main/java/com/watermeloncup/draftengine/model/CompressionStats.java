@@ -0,0 +1,19 @@
+package com.watermeloncup.draftengine.model;
+
+/**
+ * Outbound volume for one destination and an estimate of what permessage-deflate does to it
+ */
+public record CompressionStats(
+    String destination,
+    // Every frame written to a client for this destination
+    long frames,
+    long rawBytes,
+    // Frames that were also deflated on the side to estimate ratio and CPU cost
+    long sampledFrames,
+    long sampledRawBytes,
+    long sampledDeflatedBytes,
+    // Deflated size / raw size over the sample (lower is better)
+    double ratio,
+    // Average deflate time per sampled frame
+    double deflateMicrosPerFrame
+) {}
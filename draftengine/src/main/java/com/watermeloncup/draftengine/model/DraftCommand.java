@@ -0,0 +1,76 @@
+package com.watermeloncup.draftengine.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One state-changing draft operation, as replicated from the primary node to a standby.
+ * Commands carry their resolved results (draft order, pick deadline) rather than
+ * inputs to random or time-based logic, so applying them on a standby is deterministic.
+ */
+public record DraftCommand(
+    long sequence,
+    Type type,
+    String captainId,
+    String playerId,
+    Boolean enabled,
+    List<String> draftOrder,
+    List<Captain> captains,
+    Instant pickExpiresAt
+) {
+    public enum Type {
+        CAPTAIN_REGISTERED,
+        INITIALIZE,
+        PICK,
+        SET_AUTODRAFT,
+        SET_SNAKE_DRAFT,
+        SET_DRAFT_ORDER,
+        // Liveness signal; carries the primary's latest sequence but changes nothing
+        HEARTBEAT
+    }
+
+    public static DraftCommand captainRegistered(Captain captain) {
+        return new DraftCommand(0, Type.CAPTAIN_REGISTERED, captain.getUserId(), null, null, null,
+                List.of(withoutSession(captain)), null);
+    }
+
+    public static DraftCommand initialize(List<Captain> captains, List<String> draftOrder, boolean snakeDraft,
+                                          Instant pickExpiresAt) {
+        return new DraftCommand(0, Type.INITIALIZE, null, null, snakeDraft, draftOrder,
+                captains.stream().map(DraftCommand::withoutSession).toList(), pickExpiresAt);
+    }
+
+    public static DraftCommand pick(String captainId, String playerId, Instant pickExpiresAt) {
+        return new DraftCommand(0, Type.PICK, captainId, playerId, null, null, null, pickExpiresAt);
+    }
+
+    public static DraftCommand autoDraft(String captainId, boolean enabled) {
+        return new DraftCommand(0, Type.SET_AUTODRAFT, captainId, null, enabled, null, null, null);
+    }
+
+    public static DraftCommand snakeDraft(boolean enabled) {
+        return new DraftCommand(0, Type.SET_SNAKE_DRAFT, null, null, enabled, null, null, null);
+    }
+
+    public static DraftCommand draftOrder(List<String> draftOrder) {
+        return new DraftCommand(0, Type.SET_DRAFT_ORDER, null, null, null, draftOrder, null, null);
+    }
+
+    public static DraftCommand heartbeat(long sequence) {
+        return new DraftCommand(sequence, Type.HEARTBEAT, null, null, null, null, null, null);
+    }
+
+    public DraftCommand withSequence(long sequence) {
+        return new DraftCommand(sequence, type, captainId, playerId, enabled, draftOrder, captains, pickExpiresAt);
+    }
+
+    /**
+     * Copy a captain without its session ID, which only means something on the node it came from
+     */
+    private static Captain withoutSession(Captain captain) {
+        Captain copy = new Captain(captain.getUserId(), captain.getEmail(), captain.getFirstName(),
+                captain.getLastName(), null);
+        copy.setTeamName(captain.getTeamName());
+        return copy;
+    }
+}
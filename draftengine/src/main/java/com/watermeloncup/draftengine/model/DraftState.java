@@ -11,10 +11,11 @@ public record DraftState(
     // Captain names for display (used in the UI)
     String currentCaptain,
     String nextCaptain,
-    List<Player> availablePool,
-    Map<String, List<Player>> teams,
+    // Slim player views; full Player records stay in DraftService
+    List<PlayerView> availablePool,
+    Map<String, List<PlayerView>> teams,
     Instant pickExpiresAt,
-    Player lastPick,
+    PlayerView lastPick,
     boolean draftStarted,
     List<Captain> captains,
     Map<String, Boolean> autoDraftPreferences,
@@ -0,0 +1,34 @@
+package com.watermeloncup.draftengine.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The change from one draft state version to the next, sent to reconnecting clients
+ * instead of the full state. Turn and timer fields are always set; collections are
+ * sent as small diffs where possible and left null when unchanged.
+ */
+public record DraftUpdate(
+    // Version this update applies to, and the version it produces (draft-version header values)
+    String previousVersion,
+    String version,
+    // Ids of players that left the pool, or the whole pool when it was replaced
+    List<String> removedFromPool,
+    List<PlayerView> availablePool,
+    // Players appended to each captain's team, or all teams when they were replaced
+    Map<String, List<PlayerView>> addedToTeams,
+    Map<String, List<PlayerView>> teams,
+    String currentCaptainId,
+    String nextCaptainId,
+    String currentCaptain,
+    String nextCaptain,
+    Instant pickExpiresAt,
+    PlayerView lastPick,
+    boolean draftStarted,
+    List<Captain> captains,
+    Map<String, Boolean> autoDraftPreferences,
+    boolean snakeDraft,
+    List<String> draftOrder,
+    int currentRound
+) {}
@@ -0,0 +1,11 @@
+package com.watermeloncup.draftengine.model;
+
+/**
+ * The final score of a completed league match, as counted in the standings
+ */
+public record MatchResult(
+    String homeTeamId,
+    String awayTeamId,
+    int homeScore,
+    int awayScore
+) {}
@@ -1,5 +1,7 @@
 package com.watermeloncup.draftengine.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.List;
 
 /**
@@ -58,19 +60,9 @@ public class Player {
     private String nickname;
     
     /**
-     * Registration flag for 2024 season
-     */
-    private boolean registered2024;
-    
-    /**
-     * Registration flag for 2025 season
-     */
-    private boolean registered2025;
-    
-    /**
-     * Registration flag for 2026 season
+     * Seasons the player registered for, as a {@link Season} bitset
      */
-    private boolean registered2026;
+    private long seasons;
     
     /**
      * Default constructor
@@ -83,7 +75,7 @@ public class Player {
      */
     public Player(String id, String firstName, String lastName, Object position, String clubTeam, 
                  String footPref, String graduationYear, String email, String phone, String nickname,
-                 boolean registered2025, boolean registered2026) {
+                 long seasons) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
@@ -94,8 +86,7 @@ public class Player {
         this.email = email;
         this.phone = phone;
         this.nickname = nickname;
-        this.registered2025 = registered2025;
-        this.registered2026 = registered2026;
+        this.seasons = seasons;
     }
     
     // Getters and setters
@@ -147,6 +138,21 @@ public class Player {
         return position.toString();
     }
     
+    /**
+     * Gets the player's positions as a list, without re-joining them
+     * @return the positions, or an empty list if none
+     */
+    @JsonIgnore
+    public List<String> getPositions() {
+        if (position instanceof List<?> positionList) {
+            return positionList.stream().map(Object::toString).toList();
+        }
+        if (position != null && !position.toString().isEmpty()) {
+            return List.of(position.toString().split(",\\s*"));
+        }
+        return List.of();
+    }
+    
     /**
      * Sets the player's position
      * @param position Can be a String or a List<String>
@@ -203,28 +209,23 @@ public class Player {
         this.nickname = nickname;
     }
     
-    public boolean isRegistered2024() {
-        return registered2024;
-    }
-    
-    public void setRegistered2024(boolean registered2024) {
-        this.registered2024 = registered2024;
+    public long getSeasons() {
+        return seasons;
     }
     
-    public boolean isRegistered2025() {
-        return registered2025;
+    public void setSeasons(long seasons) {
+        this.seasons = seasons;
     }
     
-    public void setRegistered2025(boolean registered2025) {
-        this.registered2025 = registered2025;
-    }
-    
-    public boolean isRegistered2026() {
-        return registered2026;
+    /**
+     * Whether the player registered for a season
+     */
+    public boolean isRegisteredFor(Season season) {
+        return season.in(seasons);
     }
     
-    public void setRegistered2026(boolean registered2026) {
-        this.registered2026 = registered2026;
+    public void setRegisteredFor(Season season, boolean registered) {
+        seasons = registered ? seasons | season.bit() : seasons & ~season.bit();
     }
 
     /**
@@ -0,0 +1,19 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a player query, with facet counts for narrowing it further
+ */
+public record PlayerPage(
+    List<PlayerView> players,
+    // Matching available players across all pages
+    int total,
+    int page,
+    int size,
+    // Facet name (position, gradYear, club, foot, returning) -> value -> matching players.
+    // Each facet is counted with every filter except its own, so the counts show what
+    // selecting another value of that facet would give.
+    Map<String, Map<String, Integer>> facets
+) {}
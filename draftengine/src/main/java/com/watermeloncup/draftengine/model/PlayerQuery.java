@@ -0,0 +1,40 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.Set;
+
+/**
+ * A filtered, sorted page of the available players. Values within a facet are
+ * alternatives (any may match); facets are combined (all must match). Null or empty
+ * sets and a null returning flag leave that facet unfiltered.
+ */
+public record PlayerQuery(
+    Set<String> positions,
+    Set<String> gradYears,
+    Set<String> clubs,
+    Set<String> feet,
+    // Registered for an earlier season (true) or new this season (false)
+    Boolean returning,
+    Sort sort,
+    boolean descending,
+    // 0-based
+    int page,
+    int size
+) {
+    public enum Sort {
+        // Last name, then first name
+        NAME,
+        GRAD_YEAR,
+        CLUB,
+        // The order the pool was loaded in, as in the draft state
+        POOL
+    }
+
+    public PlayerQuery {
+        positions = positions == null ? Set.of() : Set.copyOf(positions);
+        gradYears = gradYears == null ? Set.of() : Set.copyOf(gradYears);
+        clubs = clubs == null ? Set.of() : Set.copyOf(clubs);
+        feet = feet == null ? Set.of() : Set.copyOf(feet);
+        sort = sort == null ? Sort.NAME : sort;
+        page = Math.max(page, 0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * Available players matching a name search, best match first. The query is echoed so
+ * search-as-you-type clients can drop replies to text they've since changed.
+ */
+public record PlayerSearch(
+    String query,
+    List<PlayerView> players
+) {}
@@ -0,0 +1,32 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * Broadcast projection of a {@link Player}: only what the draft board shows.
+ * Contact details and registration flags never leave the server. Built once per
+ * player when the pool is loaded and shared by every draft state after that.
+ */
+public record PlayerView(
+    String id,
+    // Full name, with the nickname in quotes when there is one
+    String displayName,
+    List<String> positions,
+    String club,
+    String foot,
+    String gradYear
+) {
+    public PlayerView {
+        positions = positions == null ? List.of() : List.copyOf(positions);
+    }
+
+    public static PlayerView of(Player player) {
+        return new PlayerView(
+            player.getId(),
+            player.getDisplayName(),
+            player.getPositions(),
+            player.getClubTeam(),
+            player.getFootPref(),
+            player.getGraduationYear());
+    }
+}
@@ -0,0 +1,19 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * Full draft state sent by the primary when a standby first connects or falls behind.
+ * Commands with a sequence at or below {@code sequence} are already reflected in it.
+ */
+public record ReplicationSnapshot(
+    long sequence,
+    DraftState state,
+    // Full player records behind the state's player views
+    List<Player> players,
+    boolean snakeDraft,
+    // null means the draft order will be randomized
+    List<String> customDraftOrder,
+    List<Captain> captains,
+    boolean draftCompleted
+) {}
@@ -0,0 +1,21 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The best schedule a search found, ordered by week, round and field
+ */
+public record Schedule(
+    List<ScheduledMatch> matches,
+    // Team ID -> team name, for display
+    Map<String, String> teamNames,
+    // Weighted constraint violations; 0 means every soft constraint is met
+    int score,
+    // Violations per constraint (pairings, games, rest, rematches, homeAway, fields), unweighted
+    Map<String, Integer> penalties,
+    // Candidate schedules evaluated across all search threads
+    long candidates,
+    long elapsedMs,
+    long seed
+) {}
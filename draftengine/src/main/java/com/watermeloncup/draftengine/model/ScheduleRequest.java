@@ -0,0 +1,32 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * What a generated schedule has to fit. Null fields fall back to the draft.schedule
+ * settings, and a null team list to the teams of the current draft.
+ */
+public record ScheduleRequest(
+    // Team IDs (captain user IDs for drafted teams)
+    List<String> teamIds,
+    Integer weeks,
+    Integer roundsPerWeek,
+    // Field names; each round has one match slot per field
+    List<String> fields,
+    // Slots with no field available
+    List<Slot> unavailable,
+    // Rounds a team should sit out between two matches (0 = may play every round)
+    Integer minRestRounds,
+    // Base seed for the search; null = random
+    Long seed,
+    Long timeBudgetMs
+) {
+    /**
+     * One field in one round, numbered from 1 like the matches in Firestore
+     */
+    public record Slot(int week, int round, String fieldLocation) {}
+
+    public ScheduleRequest {
+        unavailable = unavailable == null ? List.of() : List.copyOf(unavailable);
+    }
+}
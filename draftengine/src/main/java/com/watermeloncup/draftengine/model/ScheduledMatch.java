@@ -0,0 +1,13 @@
+package com.watermeloncup.draftengine.model;
+
+/**
+ * One match of a generated schedule, with the fields of a league match document
+ * (scores start out empty)
+ */
+public record ScheduledMatch(
+    String homeTeamId,
+    String awayTeamId,
+    String fieldLocation,
+    int week,
+    int round
+) {}
@@ -0,0 +1,25 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk score upload
+ */
+public record ScoreUploadResult(
+    // Result rows read from the upload
+    int received,
+    // Rows whose scores were (or, in a dry run, would be) written
+    int accepted,
+    // Rows matching scores already recorded, so nothing was written
+    int unchanged,
+    int rejected,
+    // False for a dry run, or when nothing was accepted
+    boolean applied,
+    List<RowError> errors
+) {
+    /**
+     * Why one row was rejected
+     * @param row 1-based row number, not counting a CSV header
+     */
+    public record RowError(int row, String message) {}
+}
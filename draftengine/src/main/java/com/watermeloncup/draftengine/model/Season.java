@@ -0,0 +1,68 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A registration season, and the bits that stand for it in a player's season set.
+ * A season set is a long with bit {@code year - FIRST} set for each season the player
+ * registered for, so "registered this season" or "registered before" is one AND.
+ *
+ * In Firestore each season is still its own {@code registeredYYYY} flag on the user.
+ */
+public record Season(int year) {
+    // The first season with registrations (bit 0); a long holds 64 seasons from here
+    public static final int FIRST = 2024;
+    public static final int LAST = FIRST + Long.SIZE - 1;
+
+    public Season {
+        if (year < FIRST || year > LAST) {
+            throw new IllegalArgumentException("Season must be from " + FIRST + " to " + LAST);
+        }
+    }
+
+    /**
+     * Parse a season year, e.g. "2026"
+     * @throws IllegalArgumentException if it isn't a supported year
+     */
+    public static Season of(String year) {
+        try {
+            return new Season(Integer.parseInt(year.trim()));
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("Season must be a year, e.g. 2026");
+        }
+    }
+
+    public long bit() {
+        return 1L << (year - FIRST);
+    }
+
+    /**
+     * The bits of every season before this one
+     */
+    public long earlier() {
+        return bit() - 1;
+    }
+
+    public boolean in(long seasons) {
+        return (seasons & bit()) != 0;
+    }
+
+    /**
+     * The user document flag for this season, e.g. registered2026
+     */
+    public String registrationField() {
+        return "registered" + year;
+    }
+
+    /**
+     * Every season from the first through this one, oldest first
+     */
+    public List<Season> throughThis() {
+        List<Season> seasons = new ArrayList<>(year - FIRST + 1);
+        for (int y = FIRST; y <= year; y++) {
+            seasons.add(new Season(y));
+        }
+        return seasons;
+    }
+}
@@ -0,0 +1,23 @@
+package com.watermeloncup.draftengine.model;
+
+/**
+ * One draft state version serialized for every transport. The byte arrays are shared
+ * by all senders and must never be modified.
+ */
+public record SerializedState(
+    DraftState state,
+    // Increases whenever the serialized state changes
+    long version,
+    // Weak ETag for this version, e.g. W/"lq3x9a-42"
+    String etag,
+    byte[] json,
+    // Gzipped JSON, or null when the state is too small for gzip to pay off
+    byte[] gzip
+) {
+    /**
+     * Get the version as sent in the draft-version STOMP header, e.g. lq3x9a-42
+     */
+    public String versionTag() {
+        return etag.substring(3, etag.length() - 1);
+    }
+}
@@ -0,0 +1,14 @@
+package com.watermeloncup.draftengine.model;
+
+/**
+ * Outbound buffer state and counters for a single WebSocket session
+ */
+public record SessionOutboundStats(
+    String sessionId,
+    // Frames and bytes queued but not yet written to the socket
+    long bufferedFrames,
+    long bufferedBytes,
+    long sentFrames,
+    // State frames replaced by a newer frame before they were written
+    long conflatedFrames
+) {}
@@ -0,0 +1,17 @@
+package com.watermeloncup.draftengine.model;
+
+import java.util.List;
+
+/**
+ * A league table as of one version of the league's results. Shared by every reader
+ * until the next result arrives.
+ */
+public record Standings(
+    String leagueId,
+    // Increases whenever a counted result changes
+    long version,
+    // Weak ETag for this version, e.g. W/"lq3x9a-42"
+    String etag,
+    // By points, then goal difference, then goals scored; only teams with a completed match
+    List<TeamStanding> teams
+) {}
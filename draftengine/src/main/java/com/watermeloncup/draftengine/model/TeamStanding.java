@@ -0,0 +1,16 @@
+package com.watermeloncup.draftengine.model;
+
+/**
+ * One team's row in a league table, with the names the Standings page uses
+ */
+public record TeamStanding(
+    String teamId,
+    int played,
+    int won,
+    int drawn,
+    int lost,
+    int goalsFor,
+    int goalsAgainst,
+    int goalDifference,
+    int points
+) {}
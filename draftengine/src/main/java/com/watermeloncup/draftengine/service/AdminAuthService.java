@@ -0,0 +1,80 @@
+package com.watermeloncup.draftengine.service;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Checks that an HTTP request comes from a league admin, for endpoints that change
+ * league data or return registrants' personal details.
+ *
+ * The caller sends its Firebase ID token as {@code Authorization: Bearer <token>}.
+ * The token must verify against the project and carry the admin custom claim set
+ * with the Admin SDK (e.g. {@code setCustomUserClaims(uid, {admin: true})}).
+ * Without Firebase every request is refused.
+ */
+@Service
+public class AdminAuthService {
+    private static final Logger logger = LoggerFactory.getLogger(AdminAuthService.class);
+
+    private static final String BEARER = "Bearer ";
+
+    private final FirebaseApp firebaseApp;
+
+    // Custom claim that must be true on the caller's ID token
+    @Value("${draft.admin.claim:admin}")
+    private String adminClaim;
+
+    public AdminAuthService(@Autowired(required = false) FirebaseApp firebaseApp) {
+        this.firebaseApp = firebaseApp;
+    }
+
+    /**
+     * Why a request may not go ahead
+     * @param status 401 without a valid token, 403 without the admin claim, 503 without Firebase
+     */
+    public record Denial(HttpStatus status, String message) {}
+
+    /**
+     * Check the Authorization header of a request
+     * @param authorization the header value, or null if it was not sent
+     * @return null if the caller is an admin, otherwise why not
+     */
+    public Denial denial(String authorization) {
+        if (firebaseApp == null) {
+            return new Denial(HttpStatus.SERVICE_UNAVAILABLE, "Firebase is not configured");
+        }
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())
+                || authorization.substring(BEARER.length()).isBlank()) {
+            return new Denial(HttpStatus.UNAUTHORIZED, "Sign in as an admin");
+        }
+        Map<String, Object> claims;
+        try {
+            claims = verify(authorization.substring(BEARER.length()).trim());
+        } catch (FirebaseAuthException | IllegalArgumentException e) {
+            logger.warn("Rejected ID token: {}", e.getMessage());
+            return new Denial(HttpStatus.UNAUTHORIZED, "Sign in as an admin");
+        }
+        if (!Boolean.TRUE.equals(claims.get(adminClaim))) {
+            logger.warn("Refused non-admin user {}", claims.get("sub"));
+            return new Denial(HttpStatus.FORBIDDEN, "Admins only");
+        }
+        return null;
+    }
+
+    /**
+     * Verify an ID token's signature, audience and expiry
+     * @return the token's claims
+     */
+    Map<String, Object> verify(String idToken) throws FirebaseAuthException {
+        return FirebaseAuth.getInstance(firebaseApp).verifyIdToken(idToken).getClaims();
+    }
+}
@@ -0,0 +1,347 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.SerializedState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes state broadcasts (draft state, captain roster, connected users) in JSON
+ * and, for clients that asked for it, in a binary encoding.
+ *
+ * A client opts in with a {@code draft-encoding: cbor|smile} header on CONNECT (all
+ * subscriptions) or on a single SUBSCRIBE. Its subscription to e.g. /topic/draft is
+ * then moved to /topic/draft.cbor, which carries the same payloads as binary frames
+ * with content-type application/octet-stream and the encoding in the draft-encoding
+ * header. Each payload is encoded once per format, and only while someone in this
+ * node is subscribed to that format. SockJS transports can't carry binary frames,
+ * so those clients always get JSON.
+ */
+@Service
+public class BroadcastService {
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastService.class);
+
+    // STOMP header (CONNECT, SUBSCRIBE and outbound MESSAGE) naming the payload encoding
+    public static final String ENCODING_HEADER = "draft-encoding";
+    // Session attribute set by the transport when the session can carry binary frames
+    public static final String BINARY_FRAMES_ATTRIBUTE = "binaryFrames";
+    // STOMP header carrying a draft state's version, which clients send back to catch up
+    public static final String VERSION_HEADER = "draft-version";
+    private static final String SESSION_ENCODING_ATTRIBUTE = "draftEncoding";
+
+    /**
+     * Binary encodings a client can negotiate; JSON is always available
+     */
+    public enum Encoding {
+        CBOR,
+        SMILE;
+
+        /**
+         * Destination suffix for this encoding's variant of a topic
+         */
+        public String suffix() {
+            return "." + name().toLowerCase(Locale.ROOT);
+        }
+
+        static Encoding parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final DraftMetrics metrics;
+    private final Map<Encoding, ObjectMapper> mappers = new EnumMap<>(Encoding.class);
+
+    // Variant destination (e.g. /topic/draft.cbor) -> local subscriber count
+    private final Map<String, AtomicInteger> binarySubscribers = new ConcurrentHashMap<>();
+    // Session ID -> (subscription ID -> variant destination), to undo counts on unsubscribe/disconnect
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    // Variant destination -> binary encoding of the last serialized state sent there
+    private final Map<String, EncodedVariant> encodedVariants = new ConcurrentHashMap<>();
+
+    // Destinations whose payloads may be sent in a binary encoding
+    @Value("${draft.encoding.destinations:/topic/draft,/topic/captains,/topic/connected-users}")
+    private Set<String> negotiableDestinations;
+
+    @Value("${draft.encoding.formats:cbor,smile}")
+    private List<String> enabledFormats;
+
+    // With an external broker, subscribers may be on other nodes, so variants are always sent
+    @Value("${draft.broker.mode:simple}")
+    private String brokerMode;
+
+    @Autowired
+    public BroadcastService(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper, DraftMetrics metrics) {
+        this.messagingTemplate = messagingTemplate;
+        this.metrics = metrics;
+        mappers.put(Encoding.CBOR, binaryMapper(objectMapper,
+                CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build()));
+        mappers.put(Encoding.SMILE, binaryMapper(objectMapper,
+                SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()));
+    }
+
+    /**
+     * Create a broadcast service outside Spring, e.g. in the draft simulator or benchmarks
+     * @param negotiableDestinations destinations whose payloads may be sent in a binary encoding
+     * @param enabledFormats binary encodings clients may ask for; empty for JSON only
+     * @param brokerMode "simple", or "relay" to encode every variant whether or not it has subscribers
+     */
+    public BroadcastService(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper, DraftMetrics metrics,
+                            Set<String> negotiableDestinations, List<String> enabledFormats, String brokerMode) {
+        this(messagingTemplate, objectMapper, metrics);
+        this.negotiableDestinations = negotiableDestinations;
+        this.enabledFormats = enabledFormats;
+        this.brokerMode = brokerMode;
+    }
+
+    /**
+     * Send a payload to a topic in JSON, and in every binary encoding that has subscribers
+     * @param destination the topic, e.g. /topic/draft
+     * @param payload the object to send
+     */
+    public void broadcast(String destination, Object payload) {
+        // Frames fanned out to sessions are traced as children of this observation
+        metrics.broadcast(destination).observe(() -> {
+            messagingTemplate.convertAndSend(destination, payload);
+
+            if (negotiableDestinations.contains(destination)) {
+                for (Encoding encoding : mappers.keySet()) {
+                    String variant = destination + encoding.suffix();
+                    if (hasSubscribers(variant)) {
+                        byte[] bytes = encode(destination, encoding, payload);
+                        if (bytes != null) {
+                            sendBinary(variant, encoding, bytes, null);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Send an already serialized draft state to a topic. The JSON bytes are sent as they
+     * are, and each binary variant is encoded at most once per state version.
+     * @param destination the topic, e.g. /topic/draft
+     * @param serialized the cached serialization of the state
+     */
+    public void broadcast(String destination, SerializedState serialized) {
+        metrics.broadcast(destination).observe(() -> {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setNativeHeader(VERSION_HEADER, serialized.versionTag());
+            headers.setLeaveMutable(true);
+            messagingTemplate.send(destination, MessageBuilder.createMessage(serialized.json(), headers.getMessageHeaders()));
+
+            if (negotiableDestinations.contains(destination)) {
+                sendBinaryVariants(destination, serialized);
+            }
+        });
+    }
+
+    private void sendBinaryVariants(String destination, SerializedState serialized) {
+        for (Encoding encoding : mappers.keySet()) {
+            String variant = destination + encoding.suffix();
+            if (!hasSubscribers(variant)) {
+                continue;
+            }
+            EncodedVariant cached = encodedVariants.get(variant);
+            if (cached == null || cached.version() != serialized.version()) {
+                byte[] bytes = encode(destination, encoding, serialized.state());
+                if (bytes == null) {
+                    continue;
+                }
+                cached = new EncodedVariant(serialized.version(), bytes);
+                encodedVariants.put(variant, cached);
+            }
+            sendBinary(variant, encoding, cached.bytes(), serialized.versionTag());
+        }
+    }
+
+    /**
+     * Send an already serialized draft state to a single session, in JSON
+     * @param sessionId the WebSocket session ID
+     * @param destination the user destination without the /user prefix, e.g. /queue/draft
+     * @param serialized the cached serialization of the state
+     */
+    public void sendToSession(String sessionId, String destination, SerializedState serialized) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        // The session ID doubles as the user name, so only this session receives it
+        headers.setSessionId(sessionId);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setNativeHeader(VERSION_HEADER, serialized.versionTag());
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(messagingTemplate.getUserDestinationPrefix() + sessionId + destination,
+                MessageBuilder.createMessage(serialized.json(), headers.getMessageHeaders()));
+    }
+
+    private byte[] encode(String destination, Encoding encoding, Object payload) {
+        try {
+            return mappers.get(encoding).writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to encode {} as {}: {}", destination, encoding, e.getMessage());
+            return null;
+        }
+    }
+
+    private void sendBinary(String variant, Encoding encoding, byte[] bytes, String versionTag) {
+        // octet-stream makes the STOMP handler send a binary WebSocket frame
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        headers.setNativeHeader(ENCODING_HEADER, encoding.name().toLowerCase(Locale.ROOT));
+        if (versionTag != null) {
+            headers.setNativeHeader(VERSION_HEADER, versionTag);
+        }
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(variant, MessageBuilder.createMessage(bytes, headers.getMessageHeaders()));
+    }
+
+    /**
+     * Remember the encoding a client asked for on CONNECT
+     * @param accessor the inbound CONNECT frame
+     */
+    public void negotiateConnect(StompHeaderAccessor accessor) {
+        Encoding requested = Encoding.parse(accessor.getFirstNativeHeader(ENCODING_HEADER));
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (requested != null && attributes != null) {
+            attributes.put(SESSION_ENCODING_ATTRIBUTE, requested);
+        }
+    }
+
+    /**
+     * Move a subscription to the binary variant of its topic if the client asked for one
+     * and can receive binary frames. Must be called before the frame reaches the broker.
+     * @param accessor the inbound SUBSCRIBE frame (mutable)
+     */
+    public void negotiateSubscribe(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || !negotiableDestinations.contains(destination)) {
+            return;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Encoding encoding = Encoding.parse(accessor.getFirstNativeHeader(ENCODING_HEADER));
+        if (encoding == null && attributes != null) {
+            encoding = (Encoding) attributes.get(SESSION_ENCODING_ATTRIBUTE);
+        }
+        if (encoding == null || !isEnabled(encoding)) {
+            return;
+        }
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(BINARY_FRAMES_ATTRIBUTE))) {
+            logger.debug("Session {} asked for {} over a text-only transport, keeping JSON",
+                    accessor.getSessionId(), encoding);
+            return;
+        }
+
+        String variant = destination + encoding.suffix();
+        accessor.setDestination(variant);
+        sessionSubscriptions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), variant);
+        binarySubscribers.computeIfAbsent(variant, d -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Drop a binary subscription's count when the client unsubscribes
+     * @param sessionId the WebSocket session ID
+     * @param subscriptionId the STOMP subscription ID
+     */
+    public void unsubscribed(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions != null && subscriptionId != null) {
+            release(subscriptions.remove(subscriptionId));
+        }
+    }
+
+    /**
+     * Drop all of a session's binary subscription counts when it disconnects
+     * @param sessionId the WebSocket session ID
+     */
+    public void sessionEnded(String sessionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * Get the number of local binary subscribers per variant destination
+     * @return variant destination to subscriber count
+     */
+    public Map<String, Integer> getBinarySubscriberCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        binarySubscribers.forEach((destination, count) -> counts.put(destination, count.get()));
+        return counts;
+    }
+
+    private void release(String variant) {
+        if (variant != null) {
+            binarySubscribers.computeIfPresent(variant, (d, count) -> count.decrementAndGet() <= 0 ? null : count);
+        }
+    }
+
+    private boolean hasSubscribers(String variant) {
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            return true;
+        }
+        AtomicInteger count = binarySubscribers.get(variant);
+        return count != null && count.get() > 0;
+    }
+
+    private boolean isEnabled(Encoding encoding) {
+        return enabledFormats.stream().anyMatch(format -> encoding == Encoding.parse(format));
+    }
+
+    /**
+     * Derive a binary mapper from the application's JSON mapper. Nulls and derived
+     * name getters are left out, and timestamps are sent as epoch millis, since
+     * binary clients decode these fields themselves.
+     */
+    private static ObjectMapper binaryMapper(ObjectMapper jsonMapper, JsonFactory factory) {
+        ObjectMapper mapper = jsonMapper.copyWith(factory);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        mapper.addMixIn(Captain.class, BinaryCaptainMixin.class);
+        return mapper;
+    }
+
+    private record EncodedVariant(long version, byte[] bytes) {
+    }
+
+    @JsonIgnoreProperties({"fullName", "defaultTeamName", "sessionId"})
+    private abstract static class BinaryCaptainMixin {
+    }
+}
@@ -1,16 +1,15 @@
 package com.watermeloncup.draftengine.service;
 
 import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.CaptainRoster;
+import com.watermeloncup.draftengine.model.DraftCommand;
 import com.watermeloncup.draftengine.model.UserInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Service to manage team captains for the draft
@@ -20,13 +19,24 @@ public class CaptainService {
     private static final Logger logger = LoggerFactory.getLogger(CaptainService.class);
     private static final int MAX_CAPTAINS = 6;
     
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastService broadcastService;
     private final Map<String, Captain> captains = new ConcurrentHashMap<>();
+    // Index of active session ID -> captain, kept in step with the captains map
+    private final Map<String, Captain> captainsBySession = new ConcurrentHashMap<>();
     private final DraftService draftService;
+    private final ReplicationLog replicationLog;
+    private final DraftEventFeed eventFeed;
     
-    public CaptainService(SimpMessagingTemplate messagingTemplate, DraftService draftService) {
-        this.messagingTemplate = messagingTemplate;
+    // Latest roster snapshot and the version last published to /topic/captains
+    private volatile CaptainRoster roster = new CaptainRoster(0, List.of(), 0, MAX_CAPTAINS, true);
+    private long lastBroadcastVersion = -1;
+    
+    public CaptainService(BroadcastService broadcastService, DraftService draftService,
+                          ReplicationLog replicationLog, DraftEventFeed eventFeed) {
+        this.broadcastService = broadcastService;
+        this.eventFeed = eventFeed;
         this.draftService = draftService;
+        this.replicationLog = replicationLog;
     }
     
     /**
@@ -43,8 +53,7 @@ public class CaptainService {
      * @return true if the user is already a captain, false otherwise
      */
     public boolean isUserCaptain(String userId) {
-        return captains.values().stream()
-            .anyMatch(captain -> captain.getUserId().equals(userId));
+        return userId != null && captains.containsKey(userId);
     }
     
     /**
@@ -61,16 +70,13 @@ public class CaptainService {
         }
         
         // Check if this user is already a captain
-        if (isUserCaptain(userInfo.getUid())) {
+        Captain existing = userInfo.getUid() != null ? captains.get(userInfo.getUid()) : null;
+        if (existing != null) {
             // Update the session ID for the existing captain
-            for (Captain captain : captains.values()) {
-                if (captain.getUserId().equals(userInfo.getUid())) {
-                    captain.setSessionId(sessionId);
-                    logger.info("Updated session ID for existing captain: {}", captain.getFullName());
-                    broadcastCaptainUpdate();
-                    return true;
-                }
-            }
+            bindSession(existing, sessionId);
+            logger.info("Updated session ID for existing captain: {}", existing.getFullName());
+            refreshRoster();
+            return true;
         }
         
         // Create a new captain
@@ -83,10 +89,14 @@ public class CaptainService {
         );
         
         captains.put(userInfo.getUid(), captain);
+        if (sessionId != null) {
+            captainsBySession.put(sessionId, captain);
+        }
         logger.info("Registered new captain: {}", captain.getFullName());
+        replicationLog.append(DraftCommand.captainRegistered(captain));
         
         // Broadcast the updated list of captains
-        broadcastCaptainUpdate();
+        refreshRoster();
         
         // If we now have the maximum number of captains, initialize the draft
         if (captains.size() == MAX_CAPTAINS) {
@@ -101,16 +111,33 @@ public class CaptainService {
      * @param sessionId the WebSocket session ID
      */
     public synchronized void removeCaptainBySessionId(String sessionId) {
-        Optional<Captain> captainToUpdate = captains.values().stream()
-            .filter(captain -> captain.getSessionId() != null && captain.getSessionId().equals(sessionId))
-            .findFirst();
-            
-        captainToUpdate.ifPresent(captain -> {
+        if (sessionId == null) {
+            return;
+        }
+        
+        Captain captain = captainsBySession.remove(sessionId);
+        if (captain != null) {
             // Don't remove the captain, just mark their session as inactive
             captain.setSessionId(null);
             logger.info("Captain disconnected (session marked inactive): {}", captain.getFullName());
-            broadcastCaptainUpdate();
-        });
+            refreshRoster();
+        }
+    }
+    
+    /**
+     * Mark the captains owning any of the given sessions as inactive, broadcasting
+     * the roster at most once
+     * @param sessionIds the WebSocket session IDs that have gone away
+     */
+    public synchronized void removeCaptainsBySessionIds(Collection<String> sessionIds) {
+        for (String sessionId : sessionIds) {
+            Captain captain = captainsBySession.remove(sessionId);
+            if (captain != null) {
+                captain.setSessionId(null);
+                logger.info("Captain session reaped (session marked inactive): {}", captain.getFullName());
+            }
+        }
+        refreshRoster();
     }
     
     /**
@@ -120,13 +147,13 @@ public class CaptainService {
      * @return true if the captain was updated, false otherwise
      */
     public synchronized boolean updateCaptainSessionId(String userId, String sessionId) {
-        if (captains.containsKey(userId)) {
-            Captain captain = captains.get(userId);
-            captain.setSessionId(sessionId);
+        Captain captain = userId != null ? captains.get(userId) : null;
+        if (captain != null) {
+            bindSession(captain, sessionId);
             logger.info("Updated session ID for captain: {}", captain.getFullName());
             
-            // Broadcast the updated list of captains
-            broadcastCaptainUpdate();
+            // Broadcast the updated list of captains (no-op if only the session ID changed)
+            refreshRoster();
             return true;
         }
         return false;
@@ -147,10 +174,27 @@ public class CaptainService {
      * @return the captain, or null if not found
      */
     public Captain getCaptainBySessionId(String sessionId) {
-        return captains.values().stream()
-            .filter(captain -> captain.getSessionId().equals(sessionId))
-            .findFirst()
-            .orElse(null);
+        if (sessionId == null) {
+            return null;
+        }
+        return captainsBySession.get(sessionId);
+    }
+    
+    /**
+     * Point a captain at a new session, dropping the index entry for their old one.
+     * Callers must hold the service lock so the captain and the index change together.
+     * @param captain the captain to update
+     * @param sessionId the new WebSocket session ID, or null to mark the captain inactive
+     */
+    private void bindSession(Captain captain, String sessionId) {
+        String oldSessionId = captain.getSessionId();
+        if (oldSessionId != null) {
+            captainsBySession.remove(oldSessionId, captain);
+        }
+        captain.setSessionId(sessionId);
+        if (sessionId != null) {
+            captainsBySession.put(sessionId, captain);
+        }
     }
     
     /**
@@ -178,35 +222,86 @@ public class CaptainService {
     }
     
     /**
-     * Broadcast the current list of captains to all clients
+     * Get the current captain roster snapshot
+     * @return the latest immutable roster, including its version
      */
-    public void broadcastCaptainUpdate() {
-        List<Map<String, Object>> captainsList = captains.values().stream()
-            .map(captain -> {
-                Map<String, Object> captainMap = new HashMap<>();
-                captainMap.put("userId", captain.getUserId());
-                captainMap.put("firstName", captain.getFirstName());
-                captainMap.put("lastName", captain.getLastName());
-                captainMap.put("teamName", captain.getTeamName());
-                // Add a flag to indicate if the captain is active (has a valid session)
-                captainMap.put("active", captain.getSessionId() != null);
-                return captainMap;
-            })
-            .collect(Collectors.toList());
-            
-        Map<String, Object> captainsData = new HashMap<>();
-        captainsData.put("captains", captainsList);
-        captainsData.put("count", captains.size());
-        captainsData.put("maxCaptains", MAX_CAPTAINS);
-        captainsData.put("canBecomeCaptain", canBecomeCaptain());
+    public CaptainRoster getCaptainRoster() {
+        return roster;
+    }
+    
+    /**
+     * Broadcast the current roster to all clients if this version has not been sent yet
+     */
+    public synchronized void broadcastCaptainUpdate() {
+        CaptainRoster current = roster;
+        if (current.version() == lastBroadcastVersion) {
+            logger.debug("Captain roster v{} already broadcast, skipping", current.version());
+            return;
+        }
         
-        // Log the active and inactive captains
-        long activeCaptains = captains.values().stream()
-            .filter(captain -> captain.getSessionId() != null)
+        long activeCaptains = current.captains().stream()
+            .filter(CaptainRoster.Entry::active)
             .count();
-        logger.info("Broadcasting captain update: {} captains registered ({} active, {} inactive)", 
-            captains.size(), activeCaptains, captains.size() - activeCaptains);
-        messagingTemplate.convertAndSend("/topic/captains", captainsData);
+        logger.info("Broadcasting captain roster v{}: {} captains registered ({} active, {} inactive)", 
+            current.version(), current.count(), activeCaptains, current.count() - activeCaptains);
+        broadcastService.broadcast("/topic/captains", current);
+        eventFeed.publishCaptains(current);
+        lastBroadcastVersion = current.version();
+    }
+    
+    /**
+     * Adopt a roster broadcast by the owner node (mirror nodes only). The roster is
+     * not re-broadcast since the owner already sent it to every subscriber.
+     * @param mirrored the owner's current roster
+     */
+    public synchronized void applyMirroredRoster(CaptainRoster mirrored) {
+        if (mirrored != null && mirrored.version() > roster.version()) {
+            roster = mirrored;
+            lastBroadcastVersion = mirrored.version();
+            eventFeed.publishCaptains(mirrored);
+        }
+    }
+    
+    /**
+     * Add a captain registered on the primary node (standby nodes only). The captain
+     * has no session here; it is bound when they reconnect after a failover.
+     * @param captain the registered captain
+     */
+    public synchronized void applyReplicatedCaptain(Captain captain) {
+        captains.putIfAbsent(captain.getUserId(), captain);
+        refreshRoster();
+    }
+    
+    /**
+     * Replace all captains with those from a primary snapshot (standby nodes only)
+     * @param replicated the primary's captains
+     */
+    public synchronized void restoreCaptains(List<Captain> replicated) {
+        captains.clear();
+        captainsBySession.clear();
+        for (Captain captain : replicated) {
+            captain.setSessionId(null);
+            captains.put(captain.getUserId(), captain);
+        }
+        refreshRoster();
+    }
+    
+    /**
+     * Rebuild the roster snapshot from the captains map and broadcast it if anything
+     * visible to clients changed. Callers must hold the service lock.
+     */
+    private void refreshRoster() {
+        List<CaptainRoster.Entry> entries = captains.values().stream()
+            .map(CaptainRoster.Entry::of)
+            .toList();
+        
+        CaptainRoster current = roster;
+        if (entries.equals(current.captains()) && current.canBecomeCaptain() == canBecomeCaptain()) {
+            return;
+        }
+        
+        roster = new CaptainRoster(current.version() + 1, entries, entries.size(), MAX_CAPTAINS, canBecomeCaptain());
+        broadcastCaptainUpdate();
     }
     
     /**
@@ -218,14 +313,4 @@ public class CaptainService {
         // Initialize the draft with the captains
         draftService.initializeWithCaptains(new ArrayList<>(captains.values()));
     }
-    
-    /**
-     * Scheduled task to broadcast captain updates
-     * Runs every 10 seconds
-     */
-    @Scheduled(fixedRate = 10000)
-    public void scheduledBroadcastCaptainUpdate() {
-        logger.debug("Running scheduled captain update broadcast");
-        broadcastCaptainUpdate();
-    }
 }
@@ -0,0 +1,122 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.CompressionStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * Collects outbound bytes per destination and estimates how well they compress.
+ *
+ * The container applies permessage-deflate below the application, so the real
+ * compressed sizes aren't visible here. Instead one frame in every
+ * {@code draft.compression.sample-every} per destination is deflated on the side with
+ * the same algorithm and no shared context, which gives the ratio and CPU cost without
+ * context takeover (with takeover the real ratio is better).
+ */
+@Service
+public class CompressionStatsService {
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @Value("${draft.compression.sample-every:20}")
+    private int sampleEvery;
+
+    /**
+     * Record a frame that has just been written to a client
+     * @param destination the STOMP destination of the frame
+     * @param message the frame as written
+     */
+    public void recordSent(String destination, WebSocketMessage<?> message) {
+        Counters c = counters.computeIfAbsent(destination, d -> new Counters());
+        long frame = c.frames.incrementAndGet();
+        c.rawBytes.addAndGet(message.getPayloadLength());
+
+        if (sampleEvery > 0 && (frame - 1) % sampleEvery == 0) {
+            byte[] bytes = payloadBytes(message);
+            if (bytes == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            int deflated = deflatedSize(bytes);
+            c.deflateNanos.addAndGet(System.nanoTime() - start);
+            c.sampledFrames.incrementAndGet();
+            c.sampledRawBytes.addAndGet(bytes.length);
+            c.sampledDeflatedBytes.addAndGet(deflated);
+        }
+    }
+
+    /**
+     * Get the counters for every destination, largest raw volume first
+     * @return one entry per destination
+     */
+    public List<CompressionStats> getStats() {
+        List<CompressionStats> stats = new ArrayList<>();
+        counters.forEach((destination, c) -> {
+            long sampled = c.sampledFrames.get();
+            long sampledRaw = c.sampledRawBytes.get();
+            stats.add(new CompressionStats(
+                    destination,
+                    c.frames.get(),
+                    c.rawBytes.get(),
+                    sampled,
+                    sampledRaw,
+                    c.sampledDeflatedBytes.get(),
+                    sampledRaw > 0 ? (double) c.sampledDeflatedBytes.get() / sampledRaw : 1.0,
+                    sampled > 0 ? c.deflateNanos.get() / 1000.0 / sampled : 0.0));
+        });
+        stats.sort(Comparator.comparingLong(CompressionStats::rawBytes).reversed());
+        return stats;
+    }
+
+    private static byte[] payloadBytes(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return text.asBytes();
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().duplicate();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            return bytes;
+        }
+        return null;
+    }
+
+    /**
+     * Size of the payload after raw deflate, as permessage-deflate would send it
+     */
+    private static int deflatedSize(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] buffer = new byte[4096];
+            int size = 0;
+            while (!deflater.finished()) {
+                size += deflater.deflate(buffer);
+            }
+            return size;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong frames = new AtomicLong();
+        private final AtomicLong rawBytes = new AtomicLong();
+        private final AtomicLong sampledFrames = new AtomicLong();
+        private final AtomicLong sampledRawBytes = new AtomicLong();
+        private final AtomicLong sampledDeflatedBytes = new AtomicLong();
+        private final AtomicLong deflateNanos = new AtomicLong();
+    }
+}
@@ -4,13 +4,12 @@ import com.watermeloncup.draftengine.model.UserInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.stream.Collectors;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,16 +20,16 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ConnectedUsersService {
     private static final Logger logger = LoggerFactory.getLogger(ConnectedUsersService.class);
     
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastService broadcastService;
     
     // Map to store connected users: key is sessionId, value is UserInfo object
     private final Map<String, UserInfo> connectedUsers = new ConcurrentHashMap<>();
     
     // Set to track emails of connected users to prevent duplicates
-    private final Set<String> connectedEmails = new HashSet<>();
+    private final Set<String> connectedEmails = ConcurrentHashMap.newKeySet();
     
-    public ConnectedUsersService(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public ConnectedUsersService(BroadcastService broadcastService) {
+        this.broadcastService = broadcastService;
     }
     
     /**
@@ -95,9 +94,39 @@ public class ConnectedUsersService {
      * @param sessionId WebSocket session ID
      */
     public void removeUser(String sessionId) {
+        // Nothing to broadcast if the session was already removed (e.g. reaped as stale)
+        if (forgetSession(sessionId)) {
+            broadcastConnectedUsers();
+        }
+    }
+    
+    /**
+     * Remove several users at once, broadcasting the updated list a single time
+     * @param sessionIds WebSocket session IDs to remove
+     */
+    public void removeUsers(Collection<String> sessionIds) {
+        boolean removedAny = false;
+        for (String sessionId : sessionIds) {
+            removedAny |= forgetSession(sessionId);
+        }
+        
+        if (removedAny) {
+            broadcastConnectedUsers();
+        }
+    }
+    
+    /**
+     * Drop a session from the tracking maps without broadcasting
+     * @param sessionId WebSocket session ID
+     * @return true if the session was being tracked
+     */
+    private boolean forgetSession(String sessionId) {
         UserInfo removedUser = connectedUsers.remove(sessionId);
+        if (removedUser == null) {
+            return false;
+        }
         
-        if (removedUser != null && removedUser.getEmail() != null) {
+        if (removedUser.getEmail() != null) {
             // Check if this was the last session for this email
             boolean hasOtherSessions = connectedUsers.values().stream()
                 .anyMatch(user -> removedUser.getEmail().equals(user.getEmail()));
@@ -107,8 +136,7 @@ public class ConnectedUsersService {
                 logger.info("Removed last session for user with email {}", removedUser.getEmail());
             }
         }
-        
-        broadcastConnectedUsers();
+        return true;
     }
     
     /**
@@ -202,7 +230,7 @@ public class ConnectedUsersService {
         
         logger.info("Broadcasting {} unique connected users: {}", uniqueCount, String.join(", ", uniqueUsers));
         
-        messagingTemplate.convertAndSend("/topic/connected-users", 
+        broadcastService.broadcast("/topic/connected-users", 
             Map.of("users", uniqueUsers, "count", uniqueCount));
     }
 }
@@ -0,0 +1,328 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.CaptainRoster;
+import com.watermeloncup.draftengine.model.DraftState;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.reflect.Type;
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coordinates draftengine nodes sharing an external STOMP broker.
+ *
+ * In the default "simple" broker mode there is a single node and this service does
+ * nothing. In "relay" mode exactly one node is the draft owner: it holds the real
+ * draft and captain state and runs every command. Other nodes serve spectators from
+ * a mirror of the owner's broadcasts and forward client commands to the owner over
+ * a broker queue.
+ */
+@Service
+public class DraftClusterService {
+    private static final Logger logger = LoggerFactory.getLogger(DraftClusterService.class);
+
+    // Broker queue the owner consumes forwarded commands from; never exposed to clients
+    public static final String COMMAND_QUEUE = "/queue/draft-commands";
+    private static final String ORIGIN_DESTINATION_HEADER = "draft-origin-destination";
+    private static final String ORIGIN_SESSION_HEADER = "draft-origin-session";
+    private static final String ORIGIN_USER_HEADER = "draft-origin-user";
+    private static final String ORIGIN_CONTENT_TYPE_HEADER = "draft-origin-content-type";
+    private static final String COMMAND_TYPE_HEADER = "draft-command-type";
+    private static final String COMMAND_SEND = "send";
+    private static final String COMMAND_DISCONNECT = "disconnect";
+
+    // Read-only requests that any node answers from its own (possibly mirrored) state
+    private static final Set<String> LOCAL_DESTINATIONS = Set.of(
+            "/app/heartbeat", "/app/get-draft-config", "/app/captain-status", "/app/captains",
+            "/app/players/search");
+
+    private final DraftService draftService;
+    private final CaptainService captainService;
+    private final ConnectedUsersService connectedUsersService;
+    private final MessageChannel clientInboundChannel;
+    private final ObjectMapper objectMapper;
+
+    @Value("${draft.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${draft.node.owner:true}")
+    private boolean ownerNode;
+
+    @Value("${draft.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${draft.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${draft.broker.login:guest}")
+    private String brokerLogin;
+
+    @Value("${draft.broker.passcode:guest}")
+    private String brokerPasscode;
+
+    private ReactorNettyTcpStompClient stompClient;
+    private volatile StompSession clusterSession;
+    private volatile boolean connecting = false;
+
+    public DraftClusterService(DraftService draftService, CaptainService captainService,
+                               ConnectedUsersService connectedUsersService,
+                               @Qualifier("clientInboundChannel") MessageChannel clientInboundChannel,
+                               ObjectMapper objectMapper) {
+        this.draftService = draftService;
+        this.captainService = captainService;
+        this.connectedUsersService = connectedUsersService;
+        this.clientInboundChannel = clientInboundChannel;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void init() {
+        if (!isOwner()) {
+            logger.info("Running as a mirror node; draft commands are forwarded to the owner");
+            draftService.setMirrorOnly(true);
+        }
+    }
+
+    /**
+     * Whether several nodes share an external broker
+     */
+    public boolean isClustered() {
+        return "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    /**
+     * Whether this node owns the draft and runs commands and timers
+     */
+    public boolean isOwner() {
+        return !isClustered() || ownerNode;
+    }
+
+    /**
+     * Check if a client frame must be forwarded to the owner instead of handled here
+     * @param message the inbound client message
+     * @return true on a mirror node for any application command that changes state
+     */
+    public boolean shouldForward(Message<?> message) {
+        if (isOwner() || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return false;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        return destination != null && destination.startsWith("/app/") && !LOCAL_DESTINATIONS.contains(destination);
+    }
+
+    /**
+     * Check if a destination is reserved for node-to-node traffic
+     * @param destination the destination a client tried to use
+     * @return true if clients must not send or subscribe to it
+     */
+    public boolean isReservedDestination(String destination) {
+        return destination.startsWith(COMMAND_QUEUE);
+    }
+
+    /**
+     * Forward a client command to the owner node
+     * @param message the inbound client message
+     */
+    public void forwardCommand(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        StompHeaders headers = commandHeaders(COMMAND_SEND, accessor.getSessionId());
+        headers.set(ORIGIN_DESTINATION_HEADER, accessor.getDestination());
+        if (accessor.getUser() != null) {
+            headers.set(ORIGIN_USER_HEADER, accessor.getUser().getName());
+        }
+        // The payload travels as opaque bytes; the owner restores the client's content type
+        MimeType contentType = accessor.getContentType();
+        headers.set(ORIGIN_CONTENT_TYPE_HEADER,
+                (contentType != null ? contentType : MimeTypeUtils.APPLICATION_JSON).toString());
+
+        send(headers, message.getPayload(), accessor.getDestination());
+    }
+
+    /**
+     * Tell the owner node a client session on this node has gone away
+     * @param sessionId the WebSocket session ID
+     */
+    public void forwardDisconnect(String sessionId) {
+        send(commandHeaders(COMMAND_DISCONNECT, sessionId), new byte[0], "disconnect");
+    }
+
+    private StompHeaders commandHeaders(String type, String sessionId) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(COMMAND_QUEUE);
+        headers.set(COMMAND_TYPE_HEADER, type);
+        headers.set(ORIGIN_SESSION_HEADER, sessionId);
+        headers.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        return headers;
+    }
+
+    private void send(StompHeaders headers, Object payload, String description) {
+        StompSession session = clusterSession;
+        if (session == null || !session.isConnected()) {
+            logger.warn("Not connected to the broker, dropping forwarded command: {}", description);
+            return;
+        }
+        session.send(headers, payload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isClustered()) {
+            return;
+        }
+
+        MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter();
+        jsonConverter.setObjectMapper(objectMapper);
+        stompClient = new ReactorNettyTcpStompClient(relayHost, relayPort);
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+                List.of(new ByteArrayMessageConverter(), jsonConverter)));
+        connect();
+    }
+
+    /**
+     * Scheduled task to re-establish the node-to-node broker session after a failure
+     * Runs every 5 seconds
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void ensureConnected() {
+        StompSession session = clusterSession;
+        if (stompClient != null && !connecting && (session == null || !session.isConnected())) {
+            connect();
+        }
+    }
+
+    private void connect() {
+        connecting = true;
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(brokerLogin);
+        connectHeaders.setPasscode(brokerPasscode);
+
+        logger.info("Connecting to STOMP broker at {}:{} as {} node", relayHost, relayPort, isOwner() ? "owner" : "mirror");
+        stompClient.connectAsync(connectHeaders, new ClusterSessionHandler())
+                .whenComplete((session, ex) -> {
+                    connecting = false;
+                    if (ex != null) {
+                        logger.warn("Failed to connect to STOMP broker: {}", ex.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Re-inject a command forwarded by a mirror node into the local inbound channel,
+     * as if the client were connected here
+     */
+    private void handleForwardedCommand(StompHeaders headers, byte[] payload) {
+        String type = headers.getFirst(COMMAND_TYPE_HEADER);
+        String sessionId = headers.getFirst(ORIGIN_SESSION_HEADER);
+
+        if (COMMAND_DISCONNECT.equals(type)) {
+            connectedUsersService.removeUser(sessionId);
+            captainService.removeCaptainBySessionId(sessionId);
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(headers.getFirst(ORIGIN_DESTINATION_HEADER));
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(new ConcurrentHashMap<>());
+        String contentType = headers.getFirst(ORIGIN_CONTENT_TYPE_HEADER);
+        if (contentType != null) {
+            accessor.setContentType(MimeTypeUtils.parseMimeType(contentType));
+        }
+        String user = headers.getFirst(ORIGIN_USER_HEADER);
+        if (user != null) {
+            Principal principal = () -> user;
+            accessor.setUser(principal);
+        }
+        clientInboundChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    private void applyMirroredConfig(MirroredConfig config) {
+        if (config.snakeDraft() != null) {
+            draftService.applyMirroredConfig(config.snakeDraft(), config.draftOrder());
+        }
+    }
+
+    /**
+     * The /topic/draft-config fields a mirror keeps; draftStarted comes with the state
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record MirroredConfig(Boolean snakeDraft, List<String> draftOrder) {}
+
+    private class ClusterSessionHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            clusterSession = session;
+            if (isOwner()) {
+                session.subscribe(COMMAND_QUEUE, frameHandler(byte[].class,
+                        (headers, payload) -> handleForwardedCommand(headers, (byte[]) payload)));
+                logger.info("Owner node consuming forwarded commands from {}", COMMAND_QUEUE);
+            } else {
+                session.subscribe("/topic/draft", frameHandler(DraftState.class,
+                        (headers, payload) -> draftService.applyMirroredState((DraftState) payload)));
+                session.subscribe("/topic/captains", frameHandler(CaptainRoster.class,
+                        (headers, payload) -> captainService.applyMirroredRoster((CaptainRoster) payload)));
+                session.subscribe("/topic/draft-config", frameHandler(MirroredConfig.class,
+                        (headers, payload) -> applyMirroredConfig((MirroredConfig) payload)));
+                logger.info("Mirror node subscribed to owner broadcasts");
+            }
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            logger.error("Error handling cluster frame from {}: {}", headers.getDestination(), exception.getMessage());
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            logger.warn("Lost connection to STOMP broker: {}", exception.getMessage());
+        }
+    }
+
+    private static StompFrameHandler frameHandler(Class<?> payloadType, FramePayloadHandler handler) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return payloadType;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.handle(headers, payload);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface FramePayloadHandler {
+        void handle(StompHeaders headers, Object payload);
+    }
+}
@@ -0,0 +1,327 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.CaptainRoster;
+import com.watermeloncup.draftengine.model.SerializedState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of the draft for read-only viewers whose network blocks
+ * WebSocket upgrades.
+ *
+ * A pick is sent as a "pick" event with the player and the new turn, not as a new
+ * state, so a viewer applies it to the state it already has. Full "state" and "captains"
+ * snapshots are only sent for changes that aren't picks (start, reset, configuration,
+ * roster), and to viewers that have no state to apply picks to. Every event has an id
+ * of the form {@code epoch-sequence} and is kept in a bounded replay buffer. A client
+ * that reconnects with Last-Event-ID gets only the events it missed. If the buffer no
+ * longer reaches back that far, the backlog is longer than a viewer may queue, or the id
+ * is from another run of the server, it gets the current snapshots instead.
+ *
+ * Each viewer has its own queue, drained on a virtual thread, so a slow viewer never
+ * holds up a pick. A viewer that falls too far behind is closed and resumes on reconnect.
+ */
+@Service
+public class DraftEventFeed {
+    private static final Logger logger = LoggerFactory.getLogger(DraftEventFeed.class);
+
+    public static final String STATE_EVENT = "state";
+    public static final String CAPTAINS_EVENT = "captains";
+    public static final String PICK_EVENT = "pick";
+
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Viewer> viewers = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private long sequence = 0;
+    private long lastStateVersion = -1;
+    // Highest sequence dropped from the replay buffer; resuming from before it leaves a gap
+    private long evictedThrough = 0;
+    private final Deque<FeedEvent> replayBuffer = new ArrayDeque<>();
+    // Newest state and roster, including every pick since, for viewers that can't resume
+    private final Map<String, byte[]> latestSnapshots = new LinkedHashMap<>();
+
+    // Events kept for Last-Event-ID resume
+    @Value("${draft.sse.replay-size:256}")
+    private int replaySize;
+
+    // Events queued for one viewer before it is closed
+    @Value("${draft.sse.max-queued:64}")
+    private int maxQueued;
+
+    // Viewers reconnect (and resume) after this long; 0 = never time out
+    @Value("${draft.sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    record FeedEvent(long sequence, String name, byte[] json) {
+    }
+
+    // Queued in place of an event to send a comment line instead
+    private static final FeedEvent KEEPALIVE = new FeedEvent(0, null, null);
+
+    @Autowired
+    public DraftEventFeed(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a feed outside Spring, e.g. in the draft simulator
+     * @param replaySize events kept for Last-Event-ID resume
+     * @param maxQueued events queued for one viewer before it is closed
+     */
+    public DraftEventFeed(ObjectMapper objectMapper, int replaySize, int maxQueued) {
+        this(objectMapper);
+        this.replaySize = replaySize;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Publish a draft state that didn't come from a pick, unless this version was already published
+     * @param serialized the cached serialization of the state
+     */
+    public synchronized void publishState(SerializedState serialized) {
+        if (serialized.version() == lastStateVersion) {
+            return;
+        }
+        lastStateVersion = serialized.version();
+        latestSnapshots.put(STATE_EVENT, serialized.json());
+        publish(STATE_EVENT, serialized.json());
+    }
+
+    /**
+     * Publish the captain roster
+     * @param roster the current roster
+     */
+    public void publishCaptains(CaptainRoster roster) {
+        byte[] json = toJson(roster);
+        if (json == null) {
+            return;
+        }
+        synchronized (this) {
+            latestSnapshots.put(CAPTAINS_EVENT, json);
+            publish(CAPTAINS_EVENT, json);
+        }
+    }
+
+    /**
+     * Publish a pick in place of the state it produced
+     * @param pick  the pick and the turn after it
+     * @param after the state after the pick, kept as the snapshot for new viewers
+     */
+    public void publishPick(Map<String, Object> pick, SerializedState after) {
+        byte[] json = toJson(pick);
+        if (json == null) {
+            return;
+        }
+        synchronized (this) {
+            // The pick stands in for this version, so the broadcast that follows doesn't send it again
+            lastStateVersion = after.version();
+            latestSnapshots.put(STATE_EVENT, after.json());
+            publish(PICK_EVENT, json);
+        }
+    }
+
+    /**
+     * Open a feed for a viewer, starting after the event it saw last
+     * @param lastEventId the Last-Event-ID header, or null for a new viewer
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Viewer viewer = new Viewer(emitter);
+        emitter.onCompletion(() -> viewers.remove(viewer));
+        emitter.onTimeout(() -> viewers.remove(viewer));
+        emitter.onError(e -> viewers.remove(viewer));
+
+        synchronized (this) {
+            List<FeedEvent> backlog = backlog(lastEventId);
+            // Registered under the lock so no event falls between the backlog and live events
+            viewers.add(viewer);
+            backlog.forEach(viewer::enqueue);
+        }
+        return emitter;
+    }
+
+    /**
+     * The events a viewer gets before live ones: those after its Last-Event-ID, or the
+     * current snapshots if it can't resume
+     */
+    synchronized List<FeedEvent> backlog(String lastEventId) {
+        long after = resumePoint(lastEventId);
+        List<FeedEvent> backlog = new ArrayList<>();
+        if (after >= 0) {
+            replayBuffer.stream().filter(e -> e.sequence() > after).forEach(backlog::add);
+        }
+        if (after < 0 || backlog.size() > maxQueued) {
+            // Too far behind to replay; the current snapshots already contain every pick.
+            // They carry the newest id, so the viewer resumes from here next time
+            backlog = new ArrayList<>();
+            for (Map.Entry<String, byte[]> snapshot : latestSnapshots.entrySet()) {
+                backlog.add(new FeedEvent(sequence, snapshot.getKey(), snapshot.getValue()));
+            }
+        }
+        return backlog;
+    }
+
+    /**
+     * The SSE id of an event, which the viewer sends back as Last-Event-ID
+     */
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Get the number of connected SSE viewers
+     */
+    public int getViewerCount() {
+        return viewers.size();
+    }
+
+    /**
+     * Scheduled task that sends a comment to every viewer so idle proxies keep the stream open
+     * Runs every 15 seconds
+     */
+    @Scheduled(fixedDelay = 15000)
+    public void keepAlive() {
+        viewers.forEach(viewer -> viewer.enqueue(KEEPALIVE));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        viewers.forEach(viewer -> viewer.emitter.complete());
+        writers.shutdown();
+    }
+
+    /**
+     * Resolve a Last-Event-ID to the sequence to resume after
+     * @return the sequence, or -1 if the viewer needs the current snapshots instead
+     */
+    private long resumePoint(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            long after = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+            return after < evictedThrough || after > sequence ? -1 : after;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Number an event, keep it for resuming viewers and send it to everyone connected
+     * Callers hold the lock
+     */
+    private void publish(String name, byte[] json) {
+        FeedEvent event = new FeedEvent(++sequence, name, json);
+        replayBuffer.addLast(event);
+        while (replayBuffer.size() > replaySize) {
+            evictedThrough = replayBuffer.removeFirst().sequence();
+        }
+        viewers.forEach(viewer -> viewer.enqueue(event));
+    }
+
+    private byte[] toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize SSE event: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * One connected viewer and its outbound queue
+     */
+    private final class Viewer {
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<FeedEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean keepAlivePending = new AtomicBoolean();
+
+        Viewer(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(FeedEvent event) {
+            if (event == KEEPALIVE) {
+                // At most one keepalive waits in the queue
+                if (!keepAlivePending.compareAndSet(false, true)) {
+                    return;
+                }
+            } else if (queued.incrementAndGet() > maxQueued) {
+                logger.debug("SSE viewer fell {} events behind, closing its stream", maxQueued);
+                close();
+                return;
+            }
+            queue.add(event);
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                FeedEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (event == KEEPALIVE) {
+                        keepAlivePending.set(false);
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    } else {
+                        queued.decrementAndGet();
+                        emitter.send(SseEmitter.event()
+                                .id(eventId(event.sequence()))
+                                .name(event.name())
+                                .data(event.json(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("SSE viewer disconnected: {}", e.getMessage());
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived after the last poll but before draining was cleared
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void close() {
+            viewers.remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.watermeloncup.draftengine.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters for draft operations, published on /actuator/prometheus.
+ *
+ * Meter names are kept here so dashboards have a single place to look. The steps of a
+ * pick (lock wait, execution, serialization, broadcast) are Micrometer observations, so
+ * each one is both a timer and a span in the pick's trace; the rest take
+ * System.nanoTime() differences so callers keep their own control flow and exception
+ * handling. Gauges for live counts are registered in MetricsConfig.
+ */
+@Service
+public class DraftMetrics {
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    // High-cardinality span attributes identifying a pick
+    public static final String CAPTAIN_KEY = "draft.captain";
+    public static final String PICK_NUMBER_KEY = "draft.pick.number";
+
+    private final MeterRegistry registry;
+    private final ObservationRegistry observations;
+    private final DistributionSummary stateSize;
+    // Start (fixed rate) or end (fixed delay) of each scheduled task's previous run
+    private final Map<String, Long> scheduledLastRun = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DraftMetrics(MeterRegistry registry, ObservationRegistry observations) {
+        this.registry = registry;
+        this.observations = observations;
+        this.stateSize = DistributionSummary.builder("draft.state.size")
+                .description("Serialized size of each new draft state version")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Create metrics whose observations only record timers (no tracing), for tests and benchmarks
+     * @param registry the meter registry
+     */
+    public DraftMetrics(MeterRegistry registry) {
+        this(registry, timersOnly(registry));
+    }
+
+    private static ObservationRegistry timersOnly(MeterRegistry registry) {
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+        return observations;
+    }
+
+    /**
+     * Get the registry that draft observations are reported to
+     */
+    public ObservationRegistry getObservationRegistry() {
+        return observations;
+    }
+
+    /**
+     * Get the time a pick command waits for the draft lock. Start it before entering the
+     * lock and stop it once inside.
+     */
+    public Observation pickLockWait() {
+        return Observation.createNotStarted("draft.pick.lock.wait", observations)
+                .contextualName("pick lock wait");
+    }
+
+    /**
+     * Get a pick command's time under the lock, including the broadcast. Add an outcome
+     * key value (success, or rejected) and the pick number before stopping it.
+     * @param source live, autodraft or autoskip
+     * @param captainId the captain making the pick
+     */
+    public Observation pickExecution(String source, String captainId) {
+        return Observation.createNotStarted("draft.pick.execution", observations)
+                .contextualName("pick")
+                .lowCardinalityKeyValue("source", source)
+                .highCardinalityKeyValue(CAPTAIN_KEY, String.valueOf(captainId));
+    }
+
+    /**
+     * Count a pick the server made on a captain's behalf
+     * @param reason autodraft (captain opted in) or autoskip (pick timer ran out)
+     */
+    public void automaticPick(String reason) {
+        Counter.builder("draft.pick.automatic")
+                .description("Picks made by the server for a captain")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Get the time to serialize a draft state (and gzip it, if it is a large new version)
+     */
+    public Observation stateSerialization() {
+        return Observation.createNotStarted("draft.state.serialization", observations)
+                .contextualName("serialize state");
+    }
+
+    /**
+     * Record the size of a draft state serialization that produced a new version
+     * @param bytes size of the JSON
+     */
+    public void stateSize(int bytes) {
+        stateSize.record(bytes);
+    }
+
+    /**
+     * Get the time to hand a broadcast to the broker, including conversion and any binary variants
+     * @param destination the topic, e.g. /topic/draft
+     */
+    public Observation broadcast(String destination) {
+        return Observation.createNotStarted("draft.broadcast", observations)
+                .contextualName("broadcast " + destination)
+                .lowCardinalityKeyValue("destination", destination);
+    }
+
+    /**
+     * Record a blocking Firestore call
+     * @param operation what the call was for, e.g. load-players
+     * @param outcome success or error
+     * @param nanos time until the call returned or failed
+     */
+    public void firestoreCall(String operation, String outcome, long nanos) {
+        Timer.builder("draft.firestore")
+                .description("Blocking Firestore query time")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a Google Sheets export of the final teams
+     * @param outcome success or error
+     * @param nanos time to create and fill the sheet
+     */
+    public void sheetsExport(String outcome, long nanos) {
+        Timer.builder("draft.sheets.export")
+                .description("Time to export the drafted teams to Google Sheets")
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record how late a scheduled task started. Call at the start of every run.
+     * @param task short task name, e.g. pick-expiry
+     * @param periodMillis the task's fixed rate or fixed delay
+     * @param fixedRate true if runs are due a period after the previous start, false if
+     *                  after the previous end (see {@link #scheduledTaskFinished})
+     */
+    public void scheduledTaskStarted(String task, long periodMillis, boolean fixedRate) {
+        long now = System.nanoTime();
+        Long previous = fixedRate ? scheduledLastRun.put(task, now) : scheduledLastRun.get(task);
+        if (previous != null) {
+            long lag = now - previous - TimeUnit.MILLISECONDS.toNanos(periodMillis);
+            Timer.builder("draft.scheduled.lag")
+                    .description("How late a scheduled task started compared to when it was due")
+                    .tag("task", task)
+                    .register(registry)
+                    .record(Math.max(0, lag), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Mark the end of a fixed-delay task's run, from which its next run is due
+     * @param task the name passed to {@link #scheduledTaskStarted}
+     */
+    public void scheduledTaskFinished(String task) {
+        scheduledLastRun.put(task, System.nanoTime());
+    }
+}
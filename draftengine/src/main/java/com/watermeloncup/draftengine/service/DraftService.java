@@ -1,32 +1,69 @@
 package com.watermeloncup.draftengine.service;
 
+import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.cloud.FirestoreClient;
 import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.DraftCommand;
 import com.watermeloncup.draftengine.model.DraftState;
 import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.ReplicationSnapshot;
+import com.watermeloncup.draftengine.model.Season;
+import com.watermeloncup.draftengine.model.SerializedState;
+import io.micrometer.observation.Observation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
 
 @Service
 public class DraftService {
     private static final Logger logger = LoggerFactory.getLogger(DraftService.class);
+    // The user document fields read into a Player, besides the registration flags
+    private static final List<String> PLAYER_FIELDS = List.of("firstName", "lastName", "position", "clubTeam",
+            "footPref", "graduationYear", "email", "phone", "nickname");
+    // Time each captain has to make a pick
+    public static final Duration PICK_TIME = Duration.ofSeconds(180);
     private final SimpMessagingTemplate broker;
-    private DraftState state;
+    private volatile DraftState state;
     private final FirebaseApp firebaseApp;
     private final GoogleSheetsService googleSheetsService;
+    private final ReplicationLog replicationLog;
+    private final BroadcastService broadcastService;
+    private final StateCache stateCache;
+    private final DraftEventFeed eventFeed;
+    private final DraftUpdateLog updateLog;
+    // Facet bitmaps over the pool for player queries, kept in step with every pool change
+    private final PlayerIndex playerIndex;
+    // Replaces the Firestore query when present (e.g. generated players for load tests)
+    private final PlayerSource playerSource;
+    private final DraftMetrics metrics;
+    // Pick deadlines and the random draft order; the draft simulator passes a virtual clock and a seeded generator
+    private final Clock clock;
+    private final Random random;
+    // The season being drafted; players are loaded by its registration flag
+    private final Season season;
+    
+    // Full player records by ID. The draft state only carries PlayerViews; these are
+    // kept for the Sheets export and for replication.
+    private volatile Map<String, Player> playersById = Map.of();
     
     // No longer using players-per-team configuration as draft completion is now
     // determined solely by the availability of players in the pool
@@ -37,15 +74,34 @@ public class DraftService {
     // Snake draft and draft order configuration (set before draft starts)
     private boolean snakeDraftEnabled = false;
     private List<String> customDraftOrder = null; // null = randomize
+    
+    // On a mirror node the state only follows the owner's broadcasts; no timers or picks run here
+    private volatile boolean mirrorOnly = false;
 
     @Autowired
-    public DraftService(SimpMessagingTemplate broker, @Autowired(required = false) FirebaseApp fb, GoogleSheetsService googleSheetsService) {
+    public DraftService(SimpMessagingTemplate broker, @Autowired(required = false) FirebaseApp fb,
+                        GoogleSheetsService googleSheetsService, ReplicationLog replicationLog,
+                        BroadcastService broadcastService, StateCache stateCache, DraftEventFeed eventFeed,
+                        DraftUpdateLog updateLog, PlayerIndex playerIndex, ObjectProvider<PlayerSource> playerSource,
+                        DraftMetrics metrics,
+                        Clock clock, Random random, Season season) {
         this.broker = broker;
         this.firebaseApp = fb;
         this.googleSheetsService = googleSheetsService;
+        this.replicationLog = replicationLog;
+        this.broadcastService = broadcastService;
+        this.stateCache = stateCache;
+        this.eventFeed = eventFeed;
+        this.updateLog = updateLog;
+        this.playerIndex = playerIndex;
+        this.playerSource = playerSource.getIfAvailable();
+        this.metrics = metrics;
+        this.clock = clock;
+        this.random = random;
+        this.season = season;
 
         // Load players from Firebase first
-        List<Player> players = loadPlayersFromFirebase();
+        List<PlayerView> players = registerPlayers(loadPlayers());
         logger.info("Loaded {} players during initialization", players.size());
 
         // Initialize with empty state but include available players
@@ -67,7 +123,43 @@ public class DraftService {
         );
     }
 
-    public synchronized void makePick(String captainId, String playerId) {
+    public void makePick(String captainId, String playerId) {
+        makePick(captainId, playerId, "live");
+    }
+
+    /**
+     * Make a pick for the captain on the clock, observing lock wait and execution
+     * 
+     * @param captainId the captain making the pick
+     * @param playerId  the player being picked
+     * @param source    live, autodraft or autoskip
+     */
+    private void makePick(String captainId, String playerId, String source) {
+        Observation lockWait = metrics.pickLockWait().start();
+        synchronized (this) {
+            lockWait.stop();
+            int pickNumber = state.teams().values().stream().mapToInt(List::size).sum() + 1;
+            Observation execution = metrics.pickExecution(source, captainId)
+                    .highCardinalityKeyValue(DraftMetrics.PICK_NUMBER_KEY, String.valueOf(pickNumber))
+                    .start();
+            String outcome = "rejected";
+            // Serialization and broadcasts inside the scope are recorded as children of this pick
+            try (Observation.Scope scope = execution.openScope()) {
+                applyLivePick(captainId, playerId);
+                outcome = DraftMetrics.SUCCESS;
+            } catch (RuntimeException e) {
+                execution.error(e);
+                throw e;
+            } finally {
+                execution.lowCardinalityKeyValue("outcome", outcome).stop();
+            }
+        }
+    }
+
+    /**
+     * Validate and apply a pick made on this node, then broadcast and replicate it
+     */
+    private void applyLivePick(String captainId, String playerId) {
         // Check if draft has started
         if (!state.draftStarted()) {
             throw new IllegalStateException("Draft has not started yet");
@@ -78,19 +170,43 @@ public class DraftService {
             throw new IllegalStateException("Not your turn to pick");
         }
 
+        // update state with next captain and reset timer
+        Instant newExpiry = clock.instant().plus(PICK_TIME);
+        boolean isDraftComplete = applyPick(captainId, playerId, newExpiry);
+        replicationLog.append(DraftCommand.pick(captainId, playerId, newExpiry));
+
+        // broadcast updated state
+        broadcastState();
+        
+        // If draft is complete, export teams to Google Sheets
+        if (isDraftComplete && !draftCompleted) {
+            exportTeamsToGoogleSheets();
+        }
+    }
+
+    /**
+     * Move a player from the pool to a captain's team and advance to the next pick slot.
+     * Shared by live picks and picks replicated from the primary node.
+     * 
+     * @param captainId the captain making the pick
+     * @param playerId  the player being picked
+     * @param newExpiry the deadline for the next pick
+     * @return true if the pool is now empty
+     */
+    private boolean applyPick(String captainId, String playerId, Instant newExpiry) {
         // find the player in the available pool
-        Player selectedPlayer = state.availablePool().stream()
-                .filter(p -> p.getId().equals(playerId))
+        PlayerView selectedPlayer = state.availablePool().stream()
+                .filter(p -> p.id().equals(playerId))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Player not available"));
 
         // remove player from pool
-        List<Player> updatedPool = new ArrayList<>(state.availablePool());
-        updatedPool.removeIf(p -> p.getId().equals(playerId));
+        List<PlayerView> updatedPool = new ArrayList<>(state.availablePool());
+        updatedPool.removeIf(p -> p.id().equals(playerId));
 
         // add to team
-        Map<String, List<Player>> updatedTeams = new HashMap<>(state.teams());
-        List<Player> captainTeam = new ArrayList<>(updatedTeams.getOrDefault(captainId, new ArrayList<>()));
+        Map<String, List<PlayerView>> updatedTeams = new HashMap<>(state.teams());
+        List<PlayerView> captainTeam = new ArrayList<>(updatedTeams.getOrDefault(captainId, new ArrayList<>()));
         captainTeam.add(selectedPlayer);
         updatedTeams.put(captainId, captainTeam);
         
@@ -102,9 +218,6 @@ public class DraftService {
         int numCaptains = state.draftOrder().size();
         int newRound = numCaptains > 0 ? (totalPicksMade / numCaptains) : state.currentRound();
 
-        // update state with next captain and reset timer
-        Instant newExpiry = Instant.now().plusSeconds(180); // 3 minutes to pick
-
         // Compute current and next captain purely from totalPicksMade (position-based)
         // totalPicksMade already reflects this pick, so it points to the NEXT pick slot
         String newCurrentCaptainId = determineNextCaptain(null, state.draftOrder(), totalPicksMade, state.snakeDraft());
@@ -129,22 +242,119 @@ public class DraftService {
                 state.snakeDraft(),
                 state.draftOrder(),
                 newRound);
+        playerIndex.drafted(playerId);
+        eventFeed.publishPick(pickEvent(captainId, state), serializedState());
+        return isDraftComplete;
+    }
 
-        // broadcast updated state
-        broker.convertAndSend("/topic/draft", state);
-        
-        // If draft is complete, export teams to Google Sheets
-        if (isDraftComplete && !draftCompleted) {
-            exportTeamsToGoogleSheets();
+    /**
+     * Describe a pick for SSE viewers, with the turn that follows it
+     * 
+     * @param captainId the captain who made the pick
+     * @param after     the state right after the pick
+     * @return the pick event payload
+     */
+    static Map<String, Object> pickEvent(String captainId, DraftState after) {
+        int totalPicksMade = after.teams().values().stream().mapToInt(List::size).sum();
+        int numCaptains = after.draftOrder().size();
+
+        Map<String, Object> pick = new HashMap<>();
+        pick.put("pickNumber", totalPicksMade);
+        pick.put("round", numCaptains > 0 ? (totalPicksMade - 1) / numCaptains + 1 : after.currentRound());
+        pick.put("captainId", captainId);
+        pick.put("captainName", getCaptainName(captainId, after.captains()));
+        pick.put("player", after.lastPick());
+        pick.put("currentCaptainId", after.currentCaptainId());
+        pick.put("currentCaptain", after.currentCaptain());
+        pick.put("nextCaptainId", after.nextCaptainId());
+        pick.put("nextCaptain", after.nextCaptain());
+        pick.put("pickExpiresAt", after.pickExpiresAt());
+        pick.put("currentRound", after.currentRound());
+        return pick;
+    }
+
+    /**
+     * Find the captain whose single pick turns one state into the other
+     * 
+     * @return the captain ID, or null if the change is anything other than one pick
+     */
+    static String pickedBy(DraftState before, DraftState after) {
+        PlayerView player = after.lastPick();
+        if (player == null || !before.draftStarted() || !after.draftStarted()
+                || before.availablePool().size() != after.availablePool().size() + 1
+                || !before.draftOrder().equals(after.draftOrder())
+                || !before.captains().equals(after.captains())
+                || !before.autoDraftPreferences().equals(after.autoDraftPreferences())) {
+            return null;
+        }
+        for (Map.Entry<String, List<PlayerView>> team : after.teams().entrySet()) {
+            List<PlayerView> previous = before.teams().getOrDefault(team.getKey(), List.of());
+            if (team.getValue().size() == previous.size() + 1 && player.equals(team.getValue().get(previous.size()))) {
+                return team.getKey();
+            }
         }
+        return null;
     }
 
     public DraftState currentState() {
         return state;
     }
 
+    /**
+     * The current teams with full player records, for the Sheets export
+     * @return captain ID -> drafted players
+     */
+    public Map<String, List<Player>> exportableTeams() {
+        return fullTeams(state.teams());
+    }
+
+    /**
+     * Get the current state serialized for sending, shared by every transport.
+     * Readers that find the current state already cached don't take the lock. Otherwise
+     * the state is read and serialized under it, so a reader that read the state just
+     * before a pick can never cache that older state again under a newer version.
+     * 
+     * @return the cached serialization of the current state
+     */
+    public SerializedState serializedState() {
+        SerializedState cached = stateCache.current();
+        if (cached != null && cached.state() == state) {
+            return cached;
+        }
+        synchronized (this) {
+            return stateCache.serialize(state);
+        }
+    }
+
+    /**
+     * Send the current state to STOMP subscribers and SSE viewers
+     */
+    private void broadcastState() {
+        SerializedState serialized = serializedState();
+        // Logged before sending, so a client that sees this version can always catch up from it
+        updateLog.record(serialized);
+        broadcastService.broadcast("/topic/draft", serialized);
+        eventFeed.publishState(serialized);
+    }
+
     @Scheduled(fixedDelay = 1000) // Check every second
     public void checkPickExpiry() {
+        metrics.scheduledTaskStarted("pick-expiry", 1000, false);
+        try {
+            expirePicks();
+        } finally {
+            metrics.scheduledTaskFinished("pick-expiry");
+        }
+    }
+
+    /**
+     * Make the pick for the captain on the clock if they have autodraft on or their time is up
+     */
+    private void expirePicks() {
+        if (mirrorOnly) {
+            return;
+        }
+        
         // Check if current captain has autodraft enabled
         if (state.draftStarted() && state.currentCaptainId() != null) {
             Boolean autoDraftEnabled = state.autoDraftPreferences().getOrDefault(state.currentCaptainId(), false);
@@ -154,11 +364,154 @@ public class DraftService {
             }
         }
         // Check if pickExpiresAt is not null before comparing
-        if (state.pickExpiresAt() != null && state.pickExpiresAt().isBefore(Instant.now())) {
+        if (state.pickExpiresAt() != null && state.pickExpiresAt().isBefore(clock.instant())) {
             autoSkip();
         }
     }
 
+    /**
+     * Put this service in mirror mode, where state is only updated from the owner node
+     * 
+     * @param mirrorOnly true on a node that does not own the draft
+     */
+    public void setMirrorOnly(boolean mirrorOnly) {
+        this.mirrorOnly = mirrorOnly;
+    }
+    
+    /**
+     * Replace the local state with one broadcast by the owner node
+     * 
+     * @param mirrored the owner's current draft state
+     */
+    public synchronized void applyMirroredState(DraftState mirrored) {
+        if (mirrorOnly && mirrored != null) {
+            DraftState previous = this.state;
+            this.state = mirrored;
+            playerIndex.available(mirrored.availablePool());
+            // SSE viewers are served by each node; STOMP subscribers already got it from the broker.
+            // Not logged for catch-up: clients hold the owner's version tags, so mirrors answer with snapshots
+            String captainId = previous == null ? null : pickedBy(previous, mirrored);
+            if (captainId != null) {
+                eventFeed.publishPick(pickEvent(captainId, mirrored), serializedState());
+            } else {
+                eventFeed.publishState(serializedState());
+            }
+        }
+    }
+    
+    /**
+     * Replace the local pre-draft configuration with the owner's
+     * 
+     * @param snakeDraft whether snake draft is enabled on the owner
+     * @param draftOrder the owner's custom draft order, or null for random
+     */
+    public synchronized void applyMirroredConfig(boolean snakeDraft, List<String> draftOrder) {
+        if (mirrorOnly) {
+            this.snakeDraftEnabled = snakeDraft;
+            this.customDraftOrder = draftOrder;
+        }
+    }
+    
+    /**
+     * Apply a command replicated from the primary node. Commands must arrive in sequence
+     * order; picks that are already reflected in the state are ignored.
+     * 
+     * @param command the replicated command
+     * @return false if the command could not be applied and a fresh snapshot is needed
+     */
+    public synchronized boolean applyReplicated(DraftCommand command) {
+        try {
+            switch (command.type()) {
+                case INITIALIZE -> {
+                    if (!state.draftStarted()) {
+                        startDraft(command.captains(), state.availablePool(), command.draftOrder(),
+                                Boolean.TRUE.equals(command.enabled()), command.pickExpiresAt());
+                    }
+                }
+                case PICK -> {
+                    boolean alreadyPicked = state.teams().getOrDefault(command.captainId(), List.of()).stream()
+                            .anyMatch(p -> p.id().equals(command.playerId()));
+                    if (!alreadyPicked && applyPick(command.captainId(), command.playerId(), command.pickExpiresAt())) {
+                        draftCompleted = true;
+                    }
+                }
+                case SET_AUTODRAFT -> applyAutoDraftPreference(command.captainId(), Boolean.TRUE.equals(command.enabled()));
+                case SET_SNAKE_DRAFT -> snakeDraftEnabled = Boolean.TRUE.equals(command.enabled());
+                case SET_DRAFT_ORDER -> customDraftOrder = command.draftOrder();
+                default -> {
+                    // Captain registrations and heartbeats are handled elsewhere
+                }
+            }
+            replicationLog.advanceTo(command.sequence());
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not apply replicated command {} ({}): {}", command.sequence(), command.type(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Build a snapshot of everything a standby needs to take over this draft
+     * 
+     * @param captains reads the registered captains. It is called under the replication
+     *        log's lock, so every captain registration numbered at or below the snapshot's
+     *        sequence is in the list (a later one may be too, and is replayed harmlessly).
+     * @return the snapshot, tagged with the last replicated sequence
+     */
+    public synchronized ReplicationSnapshot replicationSnapshot(Supplier<List<Captain>> captains) {
+        return replicationLog.snapshot(sequence -> new ReplicationSnapshot(
+                sequence, state, List.copyOf(playersById.values()), snakeDraftEnabled, customDraftOrder,
+                captains.get(), draftCompleted));
+    }
+
+    /**
+     * Replace the local state with a snapshot from the primary node
+     * 
+     * @param snapshot the primary's snapshot
+     */
+    public synchronized void restoreSnapshot(ReplicationSnapshot snapshot) {
+        this.state = snapshot.state();
+        registerPlayers(snapshot.players());
+        playerIndex.available(state.availablePool());
+        this.snakeDraftEnabled = snapshot.snakeDraft();
+        this.customDraftOrder = snapshot.customDraftOrder();
+        this.draftCompleted = snapshot.draftCompleted();
+        replicationLog.advanceTo(snapshot.sequence());
+    }
+
+    /**
+     * Start running the draft on this node after the primary has failed. The current
+     * pick deadline is extended so the captain on the clock doesn't lose their turn
+     * while clients reconnect.
+     * 
+     * @param grace the minimum time left on the current pick
+     */
+    public synchronized void takeOver(Duration grace) {
+        Instant minimumExpiry = clock.instant().plus(grace);
+        if (state.draftStarted() && state.pickExpiresAt() != null && state.pickExpiresAt().isBefore(minimumExpiry)) {
+            state = new DraftState(
+                    state.currentCaptainId(),
+                    state.nextCaptainId(),
+                    state.currentCaptain(),
+                    state.nextCaptain(),
+                    state.availablePool(),
+                    state.teams(),
+                    minimumExpiry,
+                    state.lastPick(),
+                    state.draftStarted(),
+                    state.captains(),
+                    state.autoDraftPreferences(),
+                    state.snakeDraft(),
+                    state.draftOrder(),
+                    state.currentRound());
+        }
+        mirrorOnly = false;
+        logger.info("Took over the draft, current pick expires at {}", state.pickExpiresAt());
+
+        broadcastState();
+        broadcastDraftConfig();
+    }
+
     /**
      * Set autodraft preference for a captain
      * 
@@ -166,6 +519,20 @@ public class DraftService {
      * @param enabled   whether autodraft is enabled
      */
     public synchronized void setAutoDraftPreference(String captainId, boolean enabled) {
+        applyAutoDraftPreference(captainId, enabled);
+        replicationLog.append(DraftCommand.autoDraft(captainId, enabled));
+
+        // Broadcast updated state
+        broadcastState();
+
+        // If this is the current captain and autodraft is enabled, make an automatic
+        // pick
+        if (enabled && captainId.equals(state.currentCaptainId())) {
+            makeAutoDraftPick(captainId);
+        }
+    }
+
+    private void applyAutoDraftPreference(String captainId, boolean enabled) {
         // Create a new map with existing preferences
         Map<String, Boolean> newPreferences = new HashMap<>(state.autoDraftPreferences());
 
@@ -188,15 +555,6 @@ public class DraftService {
                 state.snakeDraft(),
                 state.draftOrder(),
                 state.currentRound());
-
-        // Broadcast updated state
-        broker.convertAndSend("/topic/draft", state);
-
-        // If this is the current captain and autodraft is enabled, make an automatic
-        // pick
-        if (enabled && captainId.equals(state.currentCaptainId())) {
-            makeAutoDraftPick(captainId);
-        }
     }
 
     /**
@@ -213,14 +571,14 @@ public class DraftService {
         }
 
         // Select the first available player
-        Player player = state.availablePool().get(0);
+        PlayerView player = state.availablePool().get(0);
 
-        logger.info("Making autodraft pick for captain {}: {}", captainId,
-                player.getFirstName() + " " + player.getLastName());
+        logger.info("Making autodraft pick for captain {}: {}", captainId, player.displayName());
 
         try {
             // Make the pick
-            makePick(captainId, player.getId());
+            metrics.automaticPick("autodraft");
+            makePick(captainId, player.id(), "autodraft");
         } catch (Exception e) {
             logger.error("Error making autodraft pick: {}", e.getMessage());
         }
@@ -233,13 +591,13 @@ public class DraftService {
         }
 
         String currentCaptainId = state.currentCaptainId();
-        Player autoSelectedPlayer = state.availablePool().get(0);
+        PlayerView autoSelectedPlayer = state.availablePool().get(0);
 
-        logger.info("Auto-skipping for captain {}: picking {}", currentCaptainId,
-                autoSelectedPlayer.getFirstName() + " " + autoSelectedPlayer.getLastName());
+        logger.info("Auto-skipping for captain {}: picking {}", currentCaptainId, autoSelectedPlayer.displayName());
 
         try {
-            makePick(currentCaptainId, autoSelectedPlayer.getId());
+            metrics.automaticPick("autoskip");
+            makePick(currentCaptainId, autoSelectedPlayer.id(), "autoskip");
         } catch (Exception e) {
             logger.error("Error during auto-skip pick: {}", e.getMessage());
         }
@@ -258,7 +616,7 @@ public class DraftService {
      * @param isSnakeDraft whether snake draft mode is enabled
      * @return the captain ID who picks at this slot
      */
-    private String determineNextCaptain(String fallback, List<String> draftOrder, int pickSlot, boolean isSnakeDraft) {
+    static String determineNextCaptain(String fallback, List<String> draftOrder, int pickSlot, boolean isSnakeDraft) {
         if (draftOrder == null || draftOrder.isEmpty()) {
             return fallback;
         }
@@ -292,7 +650,7 @@ public class DraftService {
      * @param captains  the list of captains
      * @return the captain's full name or their ID if not found
      */
-    private String getCaptainName(String captainId, List<Captain> captains) {
+    static String getCaptainName(String captainId, List<Captain> captains) {
         if (captainId == null)
             return null;
 
@@ -323,20 +681,14 @@ public class DraftService {
         logger.info("Initializing draft with {} captains", captains.size());
 
         // Use existing players from state, or load them if needed
-        List<Player> players = state.availablePool();
+        List<PlayerView> players = state.availablePool();
         if (players == null || players.isEmpty()) {
             logger.info("No players in state, loading from Firebase");
-            players = loadPlayersFromFirebase();
+            players = registerPlayers(loadPlayers());
         } else {
             logger.info("Using {} existing players from state", players.size());
         }
 
-        // Create fresh teams for each of the 6 captains
-        Map<String, List<Player>> teams = new HashMap<>();
-        for (Captain captain : captains) {
-            teams.put(captain.getUserId(), new ArrayList<>());
-        }
-
         // Determine draft order: use custom order if set, otherwise randomize
         List<String> finalDraftOrder;
         if (customDraftOrder != null && customDraftOrder.size() == captains.size()) {
@@ -349,48 +701,70 @@ public class DraftService {
             } else {
                 logger.warn("Custom draft order contains invalid captain IDs, falling back to random");
                 List<Captain> shuffledCaptains = new ArrayList<>(captains);
-                Collections.shuffle(shuffledCaptains);
+                Collections.shuffle(shuffledCaptains, random);
                 finalDraftOrder = shuffledCaptains.stream().map(Captain::getUserId).toList();
             }
         } else {
             // Randomize the captain order for fairness
             List<Captain> shuffledCaptains = new ArrayList<>(captains);
-            Collections.shuffle(shuffledCaptains);
+            Collections.shuffle(shuffledCaptains, random);
             finalDraftOrder = shuffledCaptains.stream().map(Captain::getUserId).toList();
             logger.info("Randomized draft order");
         }
 
-        // Select the first and second captains from the draft order
-        String firstCaptainId = finalDraftOrder.get(0);
-        String secondCaptainId = finalDraftOrder.get(1);
-
-        // Get captain names for display
-        String firstCaptainName = getCaptainName(firstCaptainId, captains);
-        String secondCaptainName = getCaptainName(secondCaptainId, captains);
+        // Get names of the first and second captains for logging
+        String firstCaptainName = getCaptainName(finalDraftOrder.get(0), captains);
+        String secondCaptainName = getCaptainName(finalDraftOrder.get(1), captains);
 
         logger.info("Draft order - first captain: {}, second captain: {}, snake: {}", firstCaptainName, secondCaptainName, snakeDraftEnabled);
 
+        Instant firstPickExpiry = clock.instant().plus(PICK_TIME);
+        startDraft(captains, players, finalDraftOrder, snakeDraftEnabled, firstPickExpiry);
+        replicationLog.append(DraftCommand.initialize(captains, finalDraftOrder, snakeDraftEnabled, firstPickExpiry));
+
+        // Broadcast the updated state
+        broadcastState();
+        logger.info("Draft initialized and started with exactly 6 captains and {} players", players.size());
+    }
+
+    /**
+     * Replace the state with a freshly started draft
+     * 
+     * @param captains        the 6 captains
+     * @param players         the available player pool
+     * @param draftOrder      the resolved pick order
+     * @param snakeDraft      whether snake draft is enabled
+     * @param firstPickExpiry the deadline for the first pick
+     */
+    private void startDraft(List<Captain> captains, List<PlayerView> players, List<String> draftOrder,
+                            boolean snakeDraft, Instant firstPickExpiry) {
+        String firstCaptainId = draftOrder.get(0);
+        String secondCaptainId = draftOrder.get(1);
+
+        // Create fresh teams for each of the 6 captains
+        Map<String, List<PlayerView>> teams = new HashMap<>();
+        for (Captain captain : captains) {
+            teams.put(captain.getUserId(), new ArrayList<>());
+        }
+
         // Create the new draft state with only the current 6 captains
         state = new DraftState(
                 firstCaptainId, // First captain ID
                 secondCaptainId, // Next captain ID
-                firstCaptainName, // First captain name
-                secondCaptainName, // Next captain name
+                getCaptainName(firstCaptainId, captains), // First captain name
+                getCaptainName(secondCaptainId, captains), // Next captain name
                 players, // Available player pool
                 teams, // Teams (empty initially)
-                Instant.now().plusSeconds(180), // 3 minutes for first pick
+                firstPickExpiry,
                 null, // No last pick yet
                 true, // Draft is started
                 captains, // List of captains (exactly 6)
                 new HashMap<>(), // Initialize empty autodraft preferences
-                snakeDraftEnabled, // Snake draft setting
-                finalDraftOrder, // The draft order
+                snakeDraft, // Snake draft setting
+                draftOrder, // The draft order
                 0 // Starting at round 0
         );
-
-        // Broadcast the updated state
-        broker.convertAndSend("/topic/draft", state);
-        logger.info("Draft initialized and started with exactly 6 captains and {} players", players.size());
+        playerIndex.available(players);
     }
 
     /**
@@ -414,7 +788,7 @@ public class DraftService {
      * @param teams the teams map
      * @return true if the draft is complete, false otherwise
      */
-    private boolean checkIfDraftComplete(List<Player> availablePool, Map<String, List<Player>> teams) {
+    private boolean checkIfDraftComplete(List<PlayerView> availablePool, Map<String, List<PlayerView>> teams) {
         // Draft is complete when there are no more players in the available pool
         
         // Check if pool is empty
@@ -434,9 +808,11 @@ public class DraftService {
         logger.info("Exporting teams to Google Sheets");
         draftCompleted = true;
         
+        long started = System.nanoTime();
         try {
             // Export teams to Google Sheets
-            String sheetUrl = googleSheetsService.exportTeamsToSheet(state.teams(), state.captains());
+            String sheetUrl = googleSheetsService.exportTeamsToSheet(fullTeams(state.teams()), state.captains());
+            metrics.sheetsExport(sheetUrl != null ? DraftMetrics.SUCCESS : DraftMetrics.ERROR, System.nanoTime() - started);
             
             if (sheetUrl != null) {
                 exportedSheetUrl = sheetUrl;
@@ -460,6 +836,7 @@ public class DraftService {
                 broker.convertAndSend("/topic/export-complete", exportInfo);
             }
         } catch (Exception e) {
+            metrics.sheetsExport(DraftMetrics.ERROR, System.nanoTime() - started);
             logger.error("Error exporting teams to Google Sheets", e);
             
             // Broadcast the export error to all clients
@@ -501,6 +878,7 @@ public class DraftService {
         }
         this.snakeDraftEnabled = enabled;
         logger.info("Snake draft mode set to: {}", enabled);
+        replicationLog.append(DraftCommand.snakeDraft(enabled));
         
         // Broadcast updated pre-draft config
         broadcastDraftConfig();
@@ -521,6 +899,7 @@ public class DraftService {
         }
         this.customDraftOrder = order;
         logger.info("Custom draft order set to: {}", order);
+        replicationLog.append(DraftCommand.draftOrder(order));
         
         // Broadcast updated pre-draft config
         broadcastDraftConfig();
@@ -553,50 +932,69 @@ public class DraftService {
         broker.convertAndSend("/topic/draft-config", config);
     }
     
+    /**
+     * Index the full player records and build their broadcast views
+     * 
+     * @param players the loaded players
+     * @return one view per player, in the same order
+     */
+    private List<PlayerView> registerPlayers(List<Player> players) {
+        Map<String, Player> byId = new HashMap<>();
+        List<PlayerView> views = new ArrayList<>(players.size());
+        for (Player player : players) {
+            byId.put(player.getId(), player);
+            views.add(PlayerView.of(player));
+        }
+        playersById = Map.copyOf(byId);
+        playerIndex.rebuild(players);
+        return views;
+    }
+    
+    /**
+     * Look up the full player records behind each team's views
+     * 
+     * @param teams the teams as held in the draft state
+     * @return the same teams with full Player records
+     */
+    private Map<String, List<Player>> fullTeams(Map<String, List<PlayerView>> teams) {
+        Map<String, Player> players = playersById;
+        Map<String, List<Player>> fullTeams = new HashMap<>();
+        teams.forEach((captainId, views) -> fullTeams.put(captainId, views.stream()
+                .map(view -> players.get(view.id()))
+                .filter(Objects::nonNull)
+                .toList()));
+        return fullTeams;
+    }
+    
+    private List<Player> loadPlayers() {
+        if (playerSource != null) {
+            return playerSource.loadPlayers();
+        }
+        return loadPlayersFromFirebase();
+    }
+
     private List<Player> loadPlayersFromFirebase() {
         List<Player> players = new ArrayList<>();
 
         // If Firebase is available, try to load data from it
         if (firebaseApp != null) {
+            long started = System.nanoTime();
             try {
                 logger.info("Firebase app is available, attempting to load players");
                 logger.info("Credentials path: " + System.getenv("FIREBASE_CREDENTIALS_PATH"));
 
                 // Get Firestore instance and use it directly
                 FirestoreClient.getFirestore(firebaseApp).collection("users")
-                        .whereEqualTo("registered2026", true)
+                        .whereEqualTo(season.registrationField(), true)
+                        .select(playerFields(season))
                         .get()
                         .get() // This blocks until the query completes
                         .getDocuments()
                         .forEach(doc -> {
                             try {
                                 logger.debug("Processing user document: " + doc.getId());
-                                // We already filtered by registered2026=true in the query
-
-                                // Get position data - could be a string or an array
-                                Object positionData = null;
-                                // Only use position data if it's an array, as per requirement
-                                if (doc.contains("position")) {
-                                    Object rawPosition = doc.get("position");
-                                    if (rawPosition instanceof List) {
-                                        positionData = rawPosition;
-                                    }
-                                }
-
-                                Player player = new Player(
-                                        doc.getId(),
-                                        doc.getString("firstName"),
-                                        doc.getString("lastName"),
-                                        positionData, // Pass the position object which could be null or a List
-                                        doc.getString("clubTeam"),
-                                        doc.getString("footPref"),
-                                        doc.getString("graduationYear"),
-                                        doc.getString("email"),
-                                        doc.getString("phone"),
-                                        doc.getString("nickname"),
-                                        Boolean.TRUE.equals(doc.getBoolean("registered2025")),
-                                        // set registered2026 to true since we're loading only players with that value
-                                        true);
+                                // We already filtered by this season's registration flag in the query
+                                Player player = player(doc, season);
                                 players.add(player);
                                 logger.debug("Loaded player: " + player.getFullName());
                             } catch (Exception e) {
@@ -605,8 +1003,10 @@ public class DraftService {
                             }
                         });
 
+                metrics.firestoreCall("load-players", DraftMetrics.SUCCESS, System.nanoTime() - started);
                 logger.debug("Loaded " + players.size() + " registered players from Firebase");
             } catch (Exception e) {
+                metrics.firestoreCall("load-players", DraftMetrics.ERROR, System.nanoTime() - started);
                 logger.error("Error loading data from Firebase: " + e.getMessage());
                 e.printStackTrace();
             }
@@ -620,4 +1020,42 @@ public class DraftService {
 
         return players;
     }
+
+    /**
+     * The user document fields {@link #player} reads, for a query's field mask
+     * @param latest the latest season whose registration flag is read
+     */
+    static String[] playerFields(Season latest) {
+        List<String> fields = new ArrayList<>(PLAYER_FIELDS);
+        latest.throughThis().forEach(season -> fields.add(season.registrationField()));
+        return fields.toArray(String[]::new);
+    }
+
+    /**
+     * Read a player from their user document. The registration export reads players the
+     * same way, with only {@link #playerFields} selected.
+     * @param latest the latest season whose registration flag is read
+     */
+    static Player player(DocumentSnapshot doc, Season latest) {
+        // Only use position data if it's an array, as per requirement
+        Object rawPosition = doc.get("position");
+        Object positionData = rawPosition instanceof List ? rawPosition : null;
+
+        Player player = new Player(
+                doc.getId(),
+                doc.getString("firstName"),
+                doc.getString("lastName"),
+                positionData, // Pass the position object which could be null or a List
+                doc.getString("clubTeam"),
+                doc.getString("footPref"),
+                doc.getString("graduationYear"),
+                doc.getString("email"),
+                doc.getString("phone"),
+                doc.getString("nickname"),
+                0L);
+        for (Season season : latest.throughThis()) {
+            player.setRegisteredFor(season, Boolean.TRUE.equals(doc.getBoolean(season.registrationField())));
+        }
+        return player;
+    }
 }
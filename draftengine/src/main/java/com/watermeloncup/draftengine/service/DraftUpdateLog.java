@@ -0,0 +1,152 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.DraftUpdate;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.SerializedState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Ring buffer of recent draft state changes, so a reconnecting client can catch up
+ * from the version it last saw instead of receiving (and causing a broadcast of) the
+ * full state.
+ */
+@Service
+public class DraftUpdateLog {
+    // Guarded by this
+    private final Deque<DraftUpdate> updates = new ArrayDeque<>();
+    private SerializedState latest;
+
+    // Number of versions a client can be behind and still catch up with diffs
+    @Value("${draft.catch-up.buffer-size:128}")
+    private int bufferSize;
+
+    @Autowired
+    public DraftUpdateLog() {
+    }
+
+    /**
+     * Create a log outside Spring, e.g. in the draft simulator
+     * @param bufferSize number of versions kept for catch-up
+     */
+    public DraftUpdateLog(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Record a state that is about to be broadcast, if its version is new
+     * @param serialized the cached serialization of the state
+     */
+    public synchronized void record(SerializedState serialized) {
+        if (latest != null && latest.version() == serialized.version()) {
+            return;
+        }
+        if (latest != null) {
+            updates.addLast(diff(latest.versionTag(), serialized.versionTag(), latest.state(), serialized.state()));
+            while (updates.size() > bufferSize) {
+                updates.removeFirst();
+            }
+        }
+        latest = serialized;
+    }
+
+    /**
+     * Get the updates a client needs to get from a version to the latest one
+     * @param since the draft-version the client last applied
+     * @return the updates in order (empty if the client is current), or null if the
+     *         version is unknown or older than the buffer and a full snapshot is needed
+     */
+    public synchronized List<DraftUpdate> since(String since) {
+        if (since == null || latest == null) {
+            return null;
+        }
+        if (since.equals(latest.versionTag())) {
+            return List.of();
+        }
+        List<DraftUpdate> missed = new ArrayList<>();
+        for (DraftUpdate update : updates) {
+            if (!missed.isEmpty() || update.previousVersion().equals(since)) {
+                missed.add(update);
+            }
+        }
+        return missed.isEmpty() ? null : missed;
+    }
+
+    /**
+     * Build the update that turns one state into the next
+     */
+    static DraftUpdate diff(String previousVersion, String version, DraftState before, DraftState after) {
+        List<String> removedFromPool = removedFromPool(before.availablePool(), after.availablePool());
+        Map<String, List<PlayerView>> addedToTeams = addedToTeams(before.teams(), after.teams());
+
+        return new DraftUpdate(
+                previousVersion,
+                version,
+                removedFromPool,
+                removedFromPool == null ? after.availablePool() : null,
+                addedToTeams,
+                addedToTeams == null ? after.teams() : null,
+                after.currentCaptainId(),
+                after.nextCaptainId(),
+                after.currentCaptain(),
+                after.nextCaptain(),
+                after.pickExpiresAt(),
+                after.lastPick(),
+                after.draftStarted(),
+                Objects.equals(before.captains(), after.captains()) ? null : after.captains(),
+                Objects.equals(before.autoDraftPreferences(), after.autoDraftPreferences()) ? null : after.autoDraftPreferences(),
+                after.snakeDraft(),
+                Objects.equals(before.draftOrder(), after.draftOrder()) ? null : after.draftOrder(),
+                after.currentRound());
+    }
+
+    /**
+     * @return the ids removed, if the new pool is the old one with some players taken
+     *         out in place; null if the pool was rebuilt
+     */
+    private static List<String> removedFromPool(List<PlayerView> before, List<PlayerView> after) {
+        List<String> removed = new ArrayList<>();
+        int next = 0;
+        for (PlayerView player : before) {
+            if (next < after.size() && after.get(next).equals(player)) {
+                next++;
+            } else {
+                removed.add(player.id());
+            }
+        }
+        return next == after.size() ? removed : null;
+    }
+
+    /**
+     * @return the players appended to each team, if every team only grew at the end;
+     *         null if a team was rebuilt or removed
+     */
+    private static Map<String, List<PlayerView>> addedToTeams(Map<String, List<PlayerView>> before,
+                                                              Map<String, List<PlayerView>> after) {
+        if (!after.keySet().containsAll(before.keySet())) {
+            return null;
+        }
+        Map<String, List<PlayerView>> added = new HashMap<>();
+        for (Map.Entry<String, List<PlayerView>> team : after.entrySet()) {
+            List<PlayerView> previous = before.getOrDefault(team.getKey(), List.of());
+            List<PlayerView> current = team.getValue();
+            if (current.size() < previous.size() || !current.subList(0, previous.size()).equals(previous)) {
+                return null;
+            }
+            if (current.size() > previous.size()) {
+                added.put(team.getKey(), List.copyOf(current.subList(previous.size(), current.size())));
+            }
+        }
+        return added;
+    }
+}
@@ -0,0 +1,210 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.Player;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant index over player first names, last names and nicknames, by ordinal
+ * (see {@link PlayerIndex}). Immutable once built.
+ *
+ * Names are split into terms, lowercased and stripped of accents. Distinct terms are kept
+ * sorted for prefix lookups, and each term's bigrams (with a start marker) point back to
+ * it, so a misspelled query token only has to be compared with the terms sharing enough
+ * bigrams with it. Each query token counts as matched by a term that equals it, starts with
+ * it, or is within one edit (two for longer tokens) of it or of a prefix of it.
+ */
+final class NameIndex {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int[] NO_TERMS = new int[0];
+
+    // Shorter tokens only match exactly or by prefix
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_EDIT_LENGTH = 7;
+
+    private final int size;
+    // Sorted distinct terms, and the ordinals of the players having each
+    private final String[] terms;
+    private final int[][] termPlayers;
+    private final Map<String, int[]> bigramTerms;
+
+    private NameIndex(int size, String[] terms, int[][] termPlayers, Map<String, int[]> bigramTerms) {
+        this.size = size;
+        this.terms = terms;
+        this.termPlayers = termPlayers;
+        this.bigramTerms = bigramTerms;
+    }
+
+    static NameIndex build(List<Player> players) {
+        TreeMap<String, List<Integer>> postings = new TreeMap<>();
+        for (int ordinal = 0; ordinal < players.size(); ordinal++) {
+            Player player = players.get(ordinal);
+            Set<String> playerTerms = new LinkedHashSet<>();
+            playerTerms.addAll(tokens(player.getFirstName()));
+            playerTerms.addAll(tokens(player.getLastName()));
+            playerTerms.addAll(tokens(player.getNickname()));
+            for (String term : playerTerms) {
+                postings.computeIfAbsent(term, t -> new ArrayList<>()).add(ordinal);
+            }
+        }
+
+        String[] terms = postings.keySet().toArray(String[]::new);
+        int[][] termPlayers = new int[terms.length][];
+        Map<String, List<Integer>> bigrams = new HashMap<>();
+        for (int id = 0; id < terms.length; id++) {
+            termPlayers[id] = postings.get(terms[id]).stream().mapToInt(Integer::intValue).toArray();
+            for (String bigram : bigrams(terms[id])) {
+                bigrams.computeIfAbsent(bigram, b -> new ArrayList<>()).add(id);
+            }
+        }
+        Map<String, int[]> bigramTerms = new HashMap<>();
+        bigrams.forEach((bigram, ids) -> bigramTerms.put(bigram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new NameIndex(players.size(), terms, termPlayers, Map.copyOf(bigramTerms));
+    }
+
+    /**
+     * Score the players matching every token of the query
+     * @param query the text typed so far
+     * @return score by ordinal, 0 for players that don't match; null when the query has no tokens
+     */
+    float[] score(String query) {
+        List<String> tokens = tokens(query);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        float[] total = new float[size];
+        BitSet matched = new BitSet(size);
+        matched.set(0, size);
+        for (String token : tokens) {
+            float[] tokenScores = new float[size];
+            BitSet tokenMatched = new BitSet(size);
+            for (Map.Entry<Integer, Float> match : matchTerms(token).entrySet()) {
+                float score = match.getValue();
+                for (int ordinal : termPlayers[match.getKey()]) {
+                    tokenMatched.set(ordinal);
+                    tokenScores[ordinal] = Math.max(tokenScores[ordinal], score);
+                }
+            }
+            matched.and(tokenMatched);
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+                total[ordinal] += tokenScores[ordinal];
+            }
+        }
+        for (int ordinal = matched.nextClearBit(0); ordinal < size; ordinal = matched.nextClearBit(ordinal + 1)) {
+            total[ordinal] = 0;
+        }
+        return total;
+    }
+
+    /**
+     * Find the terms matching one query token
+     * @return term ID -> score, from 1 for an exact match down
+     */
+    private Map<Integer, Float> matchTerms(String token) {
+        Map<Integer, Float> matches = new HashMap<>();
+        int from = Arrays.binarySearch(terms, token);
+        for (int id = from >= 0 ? from : -from - 1; id < terms.length && terms[id].startsWith(token); id++) {
+            matches.put(id, token.length() == terms[id].length()
+                    ? 1f
+                    : 0.5f + 0.4f * token.length() / terms[id].length());
+        }
+
+        int maxEdits = token.length() >= TWO_EDIT_LENGTH ? 2 : token.length() >= MIN_FUZZY_LENGTH ? 1 : 0;
+        if (maxEdits == 0) {
+            return matches;
+        }
+        // An edit changes at most three bigrams (a transposition), so a close enough term
+        // shares all but 3 per edit
+        List<String> tokenBigrams = bigrams(token);
+        int minShared = Math.max(1, tokenBigrams.size() - 3 * maxEdits);
+        int[] shared = new int[terms.length];
+        for (String bigram : tokenBigrams) {
+            for (int id : bigramTerms.getOrDefault(bigram, NO_TERMS)) {
+                shared[id]++;
+            }
+        }
+        for (int id = 0; id < terms.length; id++) {
+            if (shared[id] < minShared || matches.containsKey(id)) {
+                continue;
+            }
+            int[] distances = distances(token, terms[id], maxEdits);
+            if (distances[0] <= maxEdits) {
+                matches.put(id, 0.8f - 0.2f * distances[0]);
+            } else if (distances[1] <= maxEdits) {
+                matches.put(id, 0.4f + 0.2f * token.length() / terms[id].length() - 0.2f * distances[1]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Optimal string alignment distance from the token to the whole term and to the
+     * closest prefix of the term
+     * @return {distance to the whole term, distance to the closest prefix}
+     */
+    static int[] distances(String token, String term, int maxEdits) {
+        int m = token.length();
+        int n = term.length();
+        int[][] d = new int[m + 1][n + 1];
+        for (int i = 0; i <= m; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= n; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            for (int j = 1; j <= n; j++) {
+                int cost = token.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && token.charAt(i - 1) == term.charAt(j - 2)
+                        && token.charAt(i - 2) == term.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        int prefix = Integer.MAX_VALUE;
+        for (int j = Math.max(0, m - maxEdits); j <= Math.min(n, m + maxEdits); j++) {
+            prefix = Math.min(prefix, d[m][j]);
+        }
+        return new int[] {d[m][n], prefix};
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> bigrams(String term) {
+        String marked = "^" + term;
+        List<String> bigrams = new ArrayList<>(term.length());
+        for (int i = 0; i + 2 <= marked.length(); i++) {
+            String bigram = marked.substring(i, i + 2);
+            if (!bigrams.contains(bigram)) {
+                bigrams.add(bigram);
+            }
+        }
+        return bigrams;
+    }
+}
@@ -0,0 +1,321 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.PlayerPage;
+import com.watermeloncup.draftengine.model.PlayerQuery;
+import com.watermeloncup.draftengine.model.PlayerSearch;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.Season;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Bitmap index over the loaded players for filtering the live pool by position,
+ * graduation year, club, preferred foot and whether they registered for an earlier
+ * season, and for searching it by name (see {@link NameIndex}).
+ *
+ * Each player gets a fixed ordinal when the players are loaded, and each facet value a
+ * bitmap of the ordinals that have it. A query ANDs the facet bitmaps with the bitmap
+ * of players still available, then walks a presorted ordinal array for the page.
+ *
+ * Everything a query reads is in one immutable snapshot behind a volatile field, so
+ * queries never wait on the draft lock. DraftService updates it while holding that
+ * lock; a pick copies the availability bitmap, clears one bit and publishes the copy.
+ */
+@Service
+public class PlayerIndex {
+    public static final String POSITION = "position";
+    public static final String GRAD_YEAR = "gradYear";
+    public static final String CLUB = "club";
+    public static final String FOOT = "foot";
+    public static final String RETURNING = "returning";
+
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_SEARCH_RESULTS = 50;
+
+    // The season being drafted; players registered for any season before it are returning
+    private final Season season;
+    private volatile Snapshot snapshot;
+
+    public PlayerIndex(Season season) {
+        this.season = season;
+        this.snapshot = Snapshot.build(List.of(), season);
+    }
+
+    /**
+     * Replace the index with a new set of players, all of them available
+     * @param players the loaded players
+     */
+    public synchronized void rebuild(Collection<Player> players) {
+        snapshot = Snapshot.build(List.copyOf(players), season);
+    }
+
+    /**
+     * Mark a player as drafted
+     * @param playerId the drafted player's ID
+     */
+    public synchronized void drafted(String playerId) {
+        Snapshot current = snapshot;
+        Integer ordinal = current.ordinals().get(playerId);
+        if (ordinal != null && current.available().get(ordinal)) {
+            BitSet available = (BitSet) current.available().clone();
+            available.clear(ordinal);
+            snapshot = current.withAvailable(available);
+        }
+    }
+
+    /**
+     * Set availability from a whole pool, after the state was replaced rather than
+     * picked from (draft start, a mirrored state, a restored snapshot). Players in
+     * the pool that aren't indexed can't be queried.
+     * @param pool the available players in the new state
+     */
+    public synchronized void available(List<PlayerView> pool) {
+        Snapshot current = snapshot;
+        BitSet available = new BitSet(current.views().length);
+        for (PlayerView view : pool) {
+            Integer ordinal = current.ordinals().get(view.id());
+            if (ordinal != null) {
+                available.set(ordinal);
+            }
+        }
+        if (!available.equals(current.available())) {
+            snapshot = current.withAvailable(available);
+        }
+    }
+
+    /**
+     * Get a page of available players matching the query, with facet counts
+     * @param query the filters, sort and page
+     * @return the page, empty if it starts past the last match
+     */
+    public PlayerPage query(PlayerQuery query) {
+        Snapshot index = snapshot;
+        int size = Math.min(Math.max(query.size(), 1), MAX_PAGE_SIZE);
+
+        BitSet positions = index.positions().select(query.positions());
+        BitSet gradYears = index.gradYears().select(query.gradYears());
+        BitSet clubs = index.clubs().select(query.clubs());
+        BitSet feet = index.feet().select(query.feet());
+        BitSet returning = query.returning() == null ? null : index.returning(query.returning());
+
+        BitSet matches = matching(index.available(), positions, gradYears, clubs, feet, returning);
+        int total = matches.cardinality();
+        // Long, so a huge page number can't wrap around to an earlier page
+        long skip = (long) Math.max(query.page(), 0) * size;
+        List<PlayerView> players = new ArrayList<>(skip < total ? Math.min(size, total) : 0);
+        int[] order = index.order(query.sort());
+        for (int i = 0; skip < total && i < order.length && players.size() < size; i++) {
+            int ordinal = order[query.descending() ? order.length - 1 - i : i];
+            if (matches.get(ordinal) && skip-- <= 0) {
+                players.add(index.views()[ordinal]);
+            }
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put(POSITION, index.positions().counts(
+                matching(index.available(), null, gradYears, clubs, feet, returning)));
+        facets.put(GRAD_YEAR, index.gradYears().counts(
+                matching(index.available(), positions, null, clubs, feet, returning)));
+        facets.put(CLUB, index.clubs().counts(
+                matching(index.available(), positions, gradYears, null, feet, returning)));
+        facets.put(FOOT, index.feet().counts(
+                matching(index.available(), positions, gradYears, clubs, null, returning)));
+        BitSet withoutReturning = matching(index.available(), positions, gradYears, clubs, feet, null);
+        BitSet returningMatches = (BitSet) withoutReturning.clone();
+        returningMatches.and(index.returning(true));
+        facets.put(RETURNING, Map.of(
+                "true", returningMatches.cardinality(),
+                "false", withoutReturning.cardinality() - returningMatches.cardinality()));
+
+        return new PlayerPage(players, total, query.page(), size, facets);
+    }
+
+    /**
+     * Search the available players by first name, last name or nickname. Every word of
+     * the text must match; the last one may be unfinished and any may have a typo.
+     * @param text the text typed so far
+     * @param limit the maximum number of players to return
+     * @return the best matches first, ties in name order
+     */
+    public PlayerSearch search(String text, int limit) {
+        Snapshot index = snapshot;
+        float[] scores = index.names().score(text);
+        if (scores == null) {
+            return new PlayerSearch(text, List.of());
+        }
+        List<Integer> matches = new ArrayList<>();
+        for (int ordinal : index.order(PlayerQuery.Sort.NAME)) {
+            if (scores[ordinal] > 0 && index.available().get(ordinal)) {
+                matches.add(ordinal);
+            }
+        }
+        // Stable, so equal scores stay in name order
+        matches.sort(Comparator.comparingDouble(ordinal -> -scores[ordinal]));
+        List<PlayerView> players = matches.stream()
+                .limit(Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS))
+                .map(ordinal -> index.views()[ordinal])
+                .toList();
+        return new PlayerSearch(text, players);
+    }
+
+    /**
+     * Get the number of indexed players still available
+     */
+    public int getAvailableCount() {
+        return snapshot.available().cardinality();
+    }
+
+    private static BitSet matching(BitSet available, BitSet... filters) {
+        BitSet result = (BitSet) available.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Value bitmaps for one facet, keyed by normalized value
+     * @param labels normalized value -> the value as first seen, for facet counts
+     */
+    private record Facet(Map<String, BitSet> bitmaps, Map<String, String> labels) {
+
+        static Facet build(List<Player> players, Function<Player, List<String>> values) {
+            Map<String, BitSet> bitmaps = new HashMap<>();
+            Map<String, String> labels = new HashMap<>();
+            for (int ordinal = 0; ordinal < players.size(); ordinal++) {
+                for (String value : values.apply(players.get(ordinal))) {
+                    String key = normalize(value);
+                    if (key.isEmpty()) {
+                        continue;
+                    }
+                    bitmaps.computeIfAbsent(key, k -> new BitSet(players.size())).set(ordinal);
+                    labels.putIfAbsent(key, value.trim());
+                }
+            }
+            return new Facet(Map.copyOf(bitmaps), Map.copyOf(labels));
+        }
+
+        /**
+         * Get the players having any of the values, or null if no value is selected
+         */
+        BitSet select(Set<String> values) {
+            if (values.isEmpty()) {
+                return null;
+            }
+            BitSet selected = new BitSet();
+            for (String value : values) {
+                BitSet bitmap = bitmaps.get(normalize(value));
+                if (bitmap != null) {
+                    selected.or(bitmap);
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * Count the matching players per value, leaving out values with none
+         */
+        Map<String, Integer> counts(BitSet matches) {
+            Map<String, Integer> counts = new TreeMap<>();
+            bitmaps.forEach((key, bitmap) -> {
+                BitSet overlap = (BitSet) bitmap.clone();
+                overlap.and(matches);
+                int count = overlap.cardinality();
+                if (count > 0) {
+                    counts.put(labels.get(key), count);
+                }
+            });
+            return counts;
+        }
+    }
+
+    private record Snapshot(PlayerView[] views, Map<String, Integer> ordinals, Facet positions, Facet gradYears,
+                            Facet clubs, Facet feet, BitSet returningBitmap, BitSet newBitmap,
+                            NameIndex names, Map<PlayerQuery.Sort, int[]> orders, BitSet available) {
+
+        static Snapshot build(List<Player> players, Season season) {
+            long earlier = season.earlier();
+            PlayerView[] views = new PlayerView[players.size()];
+            Map<String, Integer> ordinals = new HashMap<>();
+            BitSet returning = new BitSet(players.size());
+            for (int ordinal = 0; ordinal < players.size(); ordinal++) {
+                Player player = players.get(ordinal);
+                views[ordinal] = PlayerView.of(player);
+                ordinals.put(player.getId(), ordinal);
+                if ((player.getSeasons() & earlier) != 0) {
+                    returning.set(ordinal);
+                }
+            }
+            BitSet available = new BitSet(players.size());
+            available.set(0, players.size());
+            BitSet fresh = (BitSet) available.clone();
+            fresh.andNot(returning);
+
+            Map<PlayerQuery.Sort, int[]> orders = new HashMap<>();
+            orders.put(PlayerQuery.Sort.POOL, IntStream.range(0, players.size()).toArray());
+            orders.put(PlayerQuery.Sort.NAME, sorted(players, Comparator
+                    .comparing((Player p) -> normalize(p.getLastName()))
+                    .thenComparing(p -> normalize(p.getFirstName()))));
+            orders.put(PlayerQuery.Sort.GRAD_YEAR, sorted(players, Comparator
+                    .comparing((Player p) -> normalize(p.getGraduationYear()))
+                    .thenComparing(p -> normalize(p.getLastName()))));
+            orders.put(PlayerQuery.Sort.CLUB, sorted(players, Comparator
+                    .comparing((Player p) -> normalize(p.getClubTeam()))
+                    .thenComparing(p -> normalize(p.getLastName()))));
+
+            return new Snapshot(views, Map.copyOf(ordinals),
+                    Facet.build(players, Player::getPositions),
+                    Facet.build(players, p -> single(p.getGraduationYear())),
+                    Facet.build(players, p -> single(p.getClubTeam())),
+                    Facet.build(players, p -> single(p.getFootPref())),
+                    returning, fresh, NameIndex.build(players), Map.copyOf(orders), available);
+        }
+
+        Snapshot withAvailable(BitSet available) {
+            return new Snapshot(views, ordinals, positions, gradYears, clubs, feet, returningBitmap, newBitmap, names,
+                    orders, available);
+        }
+
+        int[] order(PlayerQuery.Sort sort) {
+            return orders.get(sort);
+        }
+
+        /**
+         * Get the players registered for an earlier season, or those new this season. Read-only.
+         */
+        BitSet returning(boolean registeredBefore) {
+            return registeredBefore ? returningBitmap : newBitmap;
+        }
+
+        private static int[] sorted(List<Player> players, Comparator<Player> comparator) {
+            return IntStream.range(0, players.size()).boxed()
+                    .sorted(Comparator.comparing(players::get, comparator))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        private static List<String> single(String value) {
+            return value == null ? List.of() : List.of(value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.Player;
+
+import java.util.List;
+
+/**
+ * Supplies the registered players for the draft pool in place of Firestore. When no
+ * bean of this type exists, players are loaded from Firebase.
+ */
+@FunctionalInterface
+public interface PlayerSource {
+    /**
+     * Load the players registered for the draft
+     * @return the players, in pool order
+     */
+    List<Player> loadPlayers();
+}
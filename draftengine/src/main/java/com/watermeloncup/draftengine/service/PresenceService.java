@@ -0,0 +1,126 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.config.ConflatingWebSocketSessionDecorator;
+import com.watermeloncup.draftengine.model.SessionOutboundStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks when each WebSocket session was last heard from (any STOMP frame,
+ * including heartbeats) and finds sessions that have gone quiet.
+ */
+@Service
+public class PresenceService {
+    private static final Logger logger = LoggerFactory.getLogger(PresenceService.class);
+
+    // Map of session ID -> last inbound activity (epoch millis)
+    private final Map<String, AtomicLong> lastSeen = new ConcurrentHashMap<>();
+
+    // Map of session ID -> underlying transport session, so stale ones can be closed
+    private final Map<String, WebSocketSession> openSessions = new ConcurrentHashMap<>();
+
+    @Value("${draft.presence.idle-timeout-ms:45000}")
+    private long idleTimeoutMillis;
+
+    /**
+     * Start tracking a newly opened transport session
+     * @param session the WebSocket session
+     */
+    public void sessionOpened(WebSocketSession session) {
+        openSessions.put(session.getId(), session);
+        lastSeen.put(session.getId(), new AtomicLong(System.currentTimeMillis()));
+    }
+
+    /**
+     * Stop tracking a session that has closed
+     * @param sessionId the WebSocket session ID
+     */
+    public void sessionClosed(String sessionId) {
+        openSessions.remove(sessionId);
+        lastSeen.remove(sessionId);
+    }
+
+    /**
+     * Record inbound activity for a session. Unknown sessions are ignored so a
+     * late frame can't bring a closed session back.
+     * @param sessionId the WebSocket session ID
+     */
+    public void touch(String sessionId) {
+        AtomicLong seen = lastSeen.get(sessionId);
+        if (seen != null) {
+            seen.set(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Get the number of sessions currently tracked
+     * @return the number of open sessions
+     */
+    public int getTrackedSessionCount() {
+        return lastSeen.size();
+    }
+
+    /**
+     * Get outbound buffer sizes and conflation counts for every open session
+     * @return one entry per session
+     */
+    public List<SessionOutboundStats> getOutboundStats() {
+        List<SessionOutboundStats> stats = new ArrayList<>();
+        for (WebSocketSession session : openSessions.values()) {
+            if (session instanceof ConflatingWebSocketSessionDecorator outbound) {
+                stats.add(outbound.getStats());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Stop tracking every session that has been idle longer than the timeout.
+     * The caller should update any per-session state (connected users, captains)
+     * for the returned IDs and then call {@link #closeSessions(List)}.
+     * @return the IDs of the evicted sessions
+     */
+    public List<String> evictIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        List<String> evicted = new ArrayList<>();
+
+        for (Map.Entry<String, AtomicLong> entry : lastSeen.entrySet()) {
+            if (entry.getValue().get() < cutoff && lastSeen.remove(entry.getKey(), entry.getValue())) {
+                evicted.add(entry.getKey());
+            }
+        }
+
+        if (!evicted.isEmpty()) {
+            logger.info("Evicted {} sessions idle for more than {} ms", evicted.size(), idleTimeoutMillis);
+        }
+        return evicted;
+    }
+
+    /**
+     * Close the transport of evicted sessions so the client notices and reconnects
+     * @param sessionIds the session IDs to close
+     */
+    public void closeSessions(List<String> sessionIds) {
+        for (String sessionId : sessionIds) {
+            WebSocketSession session = openSessions.remove(sessionId);
+            if (session != null && session.isOpen()) {
+                try {
+                    session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException e) {
+                    logger.warn("Error closing stale session {}: {}", sessionId, e.getMessage());
+                }
+            }
+        }
+    }
+}
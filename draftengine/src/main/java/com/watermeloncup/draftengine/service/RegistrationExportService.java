@@ -0,0 +1,167 @@
+package com.watermeloncup.draftengine.service;
+
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.cloud.FirestoreClient;
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.Season;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the users registered for a season as CSV, in place of the export notebook
+ * that loaded every user before writing anything.
+ *
+ * Users are read a page at a time in document ID order, each page starting after the
+ * last document of the one before, with only the player fields selected. Every page is
+ * written and flushed before the next is read, so memory use is one page however many
+ * users are registered. Rows are mapped like the draft pool ({@link DraftService#player}).
+ * If a page can't be read, a last row starting with {@value #INCOMPLETE} is written
+ * before the error is thrown, so a truncated file never passes for a whole one.
+ */
+@Service
+public class RegistrationExportService {
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationExportService.class);
+
+    private static final List<String> COLUMNS = List.of("id", "firstName", "lastName", "nickname", "email",
+            "phone", "position", "clubTeam", "footPref", "graduationYear");
+
+    // First field of the row that ends an export cut short
+    static final String INCOMPLETE = "EXPORT INCOMPLETE";
+
+    private final FirebaseApp firebaseApp;
+    private final DraftMetrics metrics;
+
+    // Users read per Firestore query
+    @Value("${draft.export.page-size:500}")
+    private int pageSize;
+
+    public RegistrationExportService(@Autowired(required = false) FirebaseApp firebaseApp, DraftMetrics metrics) {
+        this.firebaseApp = firebaseApp;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Check that an export can run, before any of the response is written
+     * @throws IllegalStateException if Firestore is unavailable
+     */
+    public void checkExport() {
+        if (firebaseApp == null) {
+            throw new IllegalStateException("Firestore is not configured");
+        }
+    }
+
+    /**
+     * Write the season's registered users as CSV with a header row
+     * @param season the season to export; the registration columns run up to it
+     * @param out the response body, left open
+     * @return the number of users written
+     * @throws IOException if the client goes away
+     * @throws IllegalStateException if a page can't be read; the rows written so far stay written,
+     *         followed by an {@value #INCOMPLETE} row
+     */
+    public int export(Season season, OutputStream out) throws IOException {
+        checkExport();
+        Query query = FirestoreClient.getFirestore(firebaseApp).collection("users")
+                .whereEqualTo(season.registrationField(), true)
+                .orderBy(FieldPath.documentId())
+                .select(DraftService.playerFields(season))
+                .limit(pageSize);
+
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(String.join(",", header(season)) + "\r\n");
+        writer.flush();
+        int written = 0;
+        QueryDocumentSnapshot last = null;
+        while (true) {
+            List<QueryDocumentSnapshot> page;
+            try {
+                page = page(last == null ? query : query.startAfter(last), season, written);
+            } catch (IllegalStateException e) {
+                writer.write(incomplete(written, e.getMessage()));
+                writer.flush();
+                throw e;
+            }
+            for (QueryDocumentSnapshot doc : page) {
+                writer.write(row(DraftService.player(doc, season), season));
+            }
+            writer.flush();
+            written += page.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+            last = page.get(page.size() - 1);
+        }
+        logger.info("Exported {} users registered for {}", written, season.year());
+        return written;
+    }
+
+    private List<QueryDocumentSnapshot> page(Query query, Season season, int written) {
+        long started = System.nanoTime();
+        String outcome = DraftMetrics.ERROR;
+        try {
+            QuerySnapshot snapshot = query.get().get();
+            outcome = DraftMetrics.SUCCESS;
+            return snapshot.getDocuments();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted after exporting " + written + " users", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not read the " + season.year() + " registrations after "
+                    + written + " users: " + e.getMessage(), e);
+        } finally {
+            metrics.firestoreCall("export-registrations", outcome, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * The column names, with a registeredYYYY column per season through this one
+     */
+    static List<String> header(Season season) {
+        List<String> header = new ArrayList<>(COLUMNS);
+        season.throughThis().forEach(s -> header.add(s.registrationField()));
+        return header;
+    }
+
+    /**
+     * One CSV line, in {@link #header} order
+     */
+    static String row(Player player, Season season) {
+        List<String> fields = new ArrayList<>(List.of(
+                player.getId(), nullToEmpty(player.getFirstName()), nullToEmpty(player.getLastName()),
+                nullToEmpty(player.getNickname()), nullToEmpty(player.getEmail()), nullToEmpty(player.getPhone()),
+                nullToEmpty(player.getPosition()), nullToEmpty(player.getClubTeam()),
+                nullToEmpty(player.getFootPref()), nullToEmpty(player.getGraduationYear())));
+        season.throughThis().forEach(s -> fields.add(String.valueOf(player.isRegisteredFor(s))));
+        return fields.stream()
+                .map(Csv::escape)
+                .collect(Collectors.joining(",", "", "\r\n"));
+    }
+
+    /**
+     * The row that ends an export cut short, after the users that were written
+     */
+    static String incomplete(int written, String reason) {
+        return Csv.escape(INCOMPLETE) + "," + Csv.escape("Stopped after " + written + " users: " + reason) + "\r\n";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,71 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.DraftCommand;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongFunction;
+
+/**
+ * Numbers every state-changing draft command and, on a primary node, publishes it to
+ * the replication topic for a standby to apply in order.
+ */
+@Service
+public class ReplicationLog {
+    public static final String REPLICATION_TOPIC = "/topic/replication";
+
+    private final SimpMessagingTemplate broker;
+    private long sequence = 0;
+    private volatile boolean publishing = false;
+
+    public ReplicationLog(SimpMessagingTemplate broker) {
+        this.broker = broker;
+    }
+
+    /**
+     * Turn publishing on (primary) or off (standby, or replication disabled)
+     * @param publishing whether appended commands are sent to the replication topic
+     */
+    public void setPublishing(boolean publishing) {
+        this.publishing = publishing;
+    }
+
+    /**
+     * Record a command that has just been applied. Callers must hold the lock that
+     * guarded the state change, so commands are numbered in the order they took effect.
+     * @param command the applied command
+     */
+    public synchronized void append(DraftCommand command) {
+        sequence++;
+        if (publishing) {
+            broker.convertAndSend(REPLICATION_TOPIC, command.withSequence(sequence));
+        }
+    }
+
+    /**
+     * Publish a liveness signal carrying the latest sequence number
+     */
+    public synchronized void heartbeat() {
+        if (publishing) {
+            broker.convertAndSend(REPLICATION_TOPIC, DraftCommand.heartbeat(sequence));
+        }
+    }
+
+    /**
+     * Build a snapshot tagged with the sequence of the last appended command
+     * @param builder creates the snapshot given the current sequence
+     * @return the snapshot
+     */
+    public synchronized <T> T snapshot(LongFunction<T> builder) {
+        return builder.apply(sequence);
+    }
+
+    /**
+     * Adopt the primary's sequence after applying a replicated command or snapshot,
+     * so numbering continues seamlessly if this node is promoted
+     * @param replicatedSequence the sequence just applied
+     */
+    public synchronized void advanceTo(long replicatedSequence) {
+        sequence = Math.max(sequence, replicatedSequence);
+    }
+}
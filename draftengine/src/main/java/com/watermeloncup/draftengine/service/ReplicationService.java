@@ -0,0 +1,368 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.DraftCommand;
+import com.watermeloncup.draftengine.model.ReplicationSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a hot standby in step with the primary node and promotes it when the primary fails.
+ *
+ * With role "primary" every state-changing command is published on the replication
+ * topic, with a heartbeat every second. With role "standby" this node connects to the
+ * primary as a STOMP client, loads a snapshot, applies commands in sequence order and
+ * takes over the draft once the primary has been silent for the failover timeout.
+ * The default role "none" disables replication.
+ */
+@Service
+public class ReplicationService {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationService.class);
+
+    public static final String SNAPSHOT_DESTINATION = "/app/replication/snapshot";
+    // CONNECT header a standby presents so the primary lets it read the replication stream
+    public static final String TOKEN_HEADER = "replication-token";
+
+    private final DraftService draftService;
+    private final CaptainService captainService;
+    private final ReplicationLog replicationLog;
+    private final ObjectMapper objectMapper;
+    private final DraftMetrics metrics;
+
+    @Value("${draft.replication.role:none}")
+    private String role;
+
+    @Value("${draft.replication.primary-url:ws://localhost:8080/draft-ws/websocket}")
+    private String primaryUrl;
+
+    @Value("${draft.replication.token:}")
+    private String token;
+
+    // How long a synced standby waits without any frame from the primary before taking over
+    @Value("${draft.replication.failover-timeout-ms:5000}")
+    private long failoverTimeoutMillis;
+
+    // Minimum time left on the current pick after a takeover, so captains can reconnect
+    @Value("${draft.replication.takeover-grace-ms:30000}")
+    private long takeoverGraceMillis;
+
+    private WebSocketStompClient stompClient;
+    private ThreadPoolTaskScheduler heartbeatScheduler;
+    private volatile StompSession primarySession;
+    private volatile boolean connecting = false;
+    private volatile boolean promoted = false;
+
+    // Standby sync state, guarded by this
+    private boolean synced = false;
+    // Set once any snapshot has loaded; a standby that later falls out of step can still take over
+    private boolean snapshotLoaded = false;
+    private long appliedSequence = 0;
+    private long lastFrameMillis = 0;
+    private final List<DraftCommand> pendingCommands = new ArrayList<>();
+
+    public ReplicationService(DraftService draftService, CaptainService captainService,
+                              ReplicationLog replicationLog, ObjectMapper objectMapper, DraftMetrics metrics) {
+        this.draftService = draftService;
+        this.metrics = metrics;
+        this.captainService = captainService;
+        this.replicationLog = replicationLog;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void init() {
+        if (isPrimary()) {
+            logger.info("Running as replication primary");
+            replicationLog.setPublishing(true);
+        } else if (isStandby()) {
+            logger.info("Running as replication standby of {}", primaryUrl);
+            draftService.setMirrorOnly(true);
+        }
+    }
+
+    /**
+     * Whether this node publishes its commands to a standby
+     */
+    public boolean isPrimary() {
+        return "primary".equalsIgnoreCase(role) || promoted;
+    }
+
+    /**
+     * Whether this node is currently a standby that has not taken over
+     */
+    public boolean isStandby() {
+        return "standby".equalsIgnoreCase(role) && !promoted;
+    }
+
+    /**
+     * Check a replication token presented by a connecting standby
+     * @param presented the token from the CONNECT frame
+     * @return true if replication is configured with a token and it matches
+     */
+    public boolean isValidToken(String presented) {
+        return !token.isEmpty() && token.equals(presented);
+    }
+
+    /**
+     * Build the snapshot a standby loads before applying commands
+     * @return the current replication snapshot
+     */
+    public ReplicationSnapshot snapshot() {
+        return draftService.replicationSnapshot(captainService::getAllCaptains);
+    }
+
+    /**
+     * Get the replication status of this node
+     * @return the role, whether a standby is synced, and the last applied sequence
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("role", isPrimary() ? "primary" : isStandby() ? "standby" : "none");
+        status.put("promoted", promoted);
+        status.put("synced", synced);
+        status.put("appliedSequence", appliedSequence);
+        StompSession session = primarySession;
+        status.put("connectedToPrimary", session != null && session.isConnected());
+        return status;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isStandby()) {
+            return;
+        }
+
+        heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setThreadNamePrefix("replication-");
+        heartbeatScheduler.initialize();
+
+        MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter();
+        jsonConverter.setObjectMapper(objectMapper);
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(jsonConverter);
+        stompClient.setTaskScheduler(heartbeatScheduler);
+        stompClient.setDefaultHeartbeat(new long[] {1000, 1000});
+        connect();
+    }
+
+    /**
+     * Scheduled task that publishes a heartbeat on the primary, and on a standby
+     * reconnects to the primary or takes over once it has gone quiet
+     * Runs every second
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        metrics.scheduledTaskStarted("replication", 1000, false);
+        try {
+            heartbeatOrFailover();
+        } finally {
+            metrics.scheduledTaskFinished("replication");
+        }
+    }
+
+    private void heartbeatOrFailover() {
+        if (isPrimary()) {
+            replicationLog.heartbeat();
+            return;
+        }
+        if (!isStandby() || stompClient == null) {
+            return;
+        }
+
+        boolean silent;
+        synchronized (this) {
+            // Never take over before a snapshot has loaded; there'd be nothing to run
+            silent = snapshotLoaded && System.currentTimeMillis() - lastFrameMillis > failoverTimeoutMillis;
+        }
+        if (silent) {
+            promote();
+            return;
+        }
+
+        StompSession session = primarySession;
+        if (!connecting && (session == null || !session.isConnected())) {
+            connect();
+        }
+    }
+
+    private void connect() {
+        connecting = true;
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.set(TOKEN_HEADER, token);
+
+        stompClient.connectAsync(primaryUrl, new WebSocketHttpHeaders(), connectHeaders, new StandbySessionHandler())
+                .whenComplete((session, ex) -> {
+                    connecting = false;
+                    if (ex != null) {
+                        logger.warn("Failed to connect to replication primary at {}: {}", primaryUrl, ex.getMessage());
+                    }
+                });
+    }
+
+    private void promote() {
+        synchronized (this) {
+            if (promoted) {
+                return;
+            }
+            promoted = true;
+        }
+        logger.warn("No frames from the primary for {} ms, taking over the draft at sequence {}",
+                failoverTimeoutMillis, appliedSequence);
+
+        StompSession session = primarySession;
+        primarySession = null;
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+        stompClient.stop();
+        heartbeatScheduler.shutdown();
+
+        draftService.takeOver(Duration.ofMillis(takeoverGraceMillis));
+        replicationLog.setPublishing(true);
+    }
+
+    private synchronized void handleCommand(DraftCommand command) {
+        lastFrameMillis = System.currentTimeMillis();
+        if (!synced) {
+            // Commands racing the snapshot are kept and replayed on top of it
+            pendingCommands.add(command);
+            return;
+        }
+        apply(command);
+    }
+
+    private synchronized void handleSnapshot(ReplicationSnapshot snapshot) {
+        lastFrameMillis = System.currentTimeMillis();
+        draftService.restoreSnapshot(snapshot);
+        captainService.restoreCaptains(snapshot.captains());
+        appliedSequence = snapshot.sequence();
+        synced = true;
+        snapshotLoaded = true;
+        logger.info("Loaded replication snapshot at sequence {}", appliedSequence);
+
+        List<DraftCommand> pending = new ArrayList<>(pendingCommands);
+        pendingCommands.clear();
+        for (DraftCommand command : pending) {
+            if (!synced) {
+                break;
+            }
+            apply(command);
+        }
+    }
+
+    /**
+     * Apply one command in order, requesting a fresh snapshot on a gap or failure.
+     * Callers must hold the service lock.
+     */
+    private void apply(DraftCommand command) {
+        if (command.type() == DraftCommand.Type.HEARTBEAT) {
+            if (command.sequence() > appliedSequence) {
+                // A command was lost between us and the primary
+                resync("heartbeat at " + command.sequence() + " is ahead of " + appliedSequence);
+            }
+            return;
+        }
+        if (command.sequence() <= appliedSequence) {
+            return;
+        }
+        if (command.sequence() != appliedSequence + 1) {
+            resync("expected sequence " + (appliedSequence + 1) + " but got " + command.sequence());
+            return;
+        }
+
+        boolean applied = command.type() == DraftCommand.Type.CAPTAIN_REGISTERED
+                ? applyCaptain(command)
+                : draftService.applyReplicated(command);
+        if (!applied) {
+            resync("command " + command.sequence() + " could not be applied");
+            return;
+        }
+        appliedSequence = command.sequence();
+    }
+
+    private boolean applyCaptain(DraftCommand command) {
+        command.captains().forEach(captainService::applyReplicatedCaptain);
+        replicationLog.advanceTo(command.sequence());
+        return true;
+    }
+
+    private void resync(String reason) {
+        logger.warn("Standby out of step with the primary ({}), requesting a new snapshot", reason);
+        synced = false;
+        StompSession session = primarySession;
+        if (session != null && session.isConnected()) {
+            session.subscribe(SNAPSHOT_DESTINATION, frameHandler(ReplicationSnapshot.class,
+                    payload -> handleSnapshot((ReplicationSnapshot) payload)));
+        }
+    }
+
+    private class StandbySessionHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            synchronized (ReplicationService.this) {
+                if (promoted) {
+                    session.disconnect();
+                    return;
+                }
+                primarySession = session;
+                synced = false;
+                pendingCommands.clear();
+            }
+            // Subscribe to the stream first so no command falls between the snapshot and the stream
+            session.subscribe(ReplicationLog.REPLICATION_TOPIC, frameHandler(DraftCommand.class,
+                    payload -> handleCommand((DraftCommand) payload)));
+            session.subscribe(SNAPSHOT_DESTINATION, frameHandler(ReplicationSnapshot.class,
+                    payload -> handleSnapshot((ReplicationSnapshot) payload)));
+            logger.info("Connected to replication primary at {}", primaryUrl);
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            logger.error("Error handling replication frame from {}: {}", headers.getDestination(), exception.getMessage());
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            logger.warn("Lost connection to replication primary: {}", exception.getMessage());
+        }
+    }
+
+    private static StompFrameHandler frameHandler(Class<?> payloadType, Consumer<Object> handler) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return payloadType;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.accept(payload);
+            }
+        };
+    }
+}
@@ -0,0 +1,665 @@
+package com.watermeloncup.draftengine.service;
+
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.Schedule;
+import com.watermeloncup.draftengine.model.ScheduleRequest;
+import com.watermeloncup.draftengine.model.ScheduledMatch;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates a league schedule for the drafted teams, replacing the hand-written match list
+ * in the seeding notebook. Every round has one match slot per open field, and a team plays
+ * at most once per round. Within that, schedules are scored on soft constraints:
+ * <ul>
+ *   <li>pairings: every pair of teams meets as evenly often as the slots allow</li>
+ *   <li>games: every team plays as evenly often as the slots allow</li>
+ *   <li>rest: a team sits out at least minRestRounds rounds between matches</li>
+ *   <li>rematches: a pair doesn't meet twice in one week or in back-to-back rounds</li>
+ *   <li>homeAway: each team's home and away counts differ by at most one</li>
+ *   <li>fields: each team plays on every field about as often</li>
+ * </ul>
+ *
+ * The search forks one task per pool thread. Each builds a greedy random schedule and
+ * improves it by simulated annealing (flip home and away, swap fields, swap a team between
+ * two matches of a round, or bring in a team sitting the round out), restarting from a new
+ * schedule now and then, until the time budget runs out or some task finds a perfect one.
+ * The joins keep the best. With a fixed seed each task's moves are repeatable, but how far
+ * it gets depends on the time budget and machine.
+ */
+@Service
+public class ScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleService.class);
+
+    static final String PAIRINGS = "pairings";
+    static final String GAMES = "games";
+    static final String REST = "rest";
+    static final String REMATCHES = "rematches";
+    static final String HOME_AWAY = "homeAway";
+    static final String FIELDS = "fields";
+
+    private static final String[] PENALTIES = {PAIRINGS, GAMES, REST, REMATCHES, HOME_AWAY, FIELDS};
+    private static final int[] WEIGHTS = {100, 100, 50, 20, 10, 2};
+
+    // Annealing steps from one starting schedule before restarting from a new one
+    private static final int RESTART_STEPS = 200_000;
+    private static final double START_TEMPERATURE = 40;
+    private static final double END_TEMPERATURE = 0.5;
+    private static final double COOLING = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / RESTART_STEPS);
+
+    private final DraftService draftService;
+
+    @Value("${draft.schedule.fields:Wakeman 1,Wakeman 2,Grass}")
+    private List<String> defaultFields;
+
+    @Value("${draft.schedule.weeks:4}")
+    private int defaultWeeks;
+
+    @Value("${draft.schedule.rounds-per-week:2}")
+    private int defaultRoundsPerWeek;
+
+    @Value("${draft.schedule.min-rest-rounds:0}")
+    private int defaultMinRestRounds;
+
+    @Value("${draft.schedule.time-budget-ms:3000}")
+    private long defaultTimeBudgetMillis;
+
+    // Upper bound on a requested budget, so one request can't hold the pool for long
+    @Value("${draft.schedule.max-time-budget-ms:30000}")
+    private long maxTimeBudgetMillis;
+
+    // Search threads; 0 = one per CPU
+    @Value("${draft.schedule.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    public ScheduleService(DraftService draftService) {
+        this.draftService = draftService;
+    }
+
+    @PostConstruct
+    void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Search for the best schedule within the time budget
+     * @param request the teams, slots and constraints; missing values use the defaults
+     * @return the best schedule found, with its score
+     * @throws IllegalArgumentException if the request can't be scheduled
+     */
+    public Schedule generate(ScheduleRequest request) {
+        DraftState state = draftService.currentState();
+        List<String> teamIds = request.teamIds() != null ? List.copyOf(request.teamIds()) : draftTeams(state);
+        int weeks = request.weeks() != null ? request.weeks() : defaultWeeks;
+        int roundsPerWeek = request.roundsPerWeek() != null ? request.roundsPerWeek() : defaultRoundsPerWeek;
+        List<String> fields = request.fields() != null ? List.copyOf(request.fields()) : defaultFields;
+        int minRest = request.minRestRounds() != null ? request.minRestRounds() : defaultMinRestRounds;
+        long budget = Math.min(request.timeBudgetMs() != null ? request.timeBudgetMs() : defaultTimeBudgetMillis,
+                maxTimeBudgetMillis);
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+
+        if (teamIds.size() < 2 || new HashSet<>(teamIds).size() != teamIds.size()) {
+            throw new IllegalArgumentException("A schedule needs at least two distinct teams");
+        }
+        if (weeks < 1 || roundsPerWeek < 1 || fields.isEmpty() || minRest < 0 || budget < 1) {
+            throw new IllegalArgumentException("Weeks, rounds per week, fields and time budget must be positive");
+        }
+        boolean[][] open = new boolean[weeks * roundsPerWeek][fields.size()];
+        for (boolean[] round : open) {
+            Arrays.fill(round, true);
+        }
+        for (ScheduleRequest.Slot slot : request.unavailable()) {
+            int field = fields.indexOf(slot.fieldLocation());
+            if (field < 0 || slot.week() < 1 || slot.week() > weeks
+                    || slot.round() < 1 || slot.round() > roundsPerWeek) {
+                throw new IllegalArgumentException("Unknown slot: week " + slot.week() + ", round " + slot.round()
+                        + ", " + slot.fieldLocation());
+            }
+            open[(slot.week() - 1) * roundsPerWeek + slot.round() - 1][field] = false;
+        }
+
+        Problem problem = new Problem(teamIds.size(), roundsPerWeek, open, minRest);
+        if (Arrays.stream(problem.capacity()).sum() == 0) {
+            throw new IllegalArgumentException("Every slot is unavailable");
+        }
+        long started = System.nanoTime();
+        Search search = new Search(problem, started + budget * 1_000_000);
+        Candidate best = pool.invoke(new SearchTask(search, seed, 0, pool.getParallelism()));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        int[] penalties = new int[PENALTIES.length];
+        int score = new Evaluator(problem).evaluate(best, penalties);
+        Map<String, Integer> breakdown = new LinkedHashMap<>();
+        for (int i = 0; i < PENALTIES.length; i++) {
+            breakdown.put(PENALTIES[i], penalties[i]);
+        }
+        List<ScheduledMatch> matches = new ArrayList<>();
+        for (int round = 0; round < problem.rounds(); round++) {
+            for (int field = 0; field < problem.fields(); field++) {
+                int slot = problem.slot(round, field);
+                if (best.home[slot] >= 0) {
+                    matches.add(new ScheduledMatch(teamIds.get(best.home[slot]), teamIds.get(best.away[slot]),
+                            fields.get(field), round / roundsPerWeek + 1, round % roundsPerWeek + 1));
+                }
+            }
+        }
+        logger.info("Generated a schedule of {} matches for {} teams: score {} {} after {} candidates in {} ms",
+                matches.size(), teamIds.size(), score, breakdown, search.candidates.sum(), elapsedMillis);
+        return new Schedule(matches, teamNames(teamIds, state), score, breakdown, search.candidates.sum(),
+                elapsedMillis, seed);
+    }
+
+    private static List<String> draftTeams(DraftState state) {
+        if (state.teams() == null || state.teams().isEmpty()) {
+            throw new IllegalArgumentException("The draft has no teams yet");
+        }
+        if (state.draftOrder() != null && new HashSet<>(state.draftOrder()).equals(state.teams().keySet())) {
+            return List.copyOf(state.draftOrder());
+        }
+        return state.teams().keySet().stream().sorted().toList();
+    }
+
+    private static Map<String, String> teamNames(List<String> teamIds, DraftState state) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String teamId : teamIds) {
+            names.put(teamId, teamId);
+        }
+        if (state.captains() != null) {
+            for (Captain captain : state.captains()) {
+                if (names.containsKey(captain.getUserId()) && captain.getTeamName() != null) {
+                    names.put(captain.getUserId(), captain.getTeamName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * The slots and constraints, with teams as indexes 0..teams-1 and rounds numbered
+     * across weeks
+     * @param capacity matches per round: its open fields, or fewer if there aren't enough teams
+     */
+    private record Problem(int teams, int roundsPerWeek, boolean[][] open, int minRest, int[] capacity) {
+
+        Problem(int teams, int roundsPerWeek, boolean[][] open, int minRest) {
+            this(teams, roundsPerWeek, open, minRest, capacities(teams, open));
+        }
+
+        int rounds() {
+            return open.length;
+        }
+
+        int fields() {
+            return open[0].length;
+        }
+
+        int slot(int round, int field) {
+            return round * fields() + field;
+        }
+
+        private static int[] capacities(int teams, boolean[][] open) {
+            int[] capacity = new int[open.length];
+            for (int round = 0; round < open.length; round++) {
+                int fields = 0;
+                for (boolean available : open[round]) {
+                    fields += available ? 1 : 0;
+                }
+                capacity[round] = Math.min(fields, teams / 2);
+            }
+            return capacity;
+        }
+    }
+
+    /**
+     * Home and away team per slot, -1 where no match is played
+     */
+    private static final class Candidate {
+        final int[] home;
+        final int[] away;
+
+        Candidate(int slots) {
+            home = new int[slots];
+            away = new int[slots];
+            Arrays.fill(home, -1);
+            Arrays.fill(away, -1);
+        }
+
+        Candidate(Candidate other) {
+            home = other.home.clone();
+            away = other.away.clone();
+        }
+    }
+
+    /**
+     * Scores candidates against the soft constraints, reusing its counters between calls.
+     * Not thread-safe; each search task has its own.
+     */
+    private static final class Evaluator {
+        private final Problem problem;
+        private final int[] games;
+        private final int[] homes;
+        private final int[] lastPlayed;
+        private final int[][] meetings;
+        private final int[][] lastMet;
+        private final int[][] fieldGames;
+
+        Evaluator(Problem problem) {
+            this.problem = problem;
+            int teams = problem.teams();
+            games = new int[teams];
+            homes = new int[teams];
+            lastPlayed = new int[teams];
+            meetings = new int[teams][teams];
+            lastMet = new int[teams][teams];
+            fieldGames = new int[teams][problem.fields()];
+        }
+
+        /**
+         * @param penalties filled with the unweighted violations per constraint, or null
+         * @return the weighted total, lower is better
+         */
+        int evaluate(Candidate candidate, int[] penalties) {
+            int teams = problem.teams();
+            int rest = 0;
+            int rematches = 0;
+            int matches = 0;
+            Arrays.fill(games, 0);
+            Arrays.fill(homes, 0);
+            Arrays.fill(lastPlayed, Integer.MIN_VALUE / 2);
+            for (int t = 0; t < teams; t++) {
+                Arrays.fill(meetings[t], 0);
+                Arrays.fill(lastMet[t], Integer.MIN_VALUE / 2);
+                Arrays.fill(fieldGames[t], 0);
+            }
+
+            for (int round = 0; round < problem.rounds(); round++) {
+                for (int field = 0; field < problem.fields(); field++) {
+                    int slot = problem.slot(round, field);
+                    int home = candidate.home[slot];
+                    int away = candidate.away[slot];
+                    if (home < 0) {
+                        continue;
+                    }
+                    matches++;
+                    homes[home]++;
+                    for (int team : new int[] {home, away}) {
+                        games[team]++;
+                        fieldGames[team][field]++;
+                        if (round - lastPlayed[team] - 1 < problem.minRest()) {
+                            rest++;
+                        }
+                        lastPlayed[team] = round;
+                    }
+                    int low = Math.min(home, away);
+                    int high = Math.max(home, away);
+                    int previous = lastMet[low][high];
+                    if (round - previous <= 1
+                            || round / problem.roundsPerWeek() == previous / problem.roundsPerWeek()) {
+                        rematches++;
+                    }
+                    lastMet[low][high] = round;
+                    meetings[low][high]++;
+                }
+            }
+
+            int pairs = teams * (teams - 1) / 2;
+            int pairings = 0;
+            for (int t = 0; t < teams; t++) {
+                for (int u = t + 1; u < teams; u++) {
+                    pairings += outside(meetings[t][u], matches, pairs);
+                }
+            }
+            int gameImbalance = 0;
+            int homeAway = 0;
+            int fieldImbalance = 0;
+            for (int t = 0; t < teams; t++) {
+                gameImbalance += outside(games[t], 2 * matches, teams);
+                homeAway += Math.max(0, Math.abs(2 * homes[t] - games[t]) - 1);
+                int most = 0;
+                int least = Integer.MAX_VALUE;
+                for (int count : fieldGames[t]) {
+                    most = Math.max(most, count);
+                    least = Math.min(least, count);
+                }
+                fieldImbalance += Math.max(0, most - least - 1);
+            }
+
+            int[] counts = {pairings, gameImbalance, rest, rematches, homeAway, fieldImbalance};
+            int score = 0;
+            for (int i = 0; i < counts.length; i++) {
+                score += WEIGHTS[i] * counts[i];
+            }
+            if (penalties != null) {
+                System.arraycopy(counts, 0, penalties, 0, counts.length);
+            }
+            return score;
+        }
+
+        /**
+         * How far a count is from an even share of total over n, rounded either way
+         */
+        private static int outside(int count, int total, int n) {
+            int floor = total / n;
+            int ceil = (total + n - 1) / n;
+            return count < floor ? floor - count : Math.max(0, count - ceil);
+        }
+    }
+
+    /**
+     * State shared by the search tasks of one request
+     */
+    private static final class Search {
+        final Problem problem;
+        final long deadline;
+        final AtomicInteger bestScore = new AtomicInteger(Integer.MAX_VALUE);
+        final LongAdder candidates = new LongAdder();
+
+        Search(Problem problem, long deadline) {
+            this.problem = problem;
+            this.deadline = deadline;
+        }
+
+        boolean finished() {
+            return bestScore.get() == 0 || System.nanoTime() >= deadline;
+        }
+
+        /**
+         * Anneal from fresh starting schedules until the search is finished
+         */
+        Candidate run(long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            Evaluator evaluator = new Evaluator(problem);
+            Candidate best = null;
+            int bestLocal = Integer.MAX_VALUE;
+            do {
+                Candidate current = construct(random);
+                int score = evaluator.evaluate(current, null);
+                candidates.increment();
+                if (score < bestLocal) {
+                    bestLocal = score;
+                    best = new Candidate(current);
+                    bestScore.accumulateAndGet(score, Math::min);
+                }
+                double temperature = START_TEMPERATURE;
+                int[] undo = new int[4];
+                for (int step = 0; step < RESTART_STEPS && score > 0; step++) {
+                    if (step % 1024 == 0 && finished()) {
+                        break;
+                    }
+                    int[] slots = move(current, random, undo);
+                    int next = evaluator.evaluate(current, null);
+                    candidates.increment();
+                    int delta = next - score;
+                    if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                        score = next;
+                        if (score < bestLocal) {
+                            bestLocal = score;
+                            best = new Candidate(current);
+                            bestScore.accumulateAndGet(score, Math::min);
+                        }
+                    } else {
+                        restore(current, slots, undo);
+                    }
+                    temperature *= COOLING;
+                }
+            } while (!finished());
+            return best;
+        }
+
+        /**
+         * Fill each round greedily: teams with fewer games go first, each paired with the
+         * free team it has met least, preferring teams that have rested enough
+         */
+        private Candidate construct(SplittableRandom random) {
+            int teams = problem.teams();
+            Candidate candidate = new Candidate(problem.rounds() * problem.fields());
+            int[] games = new int[teams];
+            int[] homeMinusAway = new int[teams];
+            int[] lastPlayed = new int[teams];
+            Arrays.fill(lastPlayed, Integer.MIN_VALUE / 2);
+            int[][] meetings = new int[teams][teams];
+
+            for (int round = 0; round < problem.rounds(); round++) {
+                int[] fields = shuffledOpenFields(round, random);
+                int[] order = shuffledTeams(random);
+                boolean[] used = new boolean[teams];
+                for (int m = 0; m < problem.capacity()[round]; m++) {
+                    int first = -1;
+                    for (int team : order) {
+                        if (!used[team] && (first < 0 || cost(games, lastPlayed, round, team)
+                                < cost(games, lastPlayed, round, first))) {
+                            first = team;
+                        }
+                    }
+                    used[first] = true;
+                    int second = -1;
+                    for (int team : order) {
+                        if (!used[team] && (second < 0
+                                || 4 * meetings[first][team] + cost(games, lastPlayed, round, team)
+                                < 4 * meetings[first][second] + cost(games, lastPlayed, round, second))) {
+                            second = team;
+                        }
+                    }
+                    used[second] = true;
+
+                    int home = homeMinusAway[first] <= homeMinusAway[second] ? first : second;
+                    int away = home == first ? second : first;
+                    int slot = problem.slot(round, fields[m]);
+                    candidate.home[slot] = home;
+                    candidate.away[slot] = away;
+                    homeMinusAway[home]++;
+                    homeMinusAway[away]--;
+                    for (int team : new int[] {home, away}) {
+                        games[team]++;
+                        lastPlayed[team] = round;
+                    }
+                    meetings[home][away]++;
+                    meetings[away][home]++;
+                }
+            }
+            return candidate;
+        }
+
+        private int cost(int[] games, int[] lastPlayed, int round, int team) {
+            int rested = round - lastPlayed[team] - 1 >= problem.minRest() ? 0 : 1;
+            return 8 * rested + games[team];
+        }
+
+        /**
+         * Apply a random move within one round, saving the changed slots' teams in undo
+         * @return the two changed slots (the same slot twice when only one changed)
+         */
+        private int[] move(Candidate candidate, SplittableRandom random, int[] undo) {
+            int round;
+            do {
+                round = random.nextInt(problem.rounds());
+            } while (problem.capacity()[round] == 0);
+            int first = randomSlot(candidate, round, true, -1, random);
+            int kind = random.nextInt(4);
+            int second = first;
+            if (kind == 1) {
+                second = randomSlot(candidate, round, false, first, random);
+            } else if (kind == 2) {
+                second = randomSlot(candidate, round, true, first, random);
+            }
+            save(candidate, first, second, undo);
+            int idle = kind == 3 ? idleTeam(candidate, round, random) : -1;
+
+            if (kind == 1 && second >= 0) {
+                // Move the match to another field, swapping with whatever is there
+                candidate.home[first] = undo[2];
+                candidate.away[first] = undo[3];
+                candidate.home[second] = undo[0];
+                candidate.away[second] = undo[1];
+            } else if (kind == 2 && second >= 0) {
+                // Swap one team of each match
+                if (random.nextBoolean()) {
+                    candidate.away[first] = undo[2];
+                    candidate.home[second] = undo[1];
+                } else {
+                    candidate.away[first] = undo[3];
+                    candidate.away[second] = undo[1];
+                }
+            } else if (kind == 3 && idle >= 0) {
+                // Bring in a team sitting this round out
+                if (random.nextBoolean()) {
+                    candidate.home[first] = idle;
+                } else {
+                    candidate.away[first] = idle;
+                }
+            } else {
+                candidate.home[first] = undo[1];
+                candidate.away[first] = undo[0];
+                second = first;
+            }
+            return new int[] {first, second < 0 ? first : second};
+        }
+
+        private static void save(Candidate candidate, int first, int second, int[] undo) {
+            undo[0] = candidate.home[first];
+            undo[1] = candidate.away[first];
+            undo[2] = second >= 0 ? candidate.home[second] : -1;
+            undo[3] = second >= 0 ? candidate.away[second] : -1;
+        }
+
+        private static void restore(Candidate candidate, int[] slots, int[] undo) {
+            candidate.home[slots[1]] = undo[2];
+            candidate.away[slots[1]] = undo[3];
+            candidate.home[slots[0]] = undo[0];
+            candidate.away[slots[0]] = undo[1];
+        }
+
+        /**
+         * Pick a random open slot of the round other than except, by reservoir sampling
+         * @param filled true for slots with a match, false for any open slot
+         * @return the slot, or -1 if there is none
+         */
+        private int randomSlot(Candidate candidate, int round, boolean filled, int except, SplittableRandom random) {
+            int chosen = -1;
+            int seen = 0;
+            for (int field = 0; field < problem.fields(); field++) {
+                int slot = problem.slot(round, field);
+                if (slot != except && problem.open()[round][field] && (!filled || candidate.home[slot] >= 0)
+                        && random.nextInt(++seen) == 0) {
+                    chosen = slot;
+                }
+            }
+            return chosen;
+        }
+
+        private int idleTeam(Candidate candidate, int round, SplittableRandom random) {
+            boolean[] playing = new boolean[problem.teams()];
+            for (int field = 0; field < problem.fields(); field++) {
+                int slot = problem.slot(round, field);
+                if (candidate.home[slot] >= 0) {
+                    playing[candidate.home[slot]] = true;
+                    playing[candidate.away[slot]] = true;
+                }
+            }
+            int chosen = -1;
+            int seen = 0;
+            for (int team = 0; team < playing.length; team++) {
+                if (!playing[team] && random.nextInt(++seen) == 0) {
+                    chosen = team;
+                }
+            }
+            return chosen;
+        }
+
+        private int[] shuffledOpenFields(int round, SplittableRandom random) {
+            int[] fields = new int[problem.fields()];
+            int count = 0;
+            for (int field = 0; field < problem.fields(); field++) {
+                if (problem.open()[round][field]) {
+                    fields[count++] = field;
+                }
+            }
+            int[] open = Arrays.copyOf(fields, count);
+            shuffle(open, random);
+            return open;
+        }
+
+        private int[] shuffledTeams(SplittableRandom random) {
+            int[] teams = new int[problem.teams()];
+            for (int team = 0; team < teams.length; team++) {
+                teams[team] = team;
+            }
+            shuffle(teams, random);
+            return teams;
+        }
+
+        private static void shuffle(int[] values, SplittableRandom random) {
+            for (int i = values.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = values[i];
+                values[i] = values[j];
+                values[j] = swap;
+            }
+        }
+    }
+
+    /**
+     * Runs searches with seeds seed+from .. seed+to-1, splitting the range in half until
+     * each task has one, and keeps the best result. Ties go to the lower seed.
+     */
+    private static final class SearchTask extends RecursiveTask<Candidate> {
+        private final Search search;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private int score;
+
+        SearchTask(Search search, long seed, int from, int to) {
+            this.search = search;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (to - from == 1) {
+                Candidate result = search.run(seed + from);
+                score = new Evaluator(search.problem).evaluate(result, null);
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            SearchTask lower = new SearchTask(search, seed, from, middle);
+            SearchTask upper = new SearchTask(search, seed, middle, to);
+            lower.fork();
+            Candidate upperResult = upper.compute();
+            Candidate lowerResult = lower.join();
+            if (upper.score < lower.score) {
+                score = upper.score;
+                return upperResult;
+            }
+            score = lower.score;
+            return lowerResult;
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.cloud.FirestoreClient;
+import com.watermeloncup.draftengine.model.MatchResult;
+import com.watermeloncup.draftengine.model.ScoreUploadResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Applies a whole matchday of scores from one CSV or JSON upload, in place of entering
+ * them match by match on the upload page.
+ *
+ * The league's teams and matches are read once (only the fields needed). The upload
+ * is then read row by row and each row is checked as it arrives, so only the accepted
+ * results are held in memory. A row is rejected if its match or teams aren't in the
+ * schedule, its scores aren't whole numbers from 0 to 99, another row gives the same
+ * match different scores (both are rejected), or the match already has different scores
+ * and overwrite wasn't asked for. Accepted results are written in one Firestore batch,
+ * applied atomically, so a matchday lands all at once. An upload with more accepted
+ * results than fit in one batch (500) is refused rather than written in parts.
+ */
+@Service
+public class ScoreIngestionService {
+    private static final Logger logger = LoggerFactory.getLogger(ScoreIngestionService.class);
+
+    static final int MAX_SCORE = 99;
+
+    static final String MATCH_ID = "matchid";
+    static final String WEEK = "week";
+    static final String ROUND = "round";
+    static final String HOME = "home";
+    static final String AWAY = "away";
+    static final String HOME_SCORE = "homescore";
+    static final String AWAY_SCORE = "awayscore";
+
+    // Column and key names as normalized by column(), and the field each one means
+    private static final Map<String, String> COLUMNS = Map.of(
+            "matchid", MATCH_ID, "id", MATCH_ID, "week", WEEK, "round", ROUND,
+            "home", HOME, "hometeam", HOME, "hometeamid", HOME,
+            "away", AWAY, "awayteam", AWAY, "awayteamid", AWAY);
+
+    private final FirebaseApp firebaseApp;
+    private final StandingsService standingsService;
+    private final DraftMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    // Most results written by one upload, all in one batch; Firestore allows at most 500
+    @Value("${draft.scores.batch-size:500}")
+    private int batchSize;
+
+    public ScoreIngestionService(@Autowired(required = false) FirebaseApp firebaseApp,
+                                 StandingsService standingsService, DraftMetrics metrics, ObjectMapper objectMapper) {
+        this.firebaseApp = firebaseApp;
+        this.standingsService = standingsService;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Validate an upload against a league's schedule and write the accepted scores
+     * @param leagueId the league document ID
+     * @param body the CSV (with a header row) or JSON array of results
+     * @param json true for JSON, false for CSV
+     * @param dryRun true to only validate
+     * @param overwrite true to replace scores that were already recorded
+     * @return counts of accepted, unchanged and rejected rows, with the reasons
+     * @throws IllegalArgumentException if the upload can't be read or has more results than one batch holds
+     * @throws IllegalStateException if Firestore is unavailable or a write fails
+     */
+    public ScoreUploadResult ingest(String leagueId, InputStream body, boolean json, boolean dryRun,
+                                    boolean overwrite) {
+        if (firebaseApp == null) {
+            throw new IllegalStateException("Firestore is not configured");
+        }
+        Firestore firestore = FirestoreClient.getFirestore(firebaseApp);
+        DocumentReference league = firestore.collection("leagues").document(leagueId);
+        Validation validation = new Validation(loadSchedule(league), overwrite);
+        try {
+            Iterator<Map<String, String>> rows = json ? jsonRows(body) : csvRows(body);
+            while (rows.hasNext()) {
+                validation.check(rows.next());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalArgumentException("Could not read the upload after row " + validation.received
+                    + ": " + e.getMessage(), e);
+        }
+
+        List<Accepted> accepted = validation.accepted();
+        if (accepted.size() > batchSize) {
+            // Checked on dry runs too, so the split is found before anything is written
+            throw new IllegalArgumentException("Upload has " + accepted.size() + " results to write, but at most "
+                    + batchSize + " can be written at once; split it into smaller uploads");
+        }
+        boolean applied = !dryRun && !accepted.isEmpty();
+        if (applied) {
+            apply(firestore, league.collection("matches"), leagueId, accepted);
+        }
+        ScoreUploadResult result = validation.result(applied);
+        logger.info("Score upload for league {}{}: {} rows, {} accepted, {} unchanged, {} rejected",
+                leagueId, dryRun ? " (dry run)" : "", result.received(), result.accepted(), result.unchanged(),
+                result.rejected());
+        return result;
+    }
+
+    private LeagueSchedule loadSchedule(DocumentReference league) {
+        long started = System.nanoTime();
+        String outcome = DraftMetrics.ERROR;
+        try {
+            var teams = league.collection("teams").select("name").get();
+            var matches = league.collection("matches")
+                    .select("homeTeamId", "awayTeamId", "week", "round", "homeScore", "awayScore").get();
+            LeagueSchedule schedule = LeagueSchedule.of(teams.get(), matches.get());
+            outcome = DraftMetrics.SUCCESS;
+            return schedule;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading league " + league.getId(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load league " + league.getId() + ": " + e.getMessage(), e);
+        } finally {
+            metrics.firestoreCall("load-league", outcome, System.nanoTime() - started);
+        }
+    }
+
+    private void apply(Firestore firestore, CollectionReference matches, String leagueId, List<Accepted> accepted) {
+        WriteBatch batch = firestore.batch();
+        for (Accepted result : accepted) {
+            batch.update(matches.document(result.matchId()), Map.of(
+                    "homeScore", result.homeScore(),
+                    "awayScore", result.awayScore(),
+                    "status", "completed"));
+        }
+        long started = System.nanoTime();
+        String outcome = DraftMetrics.ERROR;
+        try {
+            batch.commit().get();
+            outcome = DraftMetrics.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing " + accepted.size() + " results", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not write " + accepted.size() + " results, none were saved: "
+                    + e.getMessage(), e);
+        } finally {
+            metrics.firestoreCall("apply-scores", outcome, System.nanoTime() - started);
+        }
+        for (Accepted result : accepted) {
+            standingsService.recordResult(leagueId, result.matchId(), new MatchResult(result.homeTeamId(),
+                    result.awayTeamId(), result.homeScore(), result.awayScore()));
+        }
+    }
+
+    /**
+     * Read CSV rows by their header's column names
+     */
+    private static Iterator<Map<String, String>> csvRows(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.<Map<String, String>>of().iterator();
+        }
+        List<String> columns = Csv.parseLine(header.replace("\uFEFF", "")).stream()
+                .map(ScoreIngestionService::column)
+                .toList();
+        return new Iterator<>() {
+            private String line = nextLine();
+
+            private String nextLine() {
+                try {
+                    String next;
+                    do {
+                        next = reader.readLine();
+                    } while (next != null && next.isBlank());
+                    return next;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (line == null) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> row = new HashMap<>();
+                try {
+                    List<String> fields = Csv.parseLine(line);
+                    for (int i = 0; i < Math.min(fields.size(), columns.size()); i++) {
+                        row.put(columns.get(i), fields.get(i).trim());
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Left empty, so the row is rejected for missing scores
+                }
+                line = nextLine();
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Read the objects of a JSON array one at a time
+     */
+    private Iterator<Map<String, String>> jsonRows(InputStream body) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of results");
+        }
+        return new Iterator<>() {
+            private JsonToken token = advance();
+
+            private JsonToken advance() {
+                try {
+                    return parser.nextToken();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return token != null && token != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> row = new HashMap<>();
+                try {
+                    JsonNode node = parser.readValueAsTree();
+                    node.fields().forEachRemaining(field -> {
+                        if (!field.getValue().isNull() && field.getValue().isValueNode()) {
+                            row.put(column(field.getKey()), field.getValue().asText().trim());
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                token = advance();
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Normalize a column name, e.g. "Home Team" -> home, "homeScore" -> homescore
+     */
+    static String column(String name) {
+        String key = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        return COLUMNS.getOrDefault(key, key);
+    }
+
+    /**
+     * A result that passed validation and will be written
+     */
+    record Accepted(int row, String matchId, String homeTeamId, String awayTeamId, int homeScore, int awayScore) {}
+
+    /**
+     * A scheduled match and the scores already recorded for it, if any
+     */
+    record LeagueMatch(String homeTeamId, String awayTeamId, Integer week, Integer round, Integer homeScore,
+                          Integer awayScore) {}
+
+    /**
+     * A league's matches by document ID, and its team IDs by ID or lowercase name
+     */
+    record LeagueSchedule(Map<String, LeagueMatch> matches, Map<String, String> teamIds,
+                          Map<String, String> matchIdsBySlot) {
+
+        LeagueSchedule(Map<String, LeagueMatch> matches, Map<String, String> teamIds) {
+            this(matches, teamIds, bySlot(matches));
+        }
+
+        static LeagueSchedule of(QuerySnapshot teams, QuerySnapshot matches) {
+            Map<String, String> teamIds = new HashMap<>();
+            for (DocumentSnapshot team : teams.getDocuments()) {
+                String name = team.getString("name");
+                if (name != null) {
+                    teamIds.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), team.getId());
+                }
+            }
+            // IDs win over a team that happens to be named like another team's ID
+            teams.getDocuments().forEach(team -> teamIds.put(team.getId().toLowerCase(Locale.ROOT), team.getId()));
+
+            Map<String, LeagueMatch> byId = new HashMap<>();
+            for (DocumentSnapshot match : matches.getDocuments()) {
+                byId.put(match.getId(), new LeagueMatch(match.getString("homeTeamId"),
+                        match.getString("awayTeamId"), StandingsService.score(match.get("week")),
+                        StandingsService.score(match.get("round")), StandingsService.score(match.get("homeScore")),
+                        StandingsService.score(match.get("awayScore"))));
+            }
+            return new LeagueSchedule(byId, teamIds);
+        }
+
+        String teamId(String idOrName) {
+            return idOrName == null ? null : teamIds.get(idOrName.trim().toLowerCase(Locale.ROOT));
+        }
+
+        String matchId(int week, int round, String homeTeamId, String awayTeamId) {
+            return matchIdsBySlot.get(slot(week, round, homeTeamId, awayTeamId));
+        }
+
+        private static Map<String, String> bySlot(Map<String, LeagueMatch> matches) {
+            Map<String, String> bySlot = new HashMap<>();
+            matches.forEach((id, match) -> {
+                if (match.week() != null && match.round() != null) {
+                    bySlot.put(slot(match.week(), match.round(), match.homeTeamId(), match.awayTeamId()), id);
+                }
+            });
+            return bySlot;
+        }
+
+        private static String slot(int week, int round, String homeTeamId, String awayTeamId) {
+            return week + "/" + round + "/" + homeTeamId + "/" + awayTeamId;
+        }
+    }
+
+    /**
+     * Checks rows one at a time, keeping only the accepted results and the errors
+     */
+    static final class Validation {
+        private final LeagueSchedule schedule;
+        private final boolean overwrite;
+        // Accepted results by match ID, in upload order
+        private final Map<String, Accepted> accepted = new LinkedHashMap<>();
+        // The first row seen for each match, and the scores it gave
+        private final Map<String, int[]> seen = new HashMap<>();
+        private final Set<String> unchangedMatches = new HashSet<>();
+        private final List<ScoreUploadResult.RowError> errors = new ArrayList<>();
+        private int received;
+        private int unchanged;
+
+        Validation(LeagueSchedule schedule, boolean overwrite) {
+            this.schedule = schedule;
+            this.overwrite = overwrite;
+        }
+
+        void check(Map<String, String> fields) {
+            int row = ++received;
+            Integer home = number(fields.get(HOME_SCORE));
+            Integer away = number(fields.get(AWAY_SCORE));
+            if (home == null || away == null || home > MAX_SCORE || away > MAX_SCORE) {
+                reject(row, "Scores must be whole numbers from 0 to " + MAX_SCORE);
+                return;
+            }
+            int homeScore = home;
+            int awayScore = away;
+
+            String matchId = fields.get(MATCH_ID);
+            String homeTeamId = schedule.teamId(fields.get(HOME));
+            String awayTeamId = schedule.teamId(fields.get(AWAY));
+            // A blank team is left for the matchId to decide; a named one has to exist
+            if (!blank(fields.get(HOME)) && homeTeamId == null) {
+                reject(row, "Unknown home team: " + fields.get(HOME));
+                return;
+            }
+            if (!blank(fields.get(AWAY)) && awayTeamId == null) {
+                reject(row, "Unknown away team: " + fields.get(AWAY));
+                return;
+            }
+            if (blank(matchId)) {
+                Integer week = number(fields.get(WEEK));
+                Integer round = number(fields.get(ROUND));
+                if (week == null || round == null || homeTeamId == null || awayTeamId == null) {
+                    reject(row, "Give a matchId, or week, round, home and away");
+                    return;
+                }
+                matchId = schedule.matchId(week, round, homeTeamId, awayTeamId);
+                if (matchId == null) {
+                    reject(row, "No match scheduled in week " + week + ", round " + round + " for "
+                            + fields.get(HOME) + " vs " + fields.get(AWAY));
+                    return;
+                }
+            }
+            LeagueMatch match = schedule.matches().get(matchId);
+            if (match == null) {
+                reject(row, "Unknown match: " + matchId);
+                return;
+            }
+            if ((homeTeamId != null && !homeTeamId.equals(match.homeTeamId()))
+                    || (awayTeamId != null && !awayTeamId.equals(match.awayTeamId()))) {
+                reject(row, "Match " + matchId + " is " + match.homeTeamId() + " vs " + match.awayTeamId());
+                return;
+            }
+
+            int[] first = seen.putIfAbsent(matchId, new int[] {row, homeScore, awayScore});
+            if (first != null) {
+                if (first[1] == homeScore && first[2] == awayScore) {
+                    reject(row, "Duplicate of row " + first[0]);
+                    return;
+                }
+                reject(row, "Conflicts with row " + first[0]);
+                // Neither score can be trusted, so the first row is taken back too (once)
+                boolean wasAccepted = accepted.remove(matchId) != null;
+                boolean wasUnchanged = unchangedMatches.remove(matchId);
+                if (wasAccepted || wasUnchanged) {
+                    unchanged -= wasUnchanged ? 1 : 0;
+                    reject(first[0], "Conflicts with row " + row);
+                }
+                return;
+            }
+
+            if (match.homeScore() != null && match.awayScore() != null) {
+                if (match.homeScore() == homeScore && match.awayScore() == awayScore) {
+                    unchanged++;
+                    unchangedMatches.add(matchId);
+                    return;
+                }
+                if (!overwrite) {
+                    reject(row, "Already recorded as " + match.homeScore() + "-" + match.awayScore()
+                            + "; upload with overwrite=true to replace it");
+                    return;
+                }
+            }
+            accepted.put(matchId, new Accepted(row, matchId, match.homeTeamId(), match.awayTeamId(),
+                    homeScore, awayScore));
+        }
+
+        List<Accepted> accepted() {
+            return List.copyOf(accepted.values());
+        }
+
+        ScoreUploadResult result(boolean applied) {
+            List<ScoreUploadResult.RowError> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingInt(ScoreUploadResult.RowError::row));
+            return new ScoreUploadResult(received, accepted.size(), unchanged, errors.size(), applied,
+                    List.copyOf(sorted));
+        }
+
+        private void reject(int row, String message) {
+            errors.add(new ScoreUploadResult.RowError(row, message));
+        }
+
+        /**
+         * Parse a whole number of zero or more, or null if the value isn't one
+         */
+        private static Integer number(String value) {
+            if (blank(value)) {
+                return null;
+            }
+            try {
+                int number = Integer.parseInt(value.trim());
+                return number >= 0 ? number : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static boolean blank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+}
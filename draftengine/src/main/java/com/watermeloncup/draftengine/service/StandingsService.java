@@ -0,0 +1,406 @@
+package com.watermeloncup.draftengine.service;
+
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.cloud.FirestoreClient;
+import com.watermeloncup.draftengine.model.MatchResult;
+import com.watermeloncup.draftengine.model.Standings;
+import com.watermeloncup.draftengine.model.TeamStanding;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * League tables kept up to date as match results change, so the Standings, Teams and
+ * Team pages read one small snapshot instead of every match in the league.
+ *
+ * The first request for a league starts a Firestore listener on its matches. The initial
+ * snapshot loads every match, and later changes arrive one document at a time. Each
+ * changed match takes back its previously counted result, if any, and adds the new one,
+ * so a result costs O(1) however many matches the league has. Sorting only happens when
+ * a new version is first read, and that table is then shared until the next change.
+ *
+ * Matches are counted like the old client-side hook: completed (or without a status)
+ * and with both scores set. A win is 3 points and a draw 1.
+ *
+ * Only leagues whose document exists are followed. A table nobody has read for
+ * {@code draft.standings.idle-ms} is dropped along with its listener, and past
+ * {@code draft.standings.max-leagues} tables the least recently read one makes room.
+ */
+@Service
+public class StandingsService {
+    private static final Logger logger = LoggerFactory.getLogger(StandingsService.class);
+
+    static final int WIN_POINTS = 3;
+    static final int DRAW_POINTS = 1;
+
+    private static final Comparator<TeamStanding> TABLE_ORDER = Comparator
+            .comparingInt(TeamStanding::points).reversed()
+            .thenComparing(Comparator.comparingInt(TeamStanding::goalDifference).reversed())
+            .thenComparing(Comparator.comparingInt(TeamStanding::goalsFor).reversed())
+            .thenComparing(TeamStanding::teamId);
+
+    private final FirebaseApp firebaseApp;
+    private final DraftMetrics metrics;
+    private final Map<String, LeagueTable> leagues = new ConcurrentHashMap<>();
+    // Source of table epochs; starts at the clock so a restart doesn't reuse old ones
+    private final AtomicLong epochs = new AtomicLong(System.currentTimeMillis());
+
+    // How long the first request for a league waits for its matches to load
+    @Value("${draft.standings.load-timeout-ms:10000}")
+    private long loadTimeoutMillis;
+
+    // How long a table is kept, listener and all, after its last read
+    @Value("${draft.standings.idle-ms:1800000}")
+    private long idleMillis;
+
+    // Most leagues followed at once
+    @Value("${draft.standings.max-leagues:50}")
+    private int maxLeagues;
+
+    public StandingsService(@Autowired(required = false) FirebaseApp firebaseApp, DraftMetrics metrics) {
+        this.firebaseApp = firebaseApp;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get a league's current standings. The first call for a league loads its matches
+     * and keeps following them.
+     * @param leagueId the league document ID
+     * @return the standings, shared until the next result changes
+     * @throws IllegalArgumentException if there is no such league
+     * @throws IllegalStateException if the league's matches couldn't be loaded in time
+     */
+    public Standings standings(String leagueId) {
+        LeagueTable table = leagues.get(leagueId);
+        if (table == null) {
+            if (!leagueExists(leagueId)) {
+                throw new IllegalArgumentException("No league " + leagueId);
+            }
+            table = leagues.computeIfAbsent(leagueId, LeagueTable::new);
+            makeRoom(table);
+        }
+        table.lastRead = System.currentTimeMillis();
+        table.follow();
+        return table.snapshot();
+    }
+
+    /**
+     * Check that a league document exists before following its matches, since an
+     * unknown league would load as an empty table
+     * @throws IllegalStateException if Firestore couldn't be read
+     */
+    boolean leagueExists(String leagueId) {
+        if (firebaseApp == null) {
+            return true;
+        }
+        long started = System.nanoTime();
+        String outcome = DraftMetrics.ERROR;
+        try {
+            boolean exists = FirestoreClient.getFirestore(firebaseApp)
+                    .collection("leagues").document(leagueId).get().get().exists();
+            outcome = DraftMetrics.SUCCESS;
+            return exists;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while looking up league " + leagueId, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not look up league " + leagueId + ": " + e.getMessage(), e);
+        } finally {
+            metrics.firestoreCall("find-league", outcome, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Stop following the least recently read leagues until there are at most
+     * {@link #maxLeagues}, keeping the one just added
+     */
+    private void makeRoom(LeagueTable added) {
+        while (leagues.size() > maxLeagues) {
+            LeagueTable idlest = null;
+            for (LeagueTable table : leagues.values()) {
+                if (table != added && (idlest == null || table.lastRead < idlest.lastRead)) {
+                    idlest = table;
+                }
+            }
+            if (idlest == null) {
+                return;
+            }
+            drop(idlest);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${draft.standings.evict-interval-ms:60000}")
+    void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    /**
+     * Stop following every league not read since {@link #idleMillis} before now
+     * @return how many leagues were dropped
+     */
+    int evictIdle(long now) {
+        int dropped = 0;
+        for (LeagueTable table : leagues.values()) {
+            if (now - table.lastRead > idleMillis && drop(table)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private boolean drop(LeagueTable table) {
+        if (!leagues.remove(table.leagueId, table)) {
+            return false;
+        }
+        table.stop();
+        logger.info("Stopped following league {}", table.leagueId);
+        return true;
+    }
+
+    /**
+     * Count a match result as soon as it's written, without waiting for the listener.
+     * The listener delivers the same result again later, which changes nothing.
+     * @param leagueId the league document ID
+     * @param matchId the match document ID
+     * @param result the result to count, or null if the match no longer counts
+     */
+    public void recordResult(String leagueId, String matchId, MatchResult result) {
+        leagues.computeIfAbsent(leagueId, LeagueTable::new).apply(matchId, result);
+    }
+
+    /**
+     * Read the counted result of a match document the way the Standings page always has
+     * @return the result, or null if the match isn't completed or is missing a score
+     */
+    static MatchResult result(DocumentSnapshot match) {
+        return result(match.get("status"), match.getString("homeTeamId"), match.getString("awayTeamId"),
+                match.get("homeScore"), match.get("awayScore"));
+    }
+
+    static MatchResult result(Object status, String homeTeamId, String awayTeamId, Object homeScore,
+                              Object awayScore) {
+        if (status != null && !status.toString().toLowerCase(Locale.ROOT).equals("completed")) {
+            return null;
+        }
+        Integer home = score(homeScore);
+        Integer away = score(awayScore);
+        if (homeTeamId == null || awayTeamId == null || home == null || away == null) {
+            return null;
+        }
+        return new MatchResult(homeTeamId, awayTeamId, home, away);
+    }
+
+    /**
+     * Scores are numbers, or strings when typed into the upload page
+     */
+    static Integer score(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Integer.parseInt(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leagues.values().forEach(LeagueTable::stop);
+    }
+
+    /**
+     * Running totals per team for one league
+     */
+    private final class LeagueTable {
+        private final String leagueId;
+        // Distinguishes this table's versions in ETags from those of a table it replaced
+        private final String epoch = Long.toString(epochs.incrementAndGet(), 36);
+        private final CountDownLatch loaded = new CountDownLatch(1);
+        // The result each match currently contributes
+        private final Map<String, MatchResult> counted = new HashMap<>();
+        private final Map<String, TeamRecord> records = new HashMap<>();
+        private boolean following;
+        private volatile boolean failed;
+        private ListenerRegistration registration;
+        private long version;
+        private volatile Standings cached;
+        // When standings() last returned this table, in epoch millis
+        private volatile long lastRead = System.currentTimeMillis();
+
+        LeagueTable(String leagueId) {
+            this.leagueId = leagueId;
+        }
+
+        /**
+         * Start the listener if this is the first request, and wait for the initial load
+         */
+        void follow() {
+            synchronized (this) {
+                if (!following) {
+                    following = true;
+                    if (firebaseApp == null) {
+                        loaded.countDown();
+                    } else {
+                        listen();
+                    }
+                }
+            }
+            try {
+                if (!loaded.await(loadTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Matches for league " + leagueId + " are still loading");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading league " + leagueId, e);
+            }
+            if (failed) {
+                throw new IllegalStateException("Could not load the matches of league " + leagueId);
+            }
+        }
+
+        private void listen() {
+            long started = System.nanoTime();
+            registration = FirestoreClient.getFirestore(firebaseApp)
+                    .collection("leagues").document(leagueId).collection("matches")
+                    .addSnapshotListener((snapshot, error) -> {
+                        if (error != null) {
+                            // The listener has stopped; forget the league so the next request starts over
+                            logger.warn("Lost the match listener for league {}: {}", leagueId, error.getMessage());
+                            if (loaded.getCount() > 0) {
+                                metrics.firestoreCall("load-standings", DraftMetrics.ERROR,
+                                        System.nanoTime() - started);
+                            }
+                            failed = true;
+                            leagues.remove(leagueId, this);
+                            loaded.countDown();
+                            return;
+                        }
+                        for (DocumentChange change : snapshot.getDocumentChanges()) {
+                            apply(change.getDocument().getId(),
+                                    change.getType() == DocumentChange.Type.REMOVED ? null
+                                            : result(change.getDocument()));
+                        }
+                        if (loaded.getCount() > 0) {
+                            metrics.firestoreCall("load-standings", DraftMetrics.SUCCESS,
+                                    System.nanoTime() - started);
+                            logger.info("Loaded {} matches for league {}", snapshot.size(), leagueId);
+                            loaded.countDown();
+                        }
+                    });
+        }
+
+        /**
+         * Remove the listener; a request already holding this table gets what it has
+         */
+        synchronized void stop() {
+            following = true;
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+            loaded.countDown();
+        }
+
+        /**
+         * Replace the result a match contributes
+         */
+        synchronized void apply(String matchId, MatchResult result) {
+            MatchResult previous = result == null ? counted.remove(matchId) : counted.put(matchId, result);
+            if (Objects.equals(previous, result)) {
+                return;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (result != null) {
+                add(result, 1);
+            }
+            version++;
+            cached = null;
+        }
+
+        private void add(MatchResult result, int sign) {
+            tally(result.homeTeamId(), result.homeScore(), result.awayScore(), sign);
+            tally(result.awayTeamId(), result.awayScore(), result.homeScore(), sign);
+        }
+
+        private void tally(String teamId, int scored, int conceded, int sign) {
+            TeamRecord record = records.computeIfAbsent(teamId, id -> new TeamRecord());
+            record.add(scored, conceded, sign);
+            if (record.played == 0) {
+                records.remove(teamId);
+            }
+        }
+
+        Standings snapshot() {
+            Standings standings = cached;
+            if (standings != null) {
+                return standings;
+            }
+            synchronized (this) {
+                if (cached == null) {
+                    List<TeamStanding> teams = new ArrayList<>(records.size());
+                    records.forEach((teamId, record) -> teams.add(record.standing(teamId)));
+                    teams.sort(TABLE_ORDER);
+                    cached = new Standings(leagueId, version, "W/\"" + epoch + "-" + version + "\"",
+                            List.copyOf(teams));
+                }
+                return cached;
+            }
+        }
+    }
+
+    /**
+     * Mutable totals for one team, guarded by its LeagueTable
+     */
+    private static final class TeamRecord {
+        int played;
+        int won;
+        int drawn;
+        int lost;
+        int goalsFor;
+        int goalsAgainst;
+
+        void add(int scored, int conceded, int sign) {
+            played += sign;
+            goalsFor += sign * scored;
+            goalsAgainst += sign * conceded;
+            if (scored > conceded) {
+                won += sign;
+            } else if (scored < conceded) {
+                lost += sign;
+            } else {
+                drawn += sign;
+            }
+        }
+
+        TeamStanding standing(String teamId) {
+            return new TeamStanding(teamId, played, won, drawn, lost, goalsFor, goalsAgainst,
+                    goalsFor - goalsAgainst, WIN_POINTS * won + DRAW_POINTS * drawn);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.watermeloncup.draftengine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.SerializedState;
+import io.micrometer.observation.Observation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes each draft state once and hands the same bytes to the /topic/draft
+ * broadcast, heartbeat replies and GET /state.
+ *
+ * DraftService replaces its state record on every change, so a state is recognized by
+ * identity. The version only moves when the JSON actually differs, which keeps ETags
+ * stable on mirror nodes that receive the same state again with every owner heartbeat.
+ */
+@Service
+public class StateCache {
+    private final ObjectMapper objectMapper;
+    private final DraftMetrics metrics;
+    // Distinguishes versions from different runs, so a restarted or promoted node never reuses an ETag
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // States smaller than this are served uncompressed
+    @Value("${draft.state-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private volatile SerializedState current;
+
+    @Autowired
+    public StateCache(ObjectMapper objectMapper, DraftMetrics metrics) {
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Create a cache outside Spring, e.g. in the draft simulator
+     * @param gzipMinBytes smallest state kept gzipped; Integer.MAX_VALUE never compresses
+     */
+    public StateCache(ObjectMapper objectMapper, DraftMetrics metrics, int gzipMinBytes) {
+        this(objectMapper, metrics);
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Get the last state serialized, without serializing anything
+     * @return the cached serialization, or null before the first state
+     */
+    public SerializedState current() {
+        return current;
+    }
+
+    /**
+     * Get the serialized form of a state, serializing it only if it is not the cached one.
+     * States must be passed in the order they were made (DraftService holds its lock),
+     * since a new state always gets a new version.
+     * @param state the draft state
+     * @return the cached serialization
+     */
+    public SerializedState serialize(DraftState state) {
+        SerializedState cached = current;
+        if (cached != null && cached.state() == state) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = current;
+            if (cached != null && cached.state() == state) {
+                return cached;
+            }
+
+            Observation observation = metrics.stateSerialization().start();
+            try {
+                byte[] json = toJson(state);
+                SerializedState serialized;
+                if (cached != null && Arrays.equals(cached.json(), json)) {
+                    serialized = new SerializedState(state, cached.version(), cached.etag(), cached.json(), cached.gzip());
+                    observation.lowCardinalityKeyValue("version", "unchanged");
+                } else {
+                    long version = cached != null ? cached.version() + 1 : 1;
+                    serialized = new SerializedState(state, version, "W/\"" + epoch + "-" + version + "\"",
+                            json, json.length >= gzipMinBytes ? gzip(json) : null);
+                    observation.lowCardinalityKeyValue("version", "new");
+                    metrics.stateSize(json.length);
+                }
+                current = serialized;
+                return serialized;
+            } catch (RuntimeException e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        }
+    }
+
+    private byte[] toJson(DraftState state) {
+        try {
+            return objectMapper.writeValueAsBytes(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize draft state", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
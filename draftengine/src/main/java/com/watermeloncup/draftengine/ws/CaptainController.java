@@ -3,20 +3,24 @@ package com.watermeloncup.draftengine.ws;
 import com.google.firebase.FirebaseApp;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.firebase.cloud.FirestoreClient;
+import com.watermeloncup.draftengine.model.CaptainRoster;
 import com.watermeloncup.draftengine.model.UserInfo;
 import com.watermeloncup.draftengine.service.CaptainService;
 import com.watermeloncup.draftengine.service.ConnectedUsersService;
+import com.watermeloncup.draftengine.service.DraftMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Controller for handling captain-related WebSocket messages
@@ -27,9 +31,12 @@ public class CaptainController {
     private final CaptainService captainService;
     private final ConnectedUsersService connectedUsersService;
     private final FirebaseApp firebaseApp;
+    private final DraftMetrics metrics;
     
-    public CaptainController(CaptainService captainService, ConnectedUsersService connectedUsersService, FirebaseApp firebaseApp) {
+    public CaptainController(CaptainService captainService, ConnectedUsersService connectedUsersService, FirebaseApp firebaseApp,
+                             DraftMetrics metrics) {
         this.captainService = captainService;
+        this.metrics = metrics;
         this.connectedUsersService = connectedUsersService;
         this.firebaseApp = firebaseApp;
     }
@@ -41,7 +48,7 @@ public class CaptainController {
      * @return a response indicating whether the request was successful
      */
     @MessageMapping("/become-captain")
-    @SendTo("/topic/captain-response")
+    @SendToUser(value = "/queue/captain-response", broadcast = false)
     public Map<String, Object> becomeCaptain(UserInfo userInfo, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
         Principal user = headerAccessor.getUser();
@@ -74,11 +81,7 @@ public class CaptainController {
         if (firebaseApp != null && userInfo.getUid() != null && !userInfo.getUid().isEmpty()) {
             try {
                 // Get user data from Firestore using the UID
-                DocumentSnapshot userDoc = FirestoreClient.getFirestore(firebaseApp)
-                    .collection("users")
-                    .document(java.util.Objects.requireNonNull(userInfo.getUid()))
-                    .get()
-                    .get();
+                DocumentSnapshot userDoc = fetchUser(java.util.Objects.requireNonNull(userInfo.getUid()));
                 
                 if (userDoc != null && userDoc.exists()) {
                     // Get first and last name from Firestore
@@ -152,9 +155,6 @@ public class CaptainController {
             logger.info("Successfully registered user as captain: {}", userInfo.getFullName());
             response.put("success", true);
             response.put("message", "You are now a captain");
-            
-            // Explicitly broadcast captain updates to all clients
-            captainService.broadcastCaptainUpdate();
         } else {
             logger.info("Failed to register user as captain: {}", userInfo.getFullName());
             response.put("success", false);
@@ -169,18 +169,48 @@ public class CaptainController {
      * @return the current captain status
      */
     @MessageMapping("/captain-status")
-    @SendTo("/topic/captain-status")
+    @SendToUser(value = "/queue/captain-status", broadcast = false)
     public Map<String, Object> getCaptainStatus() {
-        // Explicitly broadcast captain updates to all clients
-        captainService.broadcastCaptainUpdate();
-        
-        // Also return the status directly to the requester
+        // Roster changes are broadcast by CaptainService; just report the current snapshot
+        CaptainRoster roster = captainService.getCaptainRoster();
         Map<String, Object> status = new HashMap<>();
-        status.put("captainCount", captainService.getCaptainCount());
-        status.put("maxCaptains", 6);
-        status.put("canBecomeCaptain", captainService.canBecomeCaptain());
-        status.put("captains", captainService.getAllCaptains());
+        status.put("version", roster.version());
+        status.put("captainCount", roster.count());
+        status.put("maxCaptains", roster.maxCaptains());
+        status.put("canBecomeCaptain", roster.canBecomeCaptain());
+        status.put("captains", roster.captains());
         
         return status;
     }
+    
+    /**
+     * Send the current captain roster to a client when it subscribes to /app/captains,
+     * so late joiners don't have to wait for the next roster change
+     * @return the current roster snapshot
+     */
+    @SubscribeMapping("/captains")
+    public CaptainRoster subscribeCaptains() {
+        return captainService.getCaptainRoster();
+    }
+    
+    /**
+     * Fetch a user document from Firestore, recording the call's latency
+     * @param uid the user's UID
+     * @return the document snapshot (which may not exist)
+     */
+    private DocumentSnapshot fetchUser(String uid) throws InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        String outcome = DraftMetrics.ERROR;
+        try {
+            DocumentSnapshot userDoc = FirestoreClient.getFirestore(firebaseApp)
+                .collection("users")
+                .document(uid)
+                .get()
+                .get();
+            outcome = DraftMetrics.SUCCESS;
+            return userDoc;
+        } finally {
+            metrics.firestoreCall("captain-lookup", outcome, System.nanoTime() - started);
+        }
+    }
 }
@@ -1,12 +1,17 @@
 package com.watermeloncup.draftengine.ws;
 
 import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.DraftUpdate;
+import com.watermeloncup.draftengine.model.SerializedState;
+import com.watermeloncup.draftengine.service.BroadcastService;
 import com.watermeloncup.draftengine.service.DraftService;
+import com.watermeloncup.draftengine.service.DraftUpdateLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -18,9 +23,13 @@ import java.util.Map;
 public class DraftController {
     private static final Logger logger = LoggerFactory.getLogger(DraftController.class);
     private final DraftService draft;
+    private final BroadcastService broadcastService;
+    private final DraftUpdateLog updateLog;
     
-    public DraftController(DraftService draft) {
+    public DraftController(DraftService draft, BroadcastService broadcastService, DraftUpdateLog updateLog) {
         this.draft = draft;
+        this.broadcastService = broadcastService;
+        this.updateLog = updateLog;
     }
 
     @MessageMapping("/pick")            // client → /app/pick
@@ -47,7 +56,7 @@ public class DraftController {
      * @return a response indicating whether the pick was successful
      */
     @MessageMapping("/pick-explicit")
-    @SendTo("/topic/pick-response")
+    @SendToUser(value = "/queue/pick-response", broadcast = false)
     public Map<String, Object> handleExplicitPick(Map<String, String> pickRequest, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
         Principal user = headerAccessor.getUser();
@@ -87,7 +96,7 @@ public class DraftController {
      * @return a response indicating whether the pick was successful
      */
     @MessageMapping("/make-pick")
-    @SendTo("/topic/pick-response")
+    @SendToUser(value = "/queue/pick-response", broadcast = false)
     public Map<String, Object> makePick(Map<String, String> pickRequest) {
         logger.info("Received make-pick request: {}", pickRequest);
         
@@ -133,7 +142,7 @@ public class DraftController {
      * @return a response indicating whether the request was successful
      */
     @MessageMapping("/set-autodraft")
-    @SendTo("/topic/autodraft-response")
+    @SendToUser(value = "/queue/autodraft-response", broadcast = false)
     public Map<String, Object> setAutoDraft(Map<String, Object> request) {
         logger.info("Received autodraft toggle request: {}", request);
         
@@ -171,7 +180,7 @@ public class DraftController {
      * @return response indicating success/failure
      */
     @MessageMapping("/set-snake-draft")
-    @SendTo("/topic/draft-config")
+    @SendToUser(value = "/queue/draft-config", broadcast = false)
     public Map<String, Object> setSnakeDraft(Map<String, Object> request) {
         logger.info("Received snake draft toggle request: {}", request);
         
@@ -214,7 +223,7 @@ public class DraftController {
      * @return response indicating success/failure
      */
     @MessageMapping("/set-draft-order")
-    @SendTo("/topic/draft-config")
+    @SendToUser(value = "/queue/draft-config", broadcast = false)
     @SuppressWarnings("unchecked")
     public Map<String, Object> setDraftOrder(Map<String, Object> request) {
         logger.info("Received draft order request: {}", request);
@@ -270,7 +279,7 @@ public class DraftController {
      * Get the current draft configuration (snake mode, order)
      */
     @MessageMapping("/get-draft-config")
-    @SendTo("/topic/draft-config")
+    @SendToUser(value = "/queue/draft-config", broadcast = false)
     public Map<String, Object> getDraftConfig() {
         Map<String, Object> config = new HashMap<>();
         config.put("snakeDraft", draft.isSnakeDraftEnabled());
@@ -279,12 +288,43 @@ public class DraftController {
         return config;
     }
 
+    /**
+     * Catch a reconnecting client up when it subscribes to /app/draft/catch-up with the
+     * draft-version header of the last state it applied. Only this session gets the reply.
+     * @param headerAccessor the message headers
+     * @return the missed updates, or the full state if they are no longer buffered
+     */
+    @SubscribeMapping("/draft/catch-up")
+    public Map<String, Object> catchUp(SimpMessageHeaderAccessor headerAccessor) {
+        String since = headerAccessor.getFirstNativeHeader(BroadcastService.VERSION_HEADER);
+        Map<String, Object> response = new HashMap<>();
+
+        List<DraftUpdate> missed = updateLog.since(since);
+        if (missed != null) {
+            response.put("mode", "updates");
+            response.put("version", missed.isEmpty() ? since : missed.get(missed.size() - 1).version());
+            response.put("updates", missed);
+            logger.debug("Catching up session {} from {} with {} updates",
+                    headerAccessor.getSessionId(), since, missed.size());
+            return response;
+        }
+
+        SerializedState serialized = draft.serializedState();
+        response.put("mode", "snapshot");
+        response.put("version", serialized.versionTag());
+        response.put("state", serialized.state());
+        logger.debug("Sending session {} a snapshot, version {} is not buffered", headerAccessor.getSessionId(), since);
+        return response;
+    }
+
+    /**
+     * Reply to the caller only (on /user/queue/draft) with the current draft state
+     * @param headerAccessor the message headers
+     */
     @MessageMapping("/heartbeat")       // optional ping
-    @SendTo("/topic/draft")
-    public DraftState heartbeat() {
-        logger.debug("Heartbeat received, returning current draft state");
-        DraftState state = draft.currentState();
-        return state;
+    public void heartbeat(SimpMessageHeaderAccessor headerAccessor) {
+        logger.debug("Heartbeat received, sending current draft state to session {}", headerAccessor.getSessionId());
+        broadcastService.sendToSession(headerAccessor.getSessionId(), "/queue/draft", draft.serializedState());
     }
 }
 
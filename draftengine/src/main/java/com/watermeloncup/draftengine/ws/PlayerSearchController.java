@@ -0,0 +1,34 @@
+package com.watermeloncup.draftengine.ws;
+
+import com.watermeloncup.draftengine.model.PlayerSearch;
+import com.watermeloncup.draftengine.service.PlayerIndex;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Controller
+public class PlayerSearchController {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final PlayerIndex playerIndex;
+
+    public PlayerSearchController(PlayerIndex playerIndex) {
+        this.playerIndex = playerIndex;
+    }
+
+    /**
+     * Search the available players by name for search-as-you-type. Answered on every node,
+     * since each keeps its own index of the pool.
+     * @param request {q: the text typed so far, limit: optional, at most 50}
+     * @return the matching players, best first, with the query they answer
+     */
+    @MessageMapping("/players/search")
+    @SendToUser(value = "/queue/player-search", broadcast = false)
+    public PlayerSearch search(Map<String, Object> request) {
+        Object q = request.get("q");
+        int limit = request.get("limit") instanceof Number number ? number.intValue() : DEFAULT_LIMIT;
+        return playerIndex.search(q == null ? "" : q.toString(), limit);
+    }
+}
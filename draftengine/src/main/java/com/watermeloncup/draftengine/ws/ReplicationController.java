@@ -0,0 +1,36 @@
+package com.watermeloncup.draftengine.ws;
+
+import com.watermeloncup.draftengine.model.ReplicationSnapshot;
+import com.watermeloncup.draftengine.service.ReplicationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Serves the replication snapshot to a standby node. Access is limited to sessions
+ * that connected with the replication token (see InboundFrameInterceptor).
+ */
+@Controller
+public class ReplicationController {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationController.class);
+    private final ReplicationService replicationService;
+
+    public ReplicationController(ReplicationService replicationService) {
+        this.replicationService = replicationService;
+    }
+
+    /**
+     * Reply to a standby's subscription with the full draft state
+     * @param headerAccessor the message headers
+     * @return the snapshot, tagged with the last replicated sequence
+     */
+    @SubscribeMapping("/replication/snapshot")
+    public ReplicationSnapshot snapshot(SimpMessageHeaderAccessor headerAccessor) {
+        ReplicationSnapshot snapshot = replicationService.snapshot();
+        logger.info("Sending replication snapshot at sequence {} to session {}",
+                snapshot.sequence(), headerAccessor.getSessionId());
+        return snapshot;
+    }
+}
@@ -0,0 +1,199 @@
+package com.watermeloncup.draftengine.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.service.BroadcastService;
+import com.watermeloncup.draftengine.service.DraftMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.core.MessagePostProcessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many complete drafts in parallel with no server, broker, Firestore or Sheets,
+ * each on its own virtual clock and seed, and checks the draft rules after every
+ * command (see {@link SimulatedDraft}). Prints throughput, any rule violations with the
+ * seed that reproduces them, and a digest of all final teams that only changes when
+ * draft behavior changes.
+ *
+ * Usage: ./gradlew simulate -Pdrafts=10000 -Pstrategy=mixed -Pseed=1 -Pbroadcast=none
+ *
+ * Strategies are autodraft, scripted, fuzz, or mixed (rotating through all three).
+ * By default (none) states are never serialized and broadcasts are dropped before they
+ * are converted, since neither affects the rules being checked. json serializes and
+ * converts them like the application, and all also encodes every CBOR and Smile variant,
+ * as if each had subscribers.
+ * Draft i runs with seed + i, so a failure is replayed with -Pseed=&lt;its seed&gt;
+ * -Pdrafts=1 -Pstrategy=&lt;its strategy&gt;.
+ */
+public class DraftSimulator {
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    /**
+     * Services shared by every simulated draft. None of them keep per-draft state:
+     * broadcasts are dropped, after being converted if the run asked for it.
+     * @param serializeStates whether each draft serializes its states to JSON, as the application does
+     */
+    record Wiring(SimpMessagingTemplate template, ObjectMapper objectMapper, BroadcastService broadcastService,
+                  DraftMetrics metrics, boolean serializeStates) {
+    }
+
+    private final int drafts;
+    private final int players;
+    private final long seed;
+    private final String strategy;
+    private final int parallelism;
+    private final String broadcast;
+
+    DraftSimulator(int drafts, int players, long seed, String strategy, int parallelism, String broadcast) {
+        this.drafts = drafts;
+        this.players = players;
+        this.seed = seed;
+        this.strategy = strategy;
+        this.parallelism = parallelism;
+        this.broadcast = broadcast.toLowerCase(Locale.ROOT);
+        if (!Set.of("none", "json", "all").contains(this.broadcast)) {
+            throw new IllegalArgumentException("Unknown broadcast mode: " + broadcast + " (none, json or all)");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length == 2) {
+                options.put(pair[0], pair[1]);
+            }
+        }
+        boolean passed = new DraftSimulator(
+                Integer.parseInt(options.getOrDefault("drafts", "10000")),
+                Integer.parseInt(options.getOrDefault("players", "120")),
+                Long.parseLong(options.getOrDefault("seed", "1")),
+                options.getOrDefault("strategy", "mixed"),
+                Integer.parseInt(options.getOrDefault("parallelism",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                options.getOrDefault("broadcast", "none")).run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        Wiring wiring = wiring();
+        // Warm up on a few drafts so the first measured ones don't pay for class loading and JIT
+        for (int i = 0; i < Math.min(drafts, 50); i++) {
+            new SimulatedDraft(seed + i, strategyFor(i), players, wiring).run();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        List<Future<SimulatedDraft.Result>> futures = new ArrayList<>(drafts);
+        long started = System.nanoTime();
+        for (int i = 0; i < drafts; i++) {
+            long draftSeed = seed + i;
+            SimulatedDraft.Strategy draftStrategy = strategyFor(i);
+            futures.add(executor.submit(() -> new SimulatedDraft(draftSeed, draftStrategy, players, wiring).run()));
+        }
+
+        long picks = 0;
+        long commands = 0;
+        long rejected = 0;
+        long automaticPicks = 0;
+        long digest = 0;
+        List<SimulatedDraft.Result> failures = new ArrayList<>();
+        for (Future<SimulatedDraft.Result> future : futures) {
+            SimulatedDraft.Result result = future.get();
+            picks += result.picks();
+            commands += result.commands();
+            rejected += result.rejected();
+            automaticPicks += result.automaticPicks();
+            // Order-independent, so the digest doesn't depend on which thread finished first
+            digest += result.digest();
+            if (!result.passed()) {
+                failures.add(result);
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+
+        System.out.printf("Ran %d drafts (%s, %d players, seed %d, broadcast %s) on %d threads in %.2f s%n",
+                drafts, strategy, players, seed, broadcast, parallelism, seconds);
+        System.out.printf("  %.0f drafts/s, %.0f picks/s, %.0f commands/s%n",
+                drafts / seconds, picks / seconds, commands / seconds);
+        System.out.printf("  %d picks, %d automatic, %d commands, %d rejected as expected%n",
+                picks, automaticPicks, commands, rejected);
+        System.out.printf("  digest %016x%n", digest);
+
+        if (failures.isEmpty()) {
+            System.out.println("All drafts followed the rules");
+            return true;
+        }
+        System.out.printf("%d drafts broke the rules%n", failures.size());
+        for (SimulatedDraft.Result failure : failures.subList(0, Math.min(failures.size(), MAX_REPORTED_FAILURES))) {
+            System.out.printf("  seed %d (%s):%n", failure.seed(), failure.strategy().name().toLowerCase(Locale.ROOT));
+            failure.violations().forEach(violation -> System.out.println("    " + violation));
+        }
+        return false;
+    }
+
+    private SimulatedDraft.Strategy strategyFor(int draft) {
+        if ("mixed".equalsIgnoreCase(strategy)) {
+            SimulatedDraft.Strategy[] strategies = SimulatedDraft.Strategy.values();
+            return strategies[draft % strategies.length];
+        }
+        return SimulatedDraft.Strategy.valueOf(strategy.toUpperCase(Locale.ROOT));
+    }
+
+    private Wiring wiring() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SimpMessagingTemplate template = "none".equals(broadcast)
+                ? new DroppingTemplate()
+                : new SimpMessagingTemplate((message, timeout) -> true);
+        MappingJackson2MessageConverter jackson = new MappingJackson2MessageConverter();
+        jackson.setObjectMapper(objectMapper);
+        template.setMessageConverter(new CompositeMessageConverter(
+                List.of(new StringMessageConverter(), new ByteArrayMessageConverter(), jackson)));
+
+        // Observations are no-ops, so the pick, serialization and broadcast timers don't add to the measured cost
+        DraftMetrics metrics = new DraftMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+        // There are no subscribers, so binary variants are only encoded when relay mode forces them
+        boolean binary = "all".equals(broadcast);
+        BroadcastService broadcastService = new BroadcastService(template, objectMapper, metrics,
+                Set.of("/topic/draft", "/topic/captains", "/topic/connected-users"),
+                binary ? List.of("cbor", "smile") : List.of(), binary ? "relay" : "simple");
+        return new Wiring(template, objectMapper, broadcastService, metrics, !"none".equals(broadcast));
+    }
+
+    /**
+     * Drops every message before it is converted or sent
+     */
+    private static final class DroppingTemplate extends SimpMessagingTemplate {
+        private static final Message<byte[]> DROPPED = MessageBuilder.withPayload(new byte[0]).build();
+
+        DroppingTemplate() {
+            super((message, timeout) -> true);
+        }
+
+        @Override
+        protected Message<?> doConvert(Object payload, Map<String, Object> headers, MessagePostProcessor postProcessor) {
+            return DROPPED;
+        }
+
+        @Override
+        protected void doSend(String destination, Message<?> message) {
+        }
+    }
+}
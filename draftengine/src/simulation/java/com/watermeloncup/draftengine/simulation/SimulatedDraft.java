@@ -0,0 +1,417 @@
+package com.watermeloncup.draftengine.simulation;
+
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.Season;
+import com.watermeloncup.draftengine.model.SerializedState;
+import com.watermeloncup.draftengine.service.DraftEventFeed;
+import com.watermeloncup.draftengine.service.DraftService;
+import com.watermeloncup.draftengine.service.DraftUpdateLog;
+import com.watermeloncup.draftengine.service.GoogleSheetsService;
+import com.watermeloncup.draftengine.service.PlayerIndex;
+import com.watermeloncup.draftengine.service.PlayerSource;
+import com.watermeloncup.draftengine.service.ReplicationLog;
+import com.watermeloncup.draftengine.service.StateCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * One complete draft against a hand-wired DraftService with no broker, Firestore or
+ * Google Sheets behind it. Time only moves when the script advances the virtual clock,
+ * and every choice (draft settings, draft order, picks, command order) comes from one
+ * seed, so a failing run can be replayed exactly.
+ *
+ * After every command the script checks that the right number of picks happened, that
+ * they went to the captains the pick order says, and that each new deadline is a full
+ * pick time from the virtual now. At the end it checks that every player was drafted
+ * exactly once and that the teams are balanced.
+ */
+final class SimulatedDraft {
+    static final int CAPTAINS = 6;
+    private static final Season SEASON = new Season(2026);
+    private static final Instant START = Instant.parse("2026-01-01T18:00:00Z");
+
+    /**
+     * How the captains behave
+     */
+    enum Strategy {
+        // Every captain turns autodraft on; picks happen on pick-expiry ticks
+        AUTODRAFT,
+        // Each captain picks from its own ranking after a random think time, sometimes running out the clock
+        SCRIPTED,
+        // Random valid and invalid commands in random order: out-of-turn picks, drafted players,
+        // autodraft toggles, clock jumps before and past the deadline
+        FUZZ
+    }
+
+    /**
+     * Outcome of one draft
+     * @param seed the seed that reproduces it
+     * @param digest hash of the draft order and final teams, equal for equal seeds and settings
+     */
+    record Result(long seed, Strategy strategy, int picks, int commands, int rejected, int automaticPicks,
+                  long digest, List<String> violations) {
+        boolean passed() {
+            return violations.isEmpty();
+        }
+    }
+
+    private final long seed;
+    private final Strategy strategy;
+    private final int playerCount;
+    // Script choices; the service gets its own generator for the draft order
+    private final Random random;
+    private final VirtualClock clock = new VirtualClock(START);
+    private final DraftService draft;
+    private final List<String> violations = new ArrayList<>();
+    private final Map<String, List<String>> rankings = new HashMap<>();
+
+    private List<String> draftOrder;
+    private boolean snakeDraft;
+    private int commands;
+    private int rejected;
+    private int automaticPicks;
+
+    SimulatedDraft(long seed, Strategy strategy, int playerCount, DraftSimulator.Wiring wiring) {
+        this.seed = seed;
+        this.strategy = strategy;
+        this.playerCount = playerCount;
+        SplittableRandom seeds = new SplittableRandom(seed);
+        this.random = new Random(seeds.nextLong());
+
+        // Compressed copies only matter to GET /state, which the simulation doesn't serve
+        StateCache stateCache = wiring.serializeStates()
+                ? new StateCache(wiring.objectMapper(), wiring.metrics(), Integer.MAX_VALUE)
+                : new UnserializedStateCache(wiring);
+        DraftUpdateLog updateLog = new DraftUpdateLog(128);
+        DraftEventFeed eventFeed = new DraftEventFeed(wiring.objectMapper(), 256, 64);
+        PlayerSource source = () -> players(playerCount);
+        ObjectProvider<PlayerSource> players = new StaticListableBeanFactory(Map.of("playerSource", source))
+                .getBeanProvider(PlayerSource.class);
+
+        this.draft = new DraftService(wiring.template(), null, new SimulatedSheets(),
+                new ReplicationLog(wiring.template()), wiring.broadcastService(), stateCache, eventFeed, updateLog,
+                new PlayerIndex(SEASON), players, wiring.metrics(), clock, new Random(seeds.nextLong()),
+                SEASON);
+    }
+
+    /**
+     * Run the draft to completion, or until the step limit shows it is stuck
+     */
+    Result run() {
+        List<Captain> captains = captains();
+        for (Captain captain : captains) {
+            List<String> ranking = new ArrayList<>();
+            for (int i = 0; i < playerCount; i++) {
+                ranking.add("player-" + i);
+            }
+            Collections.shuffle(ranking, random);
+            rankings.put(captain.getUserId(), ranking);
+        }
+
+        draft.setSnakeDraft(random.nextBoolean());
+        if (random.nextInt(4) == 0) {
+            List<String> order = new ArrayList<>(captains.stream().map(Captain::getUserId).toList());
+            Collections.shuffle(order, random);
+            draft.setDraftOrder(order);
+        }
+        draft.initializeWithCaptains(captains);
+        DraftState started = draft.currentState();
+        if (!started.draftStarted()) {
+            return finish("draft did not start");
+        }
+        draftOrder = started.draftOrder();
+        snakeDraft = started.snakeDraft();
+        expectDeadline(started);
+
+        if (strategy == Strategy.AUTODRAFT) {
+            for (Captain captain : captains) {
+                step(() -> draft.setAutoDraftPreference(captain.getUserId(), true), -1);
+            }
+        }
+
+        // Generous: fuzzing spends most steps on commands that don't pick
+        int maxSteps = playerCount * 40 + 100;
+        for (int steps = 0; !draft.isDraftCompleted() && steps < maxSteps; steps++) {
+            switch (strategy) {
+                case AUTODRAFT -> tick(Duration.ofSeconds(1), false);
+                case SCRIPTED -> scriptedStep();
+                case FUZZ -> fuzzStep();
+            }
+            if (violations.size() > 10) {
+                break;
+            }
+        }
+        return finish(draft.isDraftCompleted() ? null : "draft did not complete within the step limit");
+    }
+
+    private void scriptedStep() {
+        DraftState state = draft.currentState();
+        Duration remaining = Duration.between(clock.instant(), state.pickExpiresAt());
+        // One pick in ten runs out the clock
+        if (random.nextInt(10) == 0) {
+            tick(remaining.plusSeconds(1), true);
+            return;
+        }
+        clock.advance(randomDuration(remaining));
+        String captainId = state.currentCaptainId();
+        Set<String> available = new HashSet<>();
+        state.availablePool().forEach(player -> available.add(player.id()));
+        String playerId = rankings.get(captainId).stream()
+                .filter(available::contains)
+                .findFirst()
+                .orElseThrow();
+        step(() -> draft.makePick(captainId, playerId), 1);
+    }
+
+    private void fuzzStep() {
+        DraftState state = draft.currentState();
+        String onClock = state.currentCaptainId();
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            String playerId = state.availablePool().get(random.nextInt(state.availablePool().size())).id();
+            step(() -> draft.makePick(onClock, playerId), 1);
+        } else if (roll < 50) {
+            String other = otherCaptain(onClock);
+            String playerId = state.availablePool().get(0).id();
+            expectRejected(() -> draft.makePick(other, playerId), IllegalStateException.class);
+        } else if (roll < 60) {
+            String playerId = draftedPlayer(state);
+            expectRejected(() -> draft.makePick(onClock, playerId), IllegalArgumentException.class);
+        } else if (roll < 70) {
+            String captainId = draftOrder.get(random.nextInt(draftOrder.size()));
+            boolean enable = !state.autoDraftPreferences().getOrDefault(captainId, false);
+            // Turning it on for the captain on the clock picks for them right away
+            step(() -> draft.setAutoDraftPreference(captainId, enable), enable && captainId.equals(onClock) ? 1 : 0);
+        } else if (roll < 85) {
+            Duration remaining = Duration.between(clock.instant(), state.pickExpiresAt());
+            tick(randomDuration(remaining), false);
+        } else {
+            Duration remaining = Duration.between(clock.instant(), state.pickExpiresAt());
+            tick(remaining.plusMillis(1 + random.nextInt(5000)), true);
+        }
+    }
+
+    /**
+     * Advance the clock and run the pick-expiry task
+     * @param expired whether the advance takes the clock past the deadline
+     */
+    private void tick(Duration advance, boolean expired) {
+        DraftState state = draft.currentState();
+        boolean autodraft = state.autoDraftPreferences().getOrDefault(state.currentCaptainId(), false);
+        clock.advance(advance);
+        int picks = step(draft::checkPickExpiry, expired || autodraft ? 1 : 0);
+        automaticPicks += picks;
+    }
+
+    /**
+     * Run a command and check the picks it made
+     * @param expectedPicks how many picks the command must make, or -1 for any number
+     * @return the number of picks made
+     */
+    private int step(Runnable command, int expectedPicks) {
+        commands++;
+        DraftState before = draft.currentState();
+        Map<String, Integer> sizesBefore = teamSizes(before);
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            violations.add("command " + commands + " failed: " + e);
+            return 0;
+        }
+        DraftState after = draft.currentState();
+        int picksBefore = total(sizesBefore);
+        int picks = total(teamSizes(after)) - picksBefore;
+        if (expectedPicks >= 0 && picks != expectedPicks) {
+            violations.add("command " + commands + " made " + picks + " picks, expected " + expectedPicks);
+        }
+        if (picks > 0) {
+            expectPickOrder(picksBefore, picks, sizesBefore, teamSizes(after));
+            expectDeadline(after);
+        }
+        return picks;
+    }
+
+    private void expectRejected(Runnable command, Class<? extends RuntimeException> expected) {
+        commands++;
+        DraftState before = draft.currentState();
+        try {
+            command.run();
+            violations.add("command " + commands + " was accepted, expected " + expected.getSimpleName());
+        } catch (RuntimeException e) {
+            rejected++;
+            if (!expected.isInstance(e)) {
+                violations.add("command " + commands + " failed with " + e + ", expected " + expected.getSimpleName());
+            }
+        }
+        if (draft.currentState() != before) {
+            violations.add("rejected command " + commands + " changed the state");
+        }
+    }
+
+    /**
+     * Check that the captains whose teams grew are the ones the pick order puts at those slots.
+     * The order is recomputed here rather than with DraftService's own helper.
+     */
+    private void expectPickOrder(int firstSlot, int picks, Map<String, Integer> before, Map<String, Integer> after) {
+        Map<String, Integer> expected = new HashMap<>();
+        for (int slot = firstSlot; slot < firstSlot + picks; slot++) {
+            int round = slot / draftOrder.size();
+            int position = slot % draftOrder.size();
+            int index = snakeDraft && round % 2 == 1 ? draftOrder.size() - 1 - position : position;
+            expected.merge(draftOrder.get(index), 1, Integer::sum);
+        }
+        Map<String, Integer> actual = new HashMap<>();
+        after.forEach((captainId, size) -> {
+            int grew = size - before.getOrDefault(captainId, 0);
+            if (grew != 0) {
+                actual.put(captainId, grew);
+            }
+        });
+        if (!expected.equals(actual)) {
+            violations.add("picks at slots " + firstSlot + ".." + (firstSlot + picks - 1) + " went to " + actual
+                    + ", expected " + expected);
+        }
+    }
+
+    private void expectDeadline(DraftState state) {
+        if (draft.isDraftCompleted()) {
+            return;
+        }
+        Instant expected = clock.instant().plus(DraftService.PICK_TIME);
+        if (!expected.equals(state.pickExpiresAt())) {
+            violations.add("pick deadline " + state.pickExpiresAt() + ", expected " + expected);
+        }
+    }
+
+    private Result finish(String failure) {
+        if (failure != null) {
+            violations.add(failure);
+        }
+        DraftState state = draft.currentState();
+        long digest = 17;
+        int picks = 0;
+        if (draftOrder != null) {
+            Set<String> drafted = new HashSet<>();
+            int smallest = Integer.MAX_VALUE;
+            int largest = 0;
+            for (String captainId : draftOrder) {
+                digest = 31 * digest + captainId.hashCode();
+                List<PlayerView> team = state.teams().getOrDefault(captainId, List.of());
+                smallest = Math.min(smallest, team.size());
+                largest = Math.max(largest, team.size());
+                for (PlayerView player : team) {
+                    digest = 31 * digest + player.id().hashCode();
+                    if (!drafted.add(player.id())) {
+                        violations.add(player.id() + " was drafted twice");
+                    }
+                }
+            }
+            picks = drafted.size();
+            if (draft.isDraftCompleted() && (picks != playerCount || !state.availablePool().isEmpty())) {
+                violations.add(picks + " of " + playerCount + " players drafted, "
+                        + state.availablePool().size() + " left in the pool");
+            }
+            if (largest - smallest > 1) {
+                violations.add("team sizes range from " + smallest + " to " + largest);
+            }
+        }
+        return new Result(seed, strategy, picks, commands, rejected, automaticPicks, digest, List.copyOf(violations));
+    }
+
+    private Duration randomDuration(Duration below) {
+        long millis = below.toMillis();
+        return millis > 1 ? Duration.ofMillis(random.nextLong(millis)) : Duration.ZERO;
+    }
+
+    private String otherCaptain(String onClock) {
+        String other;
+        do {
+            other = draftOrder.get(random.nextInt(draftOrder.size()));
+        } while (other.equals(onClock));
+        return other;
+    }
+
+    private String draftedPlayer(DraftState state) {
+        List<String> drafted = new ArrayList<>();
+        state.teams().values().forEach(team -> team.forEach(player -> drafted.add(player.id())));
+        return drafted.isEmpty() ? "no-such-player" : drafted.get(random.nextInt(drafted.size()));
+    }
+
+    private static Map<String, Integer> teamSizes(DraftState state) {
+        Map<String, Integer> sizes = new HashMap<>();
+        state.teams().forEach((captainId, team) -> sizes.put(captainId, team.size()));
+        return sizes;
+    }
+
+    private static int total(Map<String, Integer> sizes) {
+        return sizes.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    static List<Player> players(int count) {
+        String[] positions = {"Goalkeeper", "Defender", "Midfielder", "Forward"};
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player-" + i, "First" + i, "Last" + i, List.of(positions[i % positions.length]),
+                    "Club " + (i % 12), i % 3 == 0 ? "left" : "right", String.valueOf(2026 + i % 4),
+                    "player" + i + "@example.com", "555-010" + (i % 10), null, SEASON.bit()));
+        }
+        return players;
+    }
+
+    static List<Captain> captains() {
+        List<Captain> captains = new ArrayList<>(CAPTAINS);
+        for (int i = 0; i < CAPTAINS; i++) {
+            captains.add(new Captain("captain-" + i, "captain" + i + "@example.com", "Captain", "Number" + i,
+                    "session-" + i));
+        }
+        return captains;
+    }
+
+    /**
+     * Numbers states without serializing them, for runs that drop broadcasts unconverted.
+     * Every new state record gets a new version, where the real cache only counts JSON changes.
+     */
+    private static final class UnserializedStateCache extends StateCache {
+        private static final byte[] NOT_SERIALIZED = new byte[0];
+
+        private SerializedState current;
+
+        UnserializedStateCache(DraftSimulator.Wiring wiring) {
+            super(wiring.objectMapper(), wiring.metrics(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public synchronized SerializedState serialize(DraftState state) {
+            if (current == null || current.state() != state) {
+                long version = current == null ? 1 : current.version() + 1;
+                current = new SerializedState(state, version, "W/\"simulated-" + version + "\"", NOT_SERIALIZED, null);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Stands in for the export at the end of the draft
+     */
+    private static final class SimulatedSheets extends GoogleSheetsService {
+        @Override
+        public String exportTeamsToSheet(Map<String, List<Player>> teams, List<Captain> captains) {
+            return "simulated";
+        }
+    }
+}
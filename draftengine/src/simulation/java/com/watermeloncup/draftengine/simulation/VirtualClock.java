@@ -0,0 +1,48 @@
+package com.watermeloncup.draftengine.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A UTC clock that only moves when the simulation script advances it, so pick deadlines
+ * expire in microseconds instead of minutes. Each simulated draft has its own.
+ */
+final class VirtualClock extends Clock {
+    private volatile Instant now;
+
+    VirtualClock(Instant start) {
+        this.now = start;
+    }
+
+    /**
+     * Move the clock forward
+     * @param amount how far; must not be negative
+     */
+    void advance(Duration amount) {
+        if (amount.isNegative()) {
+            throw new IllegalArgumentException("Virtual time only moves forward");
+        }
+        now = now.plus(amount);
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    /**
+     * Get a fixed clock at the current virtual time in another zone
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return Clock.fixed(now, zone);
+    }
+}
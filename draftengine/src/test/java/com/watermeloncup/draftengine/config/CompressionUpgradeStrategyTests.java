@@ -0,0 +1,33 @@
+package com.watermeloncup.draftengine.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CompressionUpgradeStrategyTests {
+
+	private static final String BROWSER_OFFER = "permessage-deflate; client_max_window_bits";
+
+	@Test
+	void addsContextTakeoverParameters() {
+		CompressionUpgradeStrategy handler = new CompressionUpgradeStrategy(null, true, true, true);
+
+		assertThat(handler.rewriteOffer(BROWSER_OFFER)).isEqualTo(
+				"permessage-deflate; client_max_window_bits; server_no_context_takeover; client_no_context_takeover");
+	}
+
+	@Test
+	void leavesOfferAloneWithDefaults() {
+		CompressionUpgradeStrategy handler = new CompressionUpgradeStrategy(null, true, false, false);
+
+		assertThat(handler.rewriteOffer(BROWSER_OFFER)).isEqualTo(BROWSER_OFFER);
+	}
+
+	@Test
+	void dropsDeflateWhenDisabled() {
+		CompressionUpgradeStrategy handler = new CompressionUpgradeStrategy(null, false, false, false);
+
+		assertThat(handler.rewriteOffer(BROWSER_OFFER)).isNull();
+		assertThat(handler.rewriteOffer("x-custom, " + BROWSER_OFFER)).isEqualTo("x-custom");
+	}
+}
@@ -0,0 +1,67 @@
+package com.watermeloncup.draftengine.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+class ConflatingWebSocketSessionDecoratorTests {
+
+	private static TextMessage frame(String destination, String body) {
+		return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\n\n" + body + "\u0000");
+	}
+
+	@Test
+	void conflatesStateFramesAndKeepsEventOrder() throws Exception {
+		WebSocketSession delegate = mock(WebSocketSession.class);
+		when(delegate.getId()).thenReturn("s1");
+		when(delegate.isOpen()).thenReturn(true);
+		List<String> sent = new ArrayList<>();
+		doAnswer(inv -> sent.add(((TextMessage) inv.getArgument(0)).getPayload()))
+				.when(delegate).sendMessage(any(WebSocketMessage.class));
+
+		// Hold flushes until we run them, as if the socket were slow
+		Queue<Runnable> pendingFlushes = new ArrayDeque<>();
+		ConflatingWebSocketSessionDecorator session = new ConflatingWebSocketSessionDecorator(
+				delegate, Set.of("/topic/draft"), pendingFlushes::add, 1 << 20);
+
+		session.sendMessage(frame("/topic/draft", "v1"));
+		session.sendMessage(frame("/topic/pick-response", "e1"));
+		session.sendMessage(frame("/topic/draft", "v2"));
+		session.sendMessage(frame("/topic/pick-response", "e2"));
+
+		assertThat(session.getStats().bufferedFrames()).isEqualTo(3);
+		assertThat(session.getStats().conflatedFrames()).isEqualTo(1);
+
+		while (!pendingFlushes.isEmpty()) {
+			pendingFlushes.poll().run();
+		}
+
+		assertThat(sent).hasSize(3);
+		assertThat(sent.get(0)).contains("v2");
+		assertThat(sent.get(1)).contains("e1");
+		assertThat(sent.get(2)).contains("e2");
+		assertThat(session.getStats().bufferedFrames()).isZero();
+		assertThat(session.getStats().bufferedBytes()).isZero();
+	}
+
+	@Test
+	void ignoresFramesWithoutDestination() {
+		assertThat(ConflatingWebSocketSessionDecorator.destinationOf(new TextMessage("\n"))).isNull();
+		assertThat(ConflatingWebSocketSessionDecorator.destinationOf(frame("/topic/draft", "{}")))
+				.isEqualTo("/topic/draft");
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.watermeloncup.draftengine.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import com.watermeloncup.draftengine.model.SerializedState;
+import com.watermeloncup.draftengine.service.DraftService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class StateRestControllerTests {
+
+	private static final String ETAG = "W/\"lq3x9a-42\"";
+
+	private StateRestController controller;
+
+	@BeforeEach
+	void setUp() {
+		DraftService draft = mock(DraftService.class);
+		when(draft.serializedState()).thenReturn(
+				new SerializedState(null, 42, ETAG, "{}".getBytes(StandardCharsets.UTF_8), null));
+		controller = new StateRestController(draft);
+	}
+
+	@Test
+	void matchingIfNoneMatchAnswersNotModified() {
+		ResponseEntity<byte[]> response = controller.state("\"lq3x9a-42\"", null);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).isNull();
+		assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+		assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+	}
+
+	@Test
+	void staleIfNoneMatchGetsTheState() {
+		ResponseEntity<byte[]> response = controller.state("W/\"lq3x9a-41\"", null);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+		assertThat(response.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+	}
+}
@@ -0,0 +1,49 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+
+import com.google.firebase.FirebaseApp;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AdminAuthServiceTests {
+
+	private static AdminAuthService withTokens(Map<String, Map<String, Object>> claimsByToken) {
+		AdminAuthService auth = new AdminAuthService(mock(FirebaseApp.class)) {
+			@Override
+			Map<String, Object> verify(String idToken) {
+				Map<String, Object> claims = claimsByToken.get(idToken);
+				if (claims == null) {
+					throw new IllegalArgumentException("Invalid token");
+				}
+				return claims;
+			}
+		};
+		ReflectionTestUtils.setField(auth, "adminClaim", "admin");
+		return auth;
+	}
+
+	@Test
+	void onlyAVerifiedTokenWithTheAdminClaimGetsThrough() {
+		AdminAuthService auth = withTokens(Map.of(
+				"admin-token", Map.of("sub", "a", "admin", true),
+				"player-token", Map.of("sub", "p")));
+
+		assertThat(auth.denial("Bearer admin-token")).isNull();
+		assertThat(auth.denial("bearer admin-token")).isNull();
+		assertThat(auth.denial("Bearer player-token").status()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(auth.denial("Bearer forged").status()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(auth.denial("Bearer ").status()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(auth.denial(null).status()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void everyoneIsRefusedWithoutFirebase() {
+		assertThat(new AdminAuthService(null).denial("Bearer admin-token").status())
+				.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+	}
+}
@@ -0,0 +1,91 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BroadcastServiceTests {
+
+	private SimpMessagingTemplate template;
+	private BroadcastService service;
+
+	@BeforeEach
+	void setUp() {
+		template = mock(SimpMessagingTemplate.class);
+		service = new BroadcastService(template, new ObjectMapper(), new DraftMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(service, "negotiableDestinations", Set.of("/topic/draft"));
+		ReflectionTestUtils.setField(service, "enabledFormats", List.of("cbor", "smile"));
+		ReflectionTestUtils.setField(service, "brokerMode", "simple");
+	}
+
+	private static StompHeaderAccessor subscribe(String sessionId, String encoding, boolean binaryFrames) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+		accessor.setSessionId(sessionId);
+		accessor.setSubscriptionId("sub-0");
+		accessor.setDestination("/topic/draft");
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(BroadcastService.BINARY_FRAMES_ATTRIBUTE, binaryFrames);
+		accessor.setSessionAttributes(attributes);
+		if (encoding != null) {
+			accessor.setNativeHeader(BroadcastService.ENCODING_HEADER, encoding);
+		}
+		return accessor;
+	}
+
+	@Test
+	void jsonOnlyWhenNobodyNegotiated() {
+		service.negotiateSubscribe(subscribe("s1", null, true));
+		service.broadcast("/topic/draft", Map.of("round", 1));
+
+		verify(template).convertAndSend("/topic/draft", (Object) Map.of("round", 1));
+		verify(template, never()).send(any(String.class), any(Message.class));
+	}
+
+	@Test
+	void binarySubscriberGetsEncodedVariantUntilDisconnect() throws Exception {
+		StompHeaderAccessor accessor = subscribe("s1", "cbor", true);
+		service.negotiateSubscribe(accessor);
+		assertThat(accessor.getDestination()).isEqualTo("/topic/draft.cbor");
+
+		service.broadcast("/topic/draft", Map.of("round", 1));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+		verify(template).send(eq("/topic/draft.cbor"), sent.capture());
+		JsonNode decoded = new CBORMapper().readTree(sent.getValue().getPayload());
+		assertThat(decoded.get("round").asInt()).isEqualTo(1);
+
+		service.sessionEnded("s1");
+		assertThat(service.getBinarySubscriberCounts()).isEmpty();
+	}
+
+	@Test
+	void textOnlyTransportKeepsJson() {
+		StompHeaderAccessor accessor = subscribe("s1", "smile", false);
+		service.negotiateSubscribe(accessor);
+
+		assertThat(accessor.getDestination()).isEqualTo("/topic/draft");
+		assertThat(service.getBinarySubscriberCounts()).isEmpty();
+	}
+}
@@ -0,0 +1,145 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.watermeloncup.draftengine.model.SerializedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class DraftEventFeedTests {
+
+	private DraftEventFeed feed;
+
+	@BeforeEach
+	void setUp() {
+		feed = new DraftEventFeed(new ObjectMapper());
+		ReflectionTestUtils.setField(feed, "replaySize", 4);
+		ReflectionTestUtils.setField(feed, "maxQueued", 3);
+		ReflectionTestUtils.setField(feed, "timeoutMillis", 0L);
+	}
+
+	private static SerializedState serialized(long version) {
+		return new SerializedState(null, version, "W/\"e-" + version + "\"",
+				("{\"version\":" + version + "}").getBytes(StandardCharsets.UTF_8), null);
+	}
+
+	private void pick(long version) {
+		feed.publishPick(Map.of("pickNumber", version - 1), serialized(version));
+	}
+
+	private static String json(DraftEventFeed.FeedEvent event) {
+		return new String(event.json(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void resumeSendsOnlyTheEventsAfterLastEventId() {
+		feed.publishState(serialized(1));
+		pick(2);
+		pick(3);
+
+		assertThat(feed.backlog(feed.eventId(1)))
+				.extracting(DraftEventFeed.FeedEvent::sequence, DraftEventFeed.FeedEvent::name)
+				.containsExactly(
+						tuple(2L, DraftEventFeed.PICK_EVENT),
+						tuple(3L, DraftEventFeed.PICK_EVENT));
+		assertThat(feed.backlog(feed.eventId(3))).isEmpty();
+	}
+
+	@Test
+	void viewerThatCantResumeGetsTheNewestSnapshot() {
+		feed.publishState(serialized(1));
+		for (long version = 2; version <= 6; version++) {
+			pick(version);
+		}
+
+		// Sequences 1 and 2 have left the four-event buffer
+		List<String> ids = List.of("", "not-an-id", "other-3", feed.eventId(1), feed.eventId(2) + "x", feed.eventId(99));
+		for (String id : ids) {
+			List<DraftEventFeed.FeedEvent> backlog = feed.backlog(id);
+			assertThat(backlog).hasSize(1);
+			assertThat(backlog.get(0).name()).isEqualTo(DraftEventFeed.STATE_EVENT);
+			assertThat(backlog.get(0).sequence()).isEqualTo(6);
+			assertThat(json(backlog.get(0))).isEqualTo("{\"version\":6}");
+		}
+		assertThat(feed.backlog(null)).extracting(DraftEventFeed.FeedEvent::sequence).containsExactly(6L);
+		assertThat(feed.backlog(feed.eventId(3))).extracting(DraftEventFeed.FeedEvent::sequence)
+				.containsExactly(4L, 5L, 6L);
+	}
+
+	@Test
+	void backlogLongerThanAViewerMayQueueIsReplacedBySnapshots() {
+		ReflectionTestUtils.setField(feed, "replaySize", 16);
+		feed.publishState(serialized(1));
+		for (long version = 2; version <= 5; version++) {
+			pick(version);
+		}
+
+		assertThat(feed.backlog(feed.eventId(1))).extracting(DraftEventFeed.FeedEvent::name)
+				.containsExactly(DraftEventFeed.STATE_EVENT);
+		assertThat(feed.backlog(feed.eventId(2))).extracting(DraftEventFeed.FeedEvent::name)
+				.containsExactly(DraftEventFeed.PICK_EVENT, DraftEventFeed.PICK_EVENT, DraftEventFeed.PICK_EVENT);
+	}
+
+	@Test
+	void stateOfAPublishedPickIsNotSentAgain() {
+		feed.publishState(serialized(1));
+		pick(2);
+		feed.publishState(serialized(2));
+
+		assertThat(feed.backlog(feed.eventId(1))).extracting(DraftEventFeed.FeedEvent::name)
+				.containsExactly(DraftEventFeed.PICK_EVENT);
+
+		feed.publishState(serialized(3));
+
+		assertThat(feed.backlog(feed.eventId(1))).extracting(DraftEventFeed.FeedEvent::name)
+				.containsExactly(DraftEventFeed.PICK_EVENT, DraftEventFeed.STATE_EVENT);
+		assertThat(json(feed.backlog(null).get(0))).isEqualTo("{\"version\":3}");
+	}
+
+	@Test
+	void viewerThatFallsBehindIsClosed() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch completed = new CountDownLatch(1);
+		SseEmitter stuck = new SseEmitter(0L) {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				sending.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public synchronized void complete() {
+				completed.countDown();
+			}
+		};
+		feed.publishState(serialized(1));
+		feed.subscribe(null, stuck);
+		assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(feed.getViewerCount()).isEqualTo(1);
+
+		// The first event is stuck in send; three more fill the queue and the fourth overflows it
+		for (long version = 2; version <= 5; version++) {
+			pick(version);
+		}
+
+		assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(feed.getViewerCount()).isZero();
+		release.countDown();
+	}
+}
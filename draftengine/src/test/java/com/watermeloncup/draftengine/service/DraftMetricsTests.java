@@ -0,0 +1,77 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DraftMetricsTests {
+
+	private SimpleMeterRegistry registry;
+	private DraftMetrics metrics;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		metrics = new DraftMetrics(registry);
+	}
+
+	@Test
+	void pickExecutionIsTaggedBySourceAndOutcome() {
+		metrics.pickExecution("live", "captain-1").lowCardinalityKeyValue("outcome", DraftMetrics.SUCCESS).observe(() -> { });
+		metrics.pickExecution("autoskip", "captain-2").lowCardinalityKeyValue("outcome", "rejected").observe(() -> { });
+		metrics.pickExecution("live", "captain-3").lowCardinalityKeyValue("outcome", DraftMetrics.SUCCESS).observe(() -> { });
+
+		Timer live = registry.get("draft.pick.execution").tags("source", "live", "outcome", "success").timer();
+		assertThat(live.count()).isEqualTo(2);
+		assertThat(registry.get("draft.pick.execution").tags("source", "autoskip").timer().count()).isEqualTo(1);
+		// The captain is a span attribute only, not a meter tag
+		assertThat(live.getId().getTag(DraftMetrics.CAPTAIN_KEY)).isNull();
+	}
+
+	@Test
+	void broadcastsInsideAPickAreItsChildren() {
+		Observation pick = metrics.pickExecution("live", "captain-1").start();
+		try (Observation.Scope scope = pick.openScope()) {
+			Observation broadcast = metrics.broadcast("/topic/draft");
+			broadcast.observe(() -> { });
+			assertThat(broadcast.getContext().getParentObservation()).isSameAs(pick);
+		} finally {
+			pick.stop();
+		}
+
+		assertThat(registry.get("draft.broadcast").tag("destination", "/topic/draft").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void firstScheduledRunHasNoLag() {
+		metrics.scheduledTaskStarted("pick-expiry", 1000, false);
+		metrics.scheduledTaskFinished("pick-expiry");
+
+		assertThat(registry.find("draft.scheduled.lag").timer()).isNull();
+	}
+
+	@Test
+	void fixedDelayLagCountsFromThePreviousEnd() {
+		metrics.scheduledTaskStarted("pick-expiry", 0, false);
+		metrics.scheduledTaskFinished("pick-expiry");
+		metrics.scheduledTaskStarted("pick-expiry", 0, false);
+
+		Timer lag = registry.get("draft.scheduled.lag").tag("task", "pick-expiry").timer();
+		assertThat(lag.count()).isEqualTo(1);
+	}
+
+	@Test
+	void runsThatStartEarlyAreRecordedAsOnTime() {
+		metrics.scheduledTaskStarted("session-reaper", 60_000, true);
+		metrics.scheduledTaskStarted("session-reaper", 60_000, true);
+
+		Timer lag = registry.get("draft.scheduled.lag").tag("task", "session-reaper").timer();
+		assertThat(lag.totalTime(TimeUnit.NANOSECONDS)).isZero();
+	}
+}
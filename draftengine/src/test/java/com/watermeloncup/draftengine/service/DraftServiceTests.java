@@ -0,0 +1,201 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.watermeloncup.draftengine.model.Captain;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.Season;
+import com.watermeloncup.draftengine.model.SerializedState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DraftServiceTests {
+
+	private static final Instant START = Instant.parse("2026-01-01T18:00:00Z");
+
+	private final MovableClock clock = new MovableClock(START);
+
+	private DraftService draftService(long seed) {
+		SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+		ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+		DraftMetrics metrics = new DraftMetrics(new SimpleMeterRegistry());
+		BroadcastService broadcastService = new BroadcastService(template, objectMapper, metrics);
+		ReflectionTestUtils.setField(broadcastService, "negotiableDestinations", Set.of("/topic/draft"));
+		ReflectionTestUtils.setField(broadcastService, "enabledFormats", List.of("cbor"));
+		ReflectionTestUtils.setField(broadcastService, "brokerMode", "simple");
+		StateCache stateCache = new StateCache(objectMapper, metrics);
+		ReflectionTestUtils.setField(stateCache, "gzipMinBytes", 1024);
+		DraftUpdateLog updateLog = new DraftUpdateLog();
+		ReflectionTestUtils.setField(updateLog, "bufferSize", 16);
+		DraftEventFeed eventFeed = new DraftEventFeed(objectMapper);
+		ReflectionTestUtils.setField(eventFeed, "replaySize", 16);
+		PlayerSource players = DraftServiceTests::players;
+		return new DraftService(template, null, new GoogleSheetsService(), new ReplicationLog(template),
+				broadcastService, stateCache, eventFeed, updateLog, new PlayerIndex(new Season(2026)),
+				new StaticListableBeanFactory(Map.of("playerSource", players)).getBeanProvider(PlayerSource.class),
+				metrics, clock, new Random(seed), new Season(2026));
+	}
+
+	private static List<Player> players() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			players.add(new Player("player-" + i, "First" + i, "Last" + i, List.of("Midfielder"), "Club",
+					"right", "2027", "player" + i + "@example.com", null, null, new Season(2026).bit()));
+		}
+		return players;
+	}
+
+	private static List<Captain> captains() {
+		List<Captain> captains = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			captains.add(new Captain("captain-" + i, "captain" + i + "@example.com", "Captain", "Number" + i,
+					"session-" + i));
+		}
+		return captains;
+	}
+
+	@Test
+	void pickDeadlinesComeFromTheClock() {
+		DraftService draft = draftService(1);
+		draft.initializeWithCaptains(captains());
+		assertThat(draft.currentState().pickExpiresAt()).isEqualTo(START.plus(DraftService.PICK_TIME));
+
+		clock.advance(Duration.ofSeconds(30));
+		DraftState state = draft.currentState();
+		draft.makePick(state.currentCaptainId(), state.availablePool().get(0).id());
+
+		assertThat(draft.currentState().pickExpiresAt())
+				.isEqualTo(START.plusSeconds(30).plus(DraftService.PICK_TIME));
+	}
+
+	@Test
+	void expiredPickIsMadeOnlyOnceTheClockPassesTheDeadline() {
+		DraftService draft = draftService(1);
+		draft.initializeWithCaptains(captains());
+		String onClock = draft.currentState().currentCaptainId();
+
+		clock.advance(DraftService.PICK_TIME);
+		draft.checkPickExpiry();
+		assertThat(draft.currentState().teams().get(onClock)).isEmpty();
+
+		clock.advance(Duration.ofSeconds(1));
+		draft.checkPickExpiry();
+		assertThat(draft.currentState().teams().get(onClock)).hasSize(1);
+		assertThat(draft.currentState().currentCaptainId()).isNotEqualTo(onClock);
+	}
+
+	@Test
+	void sameSeedGivesTheSameRandomDraftOrder() {
+		DraftService first = draftService(7);
+		DraftService second = draftService(7);
+		first.initializeWithCaptains(captains());
+		second.initializeWithCaptains(captains());
+
+		assertThat(first.currentState().draftOrder()).isEqualTo(second.currentState().draftOrder());
+	}
+
+	@Test
+	void mirroredPickIsRecognizedAndDescribedWithTheNextTurn() {
+		DraftService draft = draftService(1);
+		draft.initializeWithCaptains(captains());
+		DraftState before = draft.currentState();
+		String onClock = before.currentCaptainId();
+		draft.makePick(onClock, before.availablePool().get(0).id());
+		DraftState after = draft.currentState();
+
+		assertThat(DraftService.pickedBy(before, after)).isEqualTo(onClock);
+		assertThat(DraftService.pickedBy(after, after)).isNull();
+		assertThat(DraftService.pickedBy(after, before)).isNull();
+
+		Map<String, Object> pick = DraftService.pickEvent(onClock, after);
+		assertThat(pick).containsEntry("pickNumber", 1)
+				.containsEntry("round", 1)
+				.containsEntry("captainId", onClock)
+				.containsEntry("player", before.availablePool().get(0))
+				.containsEntry("currentCaptainId", after.currentCaptainId())
+				.containsEntry("nextCaptainId", after.nextCaptainId())
+				.containsEntry("pickExpiresAt", after.pickExpiresAt());
+	}
+
+	@Test
+	void readersNeverServeAnOlderStateUnderANewerVersion() throws Exception {
+		for (int run = 0; run < 50; run++) {
+			DraftService draft = draftService(run);
+			draft.initializeWithCaptains(captains());
+			long started = draft.serializedState().version();
+			Map<DraftState, Long> versions = new IdentityHashMap<>();
+			AtomicBoolean picking = new AtomicBoolean(true);
+			AtomicReference<String> failure = new AtomicReference<>();
+			Thread reader = new Thread(() -> {
+				long last = 0;
+				while (picking.get() && failure.get() == null) {
+					SerializedState serialized = draft.serializedState();
+					long first = versions.computeIfAbsent(serialized.state(), s -> serialized.version());
+					if (serialized.version() < last || first != serialized.version()) {
+						failure.set("version " + serialized.version() + " after " + last + ", first served as " + first);
+					}
+					last = serialized.version();
+				}
+			});
+			reader.start();
+			while (!draft.currentState().availablePool().isEmpty()) {
+				DraftState state = draft.currentState();
+				draft.makePick(state.currentCaptainId(), state.availablePool().get(0).id());
+			}
+			picking.set(false);
+			reader.join();
+
+			assertThat(failure.get()).isNull();
+			// One new version per pick, so no state was serialized twice
+			assertThat(draft.serializedState().version()).isEqualTo(started + players().size());
+		}
+	}
+
+	private static final class MovableClock extends Clock {
+		private Instant now;
+
+		MovableClock(Instant start) {
+			this.now = start;
+		}
+
+		void advance(Duration amount) {
+			now = now.plus(amount);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return Clock.fixed(now, zone);
+		}
+	}
+}
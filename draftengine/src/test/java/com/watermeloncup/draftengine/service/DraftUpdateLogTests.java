@@ -0,0 +1,82 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.DraftUpdate;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.SerializedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DraftUpdateLogTests {
+
+	private DraftUpdateLog log;
+
+	@BeforeEach
+	void setUp() {
+		log = new DraftUpdateLog();
+		ReflectionTestUtils.setField(log, "bufferSize", 2);
+	}
+
+	private static PlayerView player(String id) {
+		return new PlayerView(id, "Player " + id, List.of(), null, null, null);
+	}
+
+	private static DraftState state(List<PlayerView> pool, Map<String, List<PlayerView>> teams) {
+		return new DraftState("c1", "c2", "One", "Two", pool, teams, null, null,
+				true, new ArrayList<>(), new HashMap<>(), false, List.of("c1", "c2"), 0);
+	}
+
+	private static SerializedState serialized(long version, DraftState state) {
+		return new SerializedState(state, version, "W/\"e-" + version + "\"", new byte[0], null);
+	}
+
+	@Test
+	void pickIsSentAsPoolAndTeamDiff() {
+		DraftState before = state(List.of(player("a"), player("b"), player("c")), Map.of());
+		DraftState after = state(List.of(player("a"), player("c")), Map.of("c1", List.of(player("b"))));
+
+		DraftUpdate update = DraftUpdateLog.diff("e-1", "e-2", before, after);
+
+		assertThat(update.removedFromPool()).containsExactly("b");
+		assertThat(update.availablePool()).isNull();
+		assertThat(update.addedToTeams()).containsEntry("c1", List.of(player("b")));
+		assertThat(update.teams()).isNull();
+		assertThat(update.captains()).isNull();
+		assertThat(update.draftOrder()).isNull();
+	}
+
+	@Test
+	void rebuiltPoolIsSentWhole() {
+		DraftState before = state(List.of(player("a")), Map.of());
+		DraftState after = state(List.of(player("b"), player("a")), Map.of());
+
+		DraftUpdate update = DraftUpdateLog.diff("e-1", "e-2", before, after);
+
+		assertThat(update.removedFromPool()).isNull();
+		assertThat(update.availablePool()).containsExactly(player("b"), player("a"));
+	}
+
+	@Test
+	void catchUpReturnsMissedUpdatesOrNullWhenTooOld() {
+		log.record(serialized(1, state(List.of(player("a"), player("b"), player("c")), Map.of())));
+		log.record(serialized(2, state(List.of(player("b"), player("c")), Map.of("c1", List.of(player("a"))))));
+		log.record(serialized(3, state(List.of(player("c")), Map.of("c1", List.of(player("a")), "c2", List.of(player("b"))))));
+
+		assertThat(log.since("e-3")).isEmpty();
+		assertThat(log.since("e-2")).extracting(DraftUpdate::version).containsExactly("e-3");
+		assertThat(log.since("e-1")).extracting(DraftUpdate::version).containsExactly("e-2", "e-3");
+
+		log.record(serialized(4, state(List.of(), Map.of("c1", List.of(player("a"), player("c")), "c2", List.of(player("b"))))));
+
+		assertThat(log.since("e-1")).isNull();
+		assertThat(log.since("other-3")).isNull();
+	}
+}
@@ -0,0 +1,136 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.PlayerPage;
+import com.watermeloncup.draftengine.model.PlayerQuery;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.Season;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlayerIndexTests {
+
+	private static final Season SEASON = new Season(2026);
+
+	private PlayerIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PlayerIndex(SEASON);
+		index.rebuild(List.of(
+				player("a", "Adams", List.of("Midfielder", "Forward"), "Rovers", "right", "2027", true),
+				player("b", "Baker", List.of("Defender"), "Rovers", "left", "2026", false),
+				player("c", "Clark", List.of("Midfielder"), "United", "right", "2026", true),
+				player("d", "Davis", "Goalkeeper", "United", "right", "2028", false)));
+	}
+
+	private static Player player(String id, String lastName, Object position, String club, String foot,
+			String gradYear, boolean returning) {
+		long seasons = SEASON.bit() | (returning ? new Season(2025).bit() : 0);
+		return new Player(id, "First", lastName, position, club, foot, gradYear, id + "@example.com", null, null,
+				seasons);
+	}
+
+	private static PlayerQuery query(Set<String> positions, Set<String> clubs, Boolean returning) {
+		return new PlayerQuery(positions, null, clubs, null, returning, null, false, 0, 50);
+	}
+
+	private static List<String> ids(PlayerPage page) {
+		return page.players().stream().map(PlayerView::id).toList();
+	}
+
+	@Test
+	void filtersCombineAcrossFacetsAndMatchAnyValueWithinOne() {
+		PlayerPage page = index.query(query(Set.of("midfielder", "Goalkeeper"), Set.of("United"), null));
+
+		assertThat(ids(page)).containsExactly("c", "d");
+		assertThat(page.total()).isEqualTo(2);
+	}
+
+	@Test
+	void facetCountsLeaveOutTheirOwnFilter() {
+		PlayerPage page = index.query(query(Set.of("Midfielder"), Set.of("Rovers"), null));
+
+		assertThat(ids(page)).containsExactly("a");
+		assertThat(page.facets().get(PlayerIndex.CLUB)).isEqualTo(Map.of("Rovers", 1, "United", 1));
+		assertThat(page.facets().get(PlayerIndex.POSITION))
+				.isEqualTo(Map.of("Midfielder", 1, "Forward", 1, "Defender", 1));
+		assertThat(page.facets().get(PlayerIndex.RETURNING)).isEqualTo(Map.of("true", 1, "false", 0));
+	}
+
+	@Test
+	void draftedPlayersLeaveEveryQuery() {
+		index.drafted("c");
+
+		assertThat(ids(index.query(query(Set.of("Midfielder"), null, true)))).containsExactly("a");
+		assertThat(index.getAvailableCount()).isEqualTo(3);
+
+		index.available(List.of(PlayerView.of(player("c", "Clark", List.of("Midfielder"), "United", "right",
+				"2026", true))));
+		assertThat(ids(index.query(query(null, null, null)))).containsExactly("c");
+	}
+
+	@Test
+	void returningMeansRegisteredForAnyEarlierSeason() {
+		Player skippedLastSeason = player("e", "Evans", List.of(), null, null, null, false);
+		skippedLastSeason.setRegisteredFor(new Season(2024), true);
+		Player nextSeasonOnly = player("f", "Ford", List.of(), null, null, null, false);
+		nextSeasonOnly.setSeasons(new Season(2027).bit());
+		index.rebuild(List.of(skippedLastSeason, nextSeasonOnly,
+				player("a", "Adams", List.of(), null, null, null, true)));
+
+		assertThat(ids(index.query(query(null, null, true)))).containsExactly("a", "e");
+		assertThat(ids(index.query(query(null, null, false)))).containsExactly("f");
+	}
+
+	@Test
+	void sortsAndPages() {
+		PlayerQuery byYear = new PlayerQuery(null, null, null, null, null, PlayerQuery.Sort.GRAD_YEAR, true, 1, 2);
+		PlayerPage page = index.query(byYear);
+
+		assertThat(ids(page)).containsExactly("c", "b");
+		assertThat(page.total()).isEqualTo(4);
+	}
+
+	@Test
+	void pagePastTheEndIsEmptyEvenWhenTheOffsetOverflowsAnInt() {
+		PlayerQuery pastTheEnd = new PlayerQuery(null, null, null, null, null, PlayerQuery.Sort.NAME, false, 2, 2);
+		assertThat(ids(index.query(pastTheEnd))).isEmpty();
+
+		// 2^23 * 500 overflows an int to a negative skip, which used to return the first page again
+		PlayerQuery overflowing = new PlayerQuery(null, null, null, null, null, PlayerQuery.Sort.NAME, false,
+				1 << 23, 500);
+		PlayerPage page = index.query(overflowing);
+		assertThat(ids(page)).isEmpty();
+		assertThat(page.total()).isEqualTo(4);
+	}
+
+	@Test
+	void searchMatchesUnfinishedAndMisspelledNames() {
+		assertThat(index.search("cla", 10).players()).extracting(PlayerView::id).containsExactly("c");
+		assertThat(index.search("Clrak", 10).players()).extracting(PlayerView::id).containsExactly("c");
+		assertThat(index.search("first davs", 10).players()).extracting(PlayerView::id).containsExactly("d");
+		assertThat(index.search("  ", 10).players()).isEmpty();
+	}
+
+	@Test
+	void searchRanksExactMatchesFirstAndSkipsDraftedPlayers() {
+		index.rebuild(List.of(
+				player("davidson", "Davidson", List.of(), null, null, null, false),
+				player("dave", "Dave", List.of(), null, null, null, false),
+				player("davis", "Davis", List.of(), null, null, null, false)));
+
+		assertThat(index.search("dave", 10).players()).extracting(PlayerView::id)
+				.containsExactly("dave", "davis", "davidson");
+
+		index.drafted("dave");
+		assertThat(index.search("dave", 10).players()).extracting(PlayerView::id)
+				.containsExactly("davis", "davidson");
+	}
+}
@@ -0,0 +1,32 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.watermeloncup.draftengine.model.Player;
+import com.watermeloncup.draftengine.model.Season;
+import org.junit.jupiter.api.Test;
+
+class RegistrationExportServiceTests {
+
+	@Test
+	void rowsFollowTheHeaderAndQuoteWhereNeeded() {
+		Season season = new Season(2026);
+		Player player = new Player("u1", "Ana", "Lopez", List.of("Defender", "Midfielder"), "FC \"Reds\"", "left",
+				"2027", "ana@example.com", null, null, new Season(2024).bit() | season.bit());
+
+		assertThat(RegistrationExportService.header(season)).endsWith("registered2024", "registered2025",
+				"registered2026");
+		assertThat(RegistrationExportService.row(player, season)).isEqualTo(
+				"u1,Ana,Lopez,,ana@example.com,,\"Defender, Midfielder\",\"FC \"\"Reds\"\"\",left,2027,true,false,true\r\n");
+		assertThat(Csv.parseLine(RegistrationExportService.row(player, season).strip()))
+				.hasSameSizeAs(RegistrationExportService.header(season));
+	}
+
+	@Test
+	void cutShortExportEndsWithARowSayingSo() {
+		assertThat(Csv.parseLine(RegistrationExportService.incomplete(1000, "DEADLINE_EXCEEDED, retry").strip()))
+				.containsExactly("EXPORT INCOMPLETE", "Stopped after 1000 users: DEADLINE_EXCEEDED, retry");
+	}
+}
@@ -0,0 +1,93 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.Schedule;
+import com.watermeloncup.draftengine.model.ScheduleRequest;
+import com.watermeloncup.draftengine.model.ScheduledMatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ScheduleServiceTests {
+
+	private static final List<String> TEAMS = List.of("c1", "c2", "c3", "c4", "c5", "c6");
+
+	private ScheduleService scheduleService;
+
+	@BeforeEach
+	void setUp() {
+		DraftService draftService = mock(DraftService.class);
+		Map<String, List<PlayerView>> teams = TEAMS.stream()
+				.collect(Collectors.toMap(id -> id, id -> List.of()));
+		when(draftService.currentState()).thenReturn(new DraftState(null, null, null, null, List.of(), teams, null,
+				null, true, List.of(), Map.of(), true, TEAMS, 0));
+		scheduleService = new ScheduleService(draftService);
+		ReflectionTestUtils.setField(scheduleService, "defaultFields", List.of("Wakeman 1", "Wakeman 2", "Grass"));
+		ReflectionTestUtils.setField(scheduleService, "defaultWeeks", 4);
+		ReflectionTestUtils.setField(scheduleService, "defaultRoundsPerWeek", 2);
+		ReflectionTestUtils.setField(scheduleService, "defaultMinRestRounds", 0);
+		ReflectionTestUtils.setField(scheduleService, "defaultTimeBudgetMillis", 10000L);
+		ReflectionTestUtils.setField(scheduleService, "maxTimeBudgetMillis", 10000L);
+		ReflectionTestUtils.setField(scheduleService, "parallelism", 2);
+		scheduleService.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduleService.shutdown();
+	}
+
+	@Test
+	void schedulesTheDraftedTeamsAroundUnavailableSlots() {
+		ScheduleRequest request = new ScheduleRequest(null, null, null, null,
+				List.of(new ScheduleRequest.Slot(2, 1, "Grass")), null, 1L, null);
+
+		Schedule schedule = scheduleService.generate(request);
+
+		assertThat(schedule.matches()).hasSize(23);
+		assertThat(schedule.matches()).noneMatch(match -> match.week() == 2 && match.round() == 1
+				&& match.fieldLocation().equals("Grass"));
+		assertThat(schedule.teamNames()).containsOnlyKeys(TEAMS);
+		for (int week = 1; week <= 4; week++) {
+			for (int round = 1; round <= 2; round++) {
+				int w = week;
+				int r = round;
+				List<ScheduledMatch> matches = schedule.matches().stream()
+						.filter(match -> match.week() == w && match.round() == r)
+						.toList();
+				Set<String> playing = new HashSet<>();
+				matches.forEach(match -> {
+					playing.add(match.homeTeamId());
+					playing.add(match.awayTeamId());
+				});
+				assertThat(playing).hasSize(2 * matches.size());
+			}
+		}
+		// Six teams in 23 slots can meet every soft constraint
+		assertThat(schedule.score()).isZero();
+	}
+
+	@Test
+	void rejectsRequestsThatCannotBeScheduled() {
+		assertThatThrownBy(() -> scheduleService.generate(
+				new ScheduleRequest(List.of("c1"), null, null, null, null, null, 1L, 100L)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> scheduleService.generate(
+				new ScheduleRequest(null, null, null, null, List.of(new ScheduleRequest.Slot(5, 1, "Grass")),
+						null, 1L, 100L)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,90 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.watermeloncup.draftengine.model.ScoreUploadResult;
+import org.junit.jupiter.api.Test;
+
+class ScoreIngestionServiceTests {
+
+	private static final ScoreIngestionService.LeagueSchedule SCHEDULE = new ScoreIngestionService.LeagueSchedule(
+			Map.of(
+					"m1", new ScoreIngestionService.LeagueMatch("italy", "brazil", 1, 1, null, null),
+					"m2", new ScoreIngestionService.LeagueMatch("canada", "ghana", 1, 1, null, null),
+					"m3", new ScoreIngestionService.LeagueMatch("italy", "canada", 1, 2, 2, 2)),
+			Map.of("italy", "italy", "brazil", "brazil", "canada", "canada", "ghana", "ghana",
+					"team italy", "italy"));
+
+	private static Map<String, String> row(String... keysAndValues) {
+		Map<String, String> row = new HashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			row.put(ScoreIngestionService.column(keysAndValues[i]), keysAndValues[i + 1]);
+		}
+		return row;
+	}
+
+	@Test
+	void acceptsRowsByMatchIdOrByWeekRoundAndTeamNames() {
+		ScoreIngestionService.Validation validation = new ScoreIngestionService.Validation(SCHEDULE, false);
+		validation.check(row("matchId", "m1", "homeScore", "3", "awayScore", "1"));
+		validation.check(row("Week", "1", "Round", "1", "Home Team", "Canada", "Away Team", "Ghana",
+				"homeScore", "0", "awayScore", "0"));
+		validation.check(row("matchId", "m3", "homeScore", "2", "awayScore", "2"));
+
+		assertThat(validation.accepted()).extracting(ScoreIngestionService.Accepted::matchId)
+				.containsExactly("m1", "m2");
+		ScoreUploadResult result = validation.result(true);
+		assertThat(result.received()).isEqualTo(3);
+		assertThat(result.unchanged()).isEqualTo(1);
+		assertThat(result.errors()).isEmpty();
+	}
+
+	@Test
+	void rejectsBadRowsAndConflictingDuplicates() {
+		ScoreIngestionService.Validation validation = new ScoreIngestionService.Validation(SCHEDULE, false);
+		validation.check(row("matchId", "m1", "homeScore", "3", "awayScore", "1"));
+		validation.check(row("matchId", "m2", "homeScore", "-1", "awayScore", "1"));
+		validation.check(row("week", "1", "round", "1", "home", "Brazil", "away", "Italy",
+				"homeScore", "1", "awayScore", "1"));
+		validation.check(row("matchId", "m1", "home", "Spain", "homeScore", "3", "awayScore", "1"));
+		validation.check(row("matchId", "m3", "homeScore", "1", "awayScore", "0"));
+		validation.check(row("matchId", "m1", "homeScore", "1", "awayScore", "3"));
+
+		assertThat(validation.accepted()).isEmpty();
+		ScoreUploadResult result = validation.result(false);
+		assertThat(result.received()).isEqualTo(6);
+		assertThat(result.rejected()).isEqualTo(6);
+		assertThat(result.errors()).extracting(ScoreUploadResult.RowError::row).containsExactly(1, 2, 3, 4, 5, 6);
+		assertThat(result.errors().get(0).message()).isEqualTo("Conflicts with row 6");
+		assertThat(result.errors().get(4).message()).startsWith("Already recorded as 2-2");
+	}
+
+	@Test
+	void unknownTeamNamesTheColumnThatFailed() {
+		ScoreIngestionService.Validation validation = new ScoreIngestionService.Validation(SCHEDULE, false);
+		validation.check(row("matchId", "m1", "away", "Spain", "homeScore", "3", "awayScore", "1"));
+		validation.check(row("matchId", "m1", "home", "Spain", "away", "Brazil", "homeScore", "3", "awayScore", "1"));
+
+		assertThat(validation.result(false).errors()).extracting(ScoreUploadResult.RowError::message)
+				.containsExactly("Unknown away team: Spain", "Unknown home team: Spain");
+	}
+
+	@Test
+	void overwriteReplacesRecordedScores() {
+		ScoreIngestionService.Validation validation = new ScoreIngestionService.Validation(SCHEDULE, true);
+		validation.check(row("matchId", "m3", "homeScore", "1", "awayScore", "0", "home", "team italy"));
+
+		assertThat(validation.accepted()).containsExactly(
+				new ScoreIngestionService.Accepted(1, "m3", "italy", "canada", 1, 0));
+	}
+
+	@Test
+	void csvFieldsMayBeQuoted() {
+		assertThat(Csv.parseLine("m1,\"Team \"\"A\"\", FC\",,2")).isEqualTo(List.of("m1", "Team \"A\", FC", "", "2"));
+		assertThat(Csv.escape("Team \"A\", FC")).isEqualTo("\"Team \"\"A\"\", FC\"");
+	}
+}
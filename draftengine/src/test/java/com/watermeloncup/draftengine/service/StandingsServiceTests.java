@@ -0,0 +1,126 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.watermeloncup.draftengine.model.MatchResult;
+import com.watermeloncup.draftengine.model.Standings;
+import com.watermeloncup.draftengine.model.TeamStanding;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class StandingsServiceTests {
+
+	private StandingsService standingsService;
+
+	@BeforeEach
+	void setUp() {
+		standingsService = new StandingsService(null, new DraftMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(standingsService, "loadTimeoutMillis", 1000L);
+		ReflectionTestUtils.setField(standingsService, "idleMillis", 60_000L);
+		ReflectionTestUtils.setField(standingsService, "maxLeagues", 2);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, ?> leagues(StandingsService service) {
+		return (Map<String, ?>) ReflectionTestUtils.getField(service, "leagues");
+	}
+
+	@Test
+	void tableIsOrderedByPointsThenGoalDifferenceThenGoalsScored() {
+		standingsService.recordResult("league", "m1", new MatchResult("a", "b", 2, 0));
+		standingsService.recordResult("league", "m2", new MatchResult("c", "d", 3, 1));
+		standingsService.recordResult("league", "m3", new MatchResult("b", "d", 1, 1));
+
+		Standings standings = standingsService.standings("league");
+
+		assertThat(standings.teams()).extracting(TeamStanding::teamId).containsExactly("c", "a", "d", "b");
+		assertThat(standings.teams().get(3)).isEqualTo(new TeamStanding("b", 2, 0, 1, 1, 1, 3, -2, 1));
+	}
+
+	@Test
+	void correctedResultReplacesTheOldOneAndRepeatsChangeNothing() {
+		standingsService.recordResult("league", "m1", new MatchResult("a", "b", 2, 0));
+		Standings before = standingsService.standings("league");
+
+		standingsService.recordResult("league", "m1", new MatchResult("a", "b", 2, 0));
+		assertThat(standingsService.standings("league")).isSameAs(before);
+
+		standingsService.recordResult("league", "m1", new MatchResult("a", "b", 0, 1));
+		Standings after = standingsService.standings("league");
+		assertThat(after.version()).isGreaterThan(before.version());
+		assertThat(after.etag()).isNotEqualTo(before.etag());
+		assertThat(after.teams()).containsExactly(
+				new TeamStanding("b", 1, 1, 0, 0, 1, 0, 1, 3),
+				new TeamStanding("a", 1, 0, 0, 1, 0, 1, -1, 0));
+
+		standingsService.recordResult("league", "m1", null);
+		assertThat(standingsService.standings("league").teams()).isEmpty();
+	}
+
+	@Test
+	void rebuiltTableNeverReusesAnEtag() {
+		standingsService.recordResult("league", "m1", new MatchResult("a", "b", 2, 0));
+		Standings before = standingsService.standings("league");
+
+		// As after a lost listener: the table is dropped and built again from version 0
+		leagues(standingsService).remove("league");
+		standingsService.recordResult("league", "m1", new MatchResult("a", "b", 0, 1));
+		Standings after = standingsService.standings("league");
+
+		assertThat(after.version()).isEqualTo(before.version());
+		assertThat(after.etag()).isNotEqualTo(before.etag());
+	}
+
+	@Test
+	void onlyCompletedMatchesWithBothScoresCount() {
+		assertThat(StandingsService.result("completed", "a", "b", 2L, "1"))
+				.isEqualTo(new MatchResult("a", "b", 2, 1));
+		assertThat(StandingsService.result(null, "a", "b", 0, 0)).isEqualTo(new MatchResult("a", "b", 0, 0));
+		assertThat(StandingsService.result("upcoming", "a", "b", 2, 1)).isNull();
+		assertThat(StandingsService.result(null, "a", "b", 2, null)).isNull();
+		assertThat(StandingsService.result(null, "a", "b", "", 1)).isNull();
+	}
+
+	@Test
+	void unknownLeagueIsNeverFollowed() {
+		StandingsService known = new StandingsService(null, new DraftMetrics(new SimpleMeterRegistry())) {
+			@Override
+			boolean leagueExists(String leagueId) {
+				return Set.of("league").contains(leagueId);
+			}
+		};
+		ReflectionTestUtils.setField(known, "loadTimeoutMillis", 1000L);
+		ReflectionTestUtils.setField(known, "maxLeagues", 2);
+
+		assertThatThrownBy(() -> known.standings("nope")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(known.standings("league").teams()).isEmpty();
+		assertThat(leagues(known)).containsOnlyKeys("league");
+	}
+
+	@Test
+	void leastRecentlyReadLeagueMakesRoomAndIdleOnesAreDropped() throws InterruptedException {
+		standingsService.standings("first");
+		Thread.sleep(5);
+		standingsService.standings("second");
+		Thread.sleep(5);
+		standingsService.standings("first");
+		Thread.sleep(5);
+		standingsService.standings("third");
+		assertThat(leagues(standingsService)).containsOnlyKeys("first", "third");
+
+		long now = System.currentTimeMillis();
+		assertThat(standingsService.evictIdle(now)).isZero();
+		assertThat(standingsService.evictIdle(now + 60_001)).isEqualTo(2);
+		assertThat(leagues(standingsService)).isEmpty();
+
+		// A dropped league starts over on its next read
+		standingsService.recordResult("first", "m1", new MatchResult("a", "b", 1, 0));
+		assertThat(standingsService.standings("first").teams()).hasSize(2);
+	}
+}
@@ -0,0 +1,72 @@
+package com.watermeloncup.draftengine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.watermeloncup.draftengine.model.DraftState;
+import com.watermeloncup.draftengine.model.PlayerView;
+import com.watermeloncup.draftengine.model.SerializedState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class StateCacheTests {
+
+	private StateCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new StateCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+				new DraftMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(cache, "gzipMinBytes", 1024);
+	}
+
+	private static DraftState state(int round, int players) {
+		List<PlayerView> pool = new ArrayList<>();
+		for (int i = 0; i < players; i++) {
+			pool.add(new PlayerView("p" + i, "Player " + i, List.of("Midfield"), "Club", "right", "2027"));
+		}
+		return new DraftState(null, null, null, null, pool, new HashMap<>(), null, null,
+				false, new ArrayList<>(), new HashMap<>(), false, new ArrayList<>(), round);
+	}
+
+	@Test
+	void sameStateIsSerializedOnce() {
+		DraftState state = state(1, 2);
+
+		SerializedState first = cache.serialize(state);
+
+		assertThat(cache.serialize(state)).isSameAs(first);
+		assertThat(first.etag()).startsWith("W/\"").endsWith("-1\"");
+	}
+
+	@Test
+	void versionOnlyMovesWhenJsonChanges() {
+		SerializedState first = cache.serialize(state(1, 2));
+		SerializedState copy = cache.serialize(state(1, 2));
+		SerializedState changed = cache.serialize(state(2, 2));
+
+		assertThat(copy.etag()).isEqualTo(first.etag());
+		assertThat(changed.version()).isEqualTo(first.version() + 1);
+		assertThat(changed.etag()).isNotEqualTo(first.etag());
+	}
+
+	@Test
+	void largeStatesAreAlsoGzipped() throws Exception {
+		assertThat(cache.serialize(state(1, 1)).gzip()).isNull();
+
+		SerializedState large = cache.serialize(state(1, 50));
+
+		byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(large.gzip())).readAllBytes();
+		assertThat(unzipped).isEqualTo(large.json());
+		assertThat(new ObjectMapper().readTree(unzipped).has("availablePool")).isTrue();
+	}
+}
@@ -4,7 +4,7 @@ import '../styles/PlayerCard.css';
 const PlayerCard = ({ player, isSelected, onSelect }) => {
   // Helper function to get initials from first and last name
   const getPlayerInitials = (firstName, lastName) => {
-    return `${firstName[0]}${lastName[0]}`;
+    return `${firstName[0] || ''}${lastName[0] || ''}`;
   };
 
   // Helper function to determine card type based on graduation year
@@ -66,9 +66,17 @@ const PlayerCard = ({ player, isSelected, onSelect }) => {
   // Limit to 3 positions max
   positions = positions.slice(0, 3);
   
-  const foot = player.foot || (player.footPref === 'left' ? 'Left' : 'Right');
-  const team = player.team || player.clubTeam;
-  const gradYear = player.graduationYear || new Date().getFullYear() + 1; // Default to next year if not provided
+  const footPref = player.foot || player.footPref;
+  const foot = footPref && footPref.toLowerCase() === 'left' ? 'Left' : 'Right';
+  const team = player.team || player.club || player.clubTeam;
+  const gradYear = player.gradYear || player.graduationYear || new Date().getFullYear() + 1; // Default to next year if not provided
+
+  // Draft broadcasts carry a single displayName ('First "Nick" Last'); mock data has separate fields
+  const nicknameMatch = player.displayName ? player.displayName.match(/"([^"]*)"/) : null;
+  const nickname = player.nickname || (nicknameMatch ? nicknameMatch[1] : null);
+  const nameParts = (player.displayName || '').replace(/\s*"[^"]*"\s*/, ' ').trim().split(/\s+/);
+  const firstName = player.firstName || nameParts[0] || '';
+  const lastName = player.lastName || nameParts.slice(1).join(' ') || firstName;
   
   return (
     <div 
@@ -91,12 +99,12 @@ const PlayerCard = ({ player, isSelected, onSelect }) => {
           <div className="fifa-card-year">{gradYear}</div>
         </div>
 
-        <div className="fifa-card-photo">{getPlayerInitials(player.firstName, player.lastName)}</div>
+        <div className="fifa-card-photo">{getPlayerInitials(firstName, lastName)}</div>
 
         <div className="fifa-card-info">
-          <div className="fifa-card-name">{player.lastName}</div>
-          {player.nickname && player.nickname !== `${player.firstName} ${player.lastName}` && (
-            <div className="fifa-card-nickname">"{player.nickname}"</div>
+          <div className="fifa-card-name">{lastName}</div>
+          {nickname && nickname !== `${firstName} ${lastName}` && (
+            <div className="fifa-card-nickname">"{nickname}"</div>
           )}
         </div>
 
@@ -2,8 +2,36 @@ import { useState, useEffect } from 'react';
 import { collection, getDocs } from 'firebase/firestore';
 import { db } from '../firebase/firebase';
 
+const draftServerUrl = (process.env.REACT_APP_DRAFT_SERVER_URL || 'https://draftengine.watermeloncup.com')
+  .split(',')[0]
+  .trim();
+
 /**
- * Custom hook to fetch all matches in a league and compute per-team stats.
+ * Read the league's standings from the draft engine, which keeps them up to date as results arrive.
+ * @returns {Promise<Record<string, object>>} stats by team ID, in the same shape as computed below
+ */
+async function fetchStandings(leagueId) {
+  const response = await fetch(`${draftServerUrl}/api/leagues/${encodeURIComponent(leagueId)}/standings`);
+  if (!response.ok) {
+    throw new Error(`Standings request failed: ${response.status}`);
+  }
+  const standings = await response.json();
+  const stats = {};
+  standings.teams.forEach(team => {
+    stats[team.teamId] = {
+      wins: team.won,
+      draws: team.drawn,
+      losses: team.lost,
+      goalsFor: team.goalsFor,
+      goalsAgainst: team.goalsAgainst
+    };
+  });
+  return stats;
+}
+
+/**
+ * Custom hook to get per-team stats for a league. Uses the draft engine's standings, and
+ * falls back to fetching every match and computing them here if the engine can't be reached.
  * @param {string} leagueId - Firestore ID of the league document
  * @returns {{ statsByTeam: Record<string, {wins:number, draws:number, losses:number, goalsFor:number, goalsAgainst:number}>, loading: boolean, error: Error|null }}
  */
@@ -19,6 +47,16 @@ export default function useLeagueStats(leagueId) {
     async function fetchStats() {
       setLoading(true);
       setError(null);
+      try {
+        const standings = await fetchStandings(leagueId);
+        if (mounted) {
+          setStatsByTeam(standings);
+          setLoading(false);
+        }
+        return;
+      } catch (err) {
+        console.warn('Standings unavailable from the draft engine, computing them from matches:', err.message);
+      }
       try {
         const snap = await getDocs(collection(db, 'leagues', leagueId, 'matches'));
         const stats = {};
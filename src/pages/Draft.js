@@ -33,6 +33,54 @@ const RARITY_SORT_MAP = {
   "Gold": 3
 };
 
+// Apply one catch-up diff from the server (see /app/draft/catch-up) to a draft state
+const applyDraftUpdate = (state, update) => {
+  let availablePool = state.availablePool || [];
+  if (update.availablePool) {
+    availablePool = update.availablePool;
+  } else if (update.removedFromPool && update.removedFromPool.length > 0) {
+    const removed = new Set(update.removedFromPool);
+    availablePool = availablePool.filter(p => !removed.has(p.id));
+  }
+
+  let teams = state.teams || {};
+  if (update.teams) {
+    teams = update.teams;
+  } else if (update.addedToTeams) {
+    teams = { ...teams };
+    Object.entries(update.addedToTeams).forEach(([captainId, players]) => {
+      teams[captainId] = [...(teams[captainId] || []), ...players];
+    });
+  }
+
+  return {
+    ...state,
+    availablePool,
+    teams,
+    currentCaptainId: update.currentCaptainId,
+    nextCaptainId: update.nextCaptainId,
+    currentCaptain: update.currentCaptain,
+    nextCaptain: update.nextCaptain,
+    pickExpiresAt: update.pickExpiresAt,
+    lastPick: update.lastPick,
+    draftStarted: update.draftStarted,
+    // Left out when unchanged
+    captains: update.captains || state.captains,
+    autoDraftPreferences: update.autoDraftPreferences || state.autoDraftPreferences,
+    snakeDraft: update.snakeDraft,
+    draftOrder: update.draftOrder || state.draftOrder,
+    currentRound: update.currentRound,
+  };
+};
+
+// Whether a draft-version tag ("<epoch>-<n>") is newer than another; tags from another server run always are
+const isNewerDraftVersion = (tag, current) => {
+  if (!current) return true;
+  const [epoch, n] = tag.split('-');
+  const [currentEpoch, currentN] = current.split('-');
+  return epoch !== currentEpoch || Number(n) > Number(currentN);
+};
+
 // Helper function to determine player rarity string based on graduation year
 const getPlayerRarityByGradYear = (graduationYear) => {
   if (!graduationYear) return "Bronze"; // Default for missing grad year, or handle as needed
@@ -98,6 +146,9 @@ export function Draft() {
   // We'll get available players and teams from the server via WebSocket
 
   const stompClient = useRef(null);
+  const captainRosterVersion = useRef(-1);
+  // draft-version of the last state applied, sent back on reconnect to catch up
+  const draftVersion = useRef(null);
   const timerRef = useRef(null);
 
   // Define addMessage function first since other functions depend on it
@@ -151,15 +202,12 @@ export function Draft() {
     if (searchQuery.trim() !== '') {
       const query = searchQuery.toLowerCase().trim();
       players = players.filter(p => {
-        const firstName = (p.firstName || '').toLowerCase();
-        const lastName = (p.lastName || '').toLowerCase();
-        const fullName = `${firstName} ${lastName}`.toLowerCase();
-        const nickname = (p.nickname || '').toLowerCase();
-
-        return firstName.includes(query) ||
-          lastName.includes(query) ||
-          fullName.includes(query) ||
-          nickname.includes(query);
+        // displayName holds the first name, nickname (in quotes) and last name
+        const displayName = (p.displayName || '').toLowerCase();
+        const fullName = displayName.replace(/\s*"[^"]*"\s*/, ' ');
+
+        return displayName.includes(query) ||
+          fullName.includes(query);
       });
     }
 
@@ -182,14 +230,14 @@ export function Draft() {
     // Apply rarity sort order
     if (raritySortOrder === "descending") {
       players.sort((a, b) => {
-        const rarityA = getPlayerRarityByGradYear(a.graduationYear);
-        const rarityB = getPlayerRarityByGradYear(b.graduationYear);
+        const rarityA = getPlayerRarityByGradYear(a.gradYear);
+        const rarityB = getPlayerRarityByGradYear(b.gradYear);
         return (RARITY_SORT_MAP[rarityB] || 0) - (RARITY_SORT_MAP[rarityA] || 0);
       });
     } else if (raritySortOrder === "ascending") {
       players.sort((a, b) => {
-        const rarityA = getPlayerRarityByGradYear(a.graduationYear);
-        const rarityB = getPlayerRarityByGradYear(b.graduationYear);
+        const rarityA = getPlayerRarityByGradYear(a.gradYear);
+        const rarityB = getPlayerRarityByGradYear(b.gradYear);
         return (RARITY_SORT_MAP[rarityA] || 0) - (RARITY_SORT_MAP[rarityB] || 0);
       });
     }
@@ -197,10 +245,10 @@ export function Draft() {
 
     console.log('[Draft] Sorting Effect - Rarity Sort Order:', raritySortOrder);
     if (draftState?.availablePool && draftState.availablePool.length > 0) {
-      console.log('[Draft] Sorting Effect - First 3 players from availablePool (raw):', draftState.availablePool.slice(0, 3).map(p => ({ id: p.id, gradYear: p.graduationYear, name: p.firstName })));
+      console.log('[Draft] Sorting Effect - First 3 players from availablePool (raw):', draftState.availablePool.slice(0, 3).map(p => ({ id: p.id, gradYear: p.gradYear, name: p.displayName })));
     }
 
-    let playersToLog = players.slice(0, 5).map(p => ({ id: p.id, gradYear: p.graduationYear, calculatedRarity: getPlayerRarityByGradYear(p.graduationYear), name: p.firstName }));
+    let playersToLog = players.slice(0, 5).map(p => ({ id: p.id, gradYear: p.gradYear, calculatedRarity: getPlayerRarityByGradYear(p.gradYear), name: p.displayName }));
     console.log('[Draft] Sorting Effect - Players before rarity sort (first 5):', playersToLog);
 
     // Apply rarity sort order
@@ -210,7 +258,7 @@ export function Draft() {
       players.sort((a, b) => (RARITY_SORT_MAP[a.rarity] || 0) - (RARITY_SORT_MAP[b.rarity] || 0));
     }
 
-    let sortedPlayersToLog = players.slice(0, 5).map(p => ({ id: p.id, gradYear: p.graduationYear, calculatedRarity: getPlayerRarityByGradYear(p.graduationYear), name: p.firstName }));
+    let sortedPlayersToLog = players.slice(0, 5).map(p => ({ id: p.id, gradYear: p.gradYear, calculatedRarity: getPlayerRarityByGradYear(p.gradYear), name: p.displayName }));
     console.log('[Draft] Sorting Effect - Players after rarity sort (first 5):', sortedPlayersToLog);
 
     setFilteredAvailablePlayers(players);
@@ -374,10 +422,16 @@ export function Draft() {
     addMessage('Connecting to WebSocket server...');
 
     // Create a new STOMP client with improved reliability
-    // Use environment variable for draft server URL, fallback to production
-    const draftServerUrl = process.env.REACT_APP_DRAFT_SERVER_URL || 'https://draftengine.watermeloncup.com';
+    // Use environment variable for draft server URL, fallback to production.
+    // A comma-separated list names a primary and its standby; on a lost or refused
+    // connection the client moves on to the next server in the list.
+    const draftServerUrls = (process.env.REACT_APP_DRAFT_SERVER_URL || 'https://draftengine.watermeloncup.com')
+      .split(',')
+      .map(url => url.trim())
+      .filter(url => url.length > 0);
+    let serverIndex = 0;
     const client = new Client({
-      webSocketFactory: () => new SockJS(`${draftServerUrl}/draft-ws`),
+      webSocketFactory: () => new SockJS(`${draftServerUrls[serverIndex % draftServerUrls.length]}/draft-ws`),
       debug: str => {
         // Log all important connection-related messages
         if (str.includes('Connected') || str.includes('Error') || str.includes('Lost') ||
@@ -424,6 +478,8 @@ export function Draft() {
     client.onWebSocketClose = (event) => {
       console.log('WebSocket Closed:', event.code, event.reason);
       setConnected(false);
+      // Try the next server on the next attempt (no-op with a single server)
+      serverIndex = (serverIndex + 1) % draftServerUrls.length;
       addMessage(`WebSocket Connection Closed: ${event.code}. Attempting to reconnect...`);
     };
 
@@ -435,6 +491,9 @@ export function Draft() {
       // Subscribe to draft updates
       client.subscribe('/topic/draft', (message) => {
         const payload = JSON.parse(message.body);
+        if (message.headers['draft-version']) {
+          draftVersion.current = message.headers['draft-version'];
+        }
         setDraftState(payload);
 
         // Check if we're a captain and update autodraft status from server
@@ -461,14 +520,20 @@ export function Draft() {
       });
 
       // Subscribe to authentication response
-      client.subscribe('/topic/auth-response', (message) => {
+      client.subscribe('/user/queue/auth-response', (message) => {
         const userInfo = JSON.parse(message.body);
         addMessage(`Received user info: ${userInfo.firstName} ${userInfo.lastName}`);
       });
 
-      // Subscribe to captain updates
-      client.subscribe('/topic/captains', (message) => {
+      // Captain roster snapshots are versioned; ignore anything older than what we have
+      const handleCaptainRoster = (message) => {
         const payload = JSON.parse(message.body);
+        if (payload.version !== undefined) {
+          if (payload.version < captainRosterVersion.current) {
+            return;
+          }
+          captainRosterVersion.current = payload.version;
+        }
         setCaptains(payload.captains || []);
         setCaptainCount(payload.count || 0);
         setMaxCaptains(payload.maxCaptains || 6);
@@ -483,10 +548,16 @@ export function Draft() {
         }
 
         addMessage(`Captain update: ${payload.count}/${payload.maxCaptains} captains registered`);
-      });
+      };
+
+      // Subscribe to captain updates (only sent when the roster changes)
+      captainRosterVersion.current = -1;
+      client.subscribe('/topic/captains', handleCaptainRoster);
+      // One-off reply with the current roster for this session
+      client.subscribe('/app/captains', handleCaptainRoster);
 
       // Subscribe to captain response
-      client.subscribe('/topic/captain-response', (message) => {
+      client.subscribe('/user/queue/captain-response', (message) => {
         const response = JSON.parse(message.body);
         setBecomingCaptain(false);
 
@@ -498,9 +569,12 @@ export function Draft() {
         }
       });
 
-      // Subscribe to draft config updates (snake draft, draft order)
-      client.subscribe('/topic/draft-config', (message) => {
+      // Draft config (snake draft, draft order): shared changes and replies to our own requests
+      const handleDraftConfig = (message) => {
         const payload = JSON.parse(message.body);
+        if (payload.success === false) {
+          addMessage(`Draft config not changed: ${payload.message}`);
+        }
         setDraftConfig(payload);
         if (payload.snakeDraft !== undefined) {
           setSnakeDraftEnabled(payload.snakeDraft);
@@ -512,7 +586,9 @@ export function Draft() {
           setDraftOrderMode('random');
         }
         addMessage(`Draft config updated: snake=${payload.snakeDraft}, order=${payload.draftOrder ? 'custom' : 'random'}`);
-      });
+      };
+      client.subscribe('/topic/draft-config', handleDraftConfig);
+      client.subscribe('/user/queue/draft-config', handleDraftConfig);
 
       // Send user authentication information to the server
       if (currentUser) {
@@ -532,17 +608,34 @@ export function Draft() {
         addMessage(`Sent authentication info for ${currentUser.email}`);
       }
 
-      // Send a heartbeat to get initial state including available players
-      client.publish({
-        destination: '/app/heartbeat',
-        body: JSON.stringify({}),
-      });
-
-      // Request captain status
-      client.publish({
-        destination: '/app/captain-status',
-        body: JSON.stringify({}),
-      });
+      // Get the state missed while disconnected (the full state on first connect);
+      // the reply goes to this session only
+      client.subscribe('/app/draft/catch-up', (message) => {
+        const payload = JSON.parse(message.body);
+        if (payload.mode === 'snapshot') {
+          // A broadcast may already have brought something newer
+          if (isNewerDraftVersion(payload.version, draftVersion.current)) {
+            draftVersion.current = payload.version;
+            setDraftState(payload.state);
+          }
+          addMessage('Caught up with a full draft state');
+          return;
+        }
+        // Apply only the chain that continues from what we have
+        const missed = [];
+        let version = draftVersion.current;
+        (payload.updates || []).forEach(update => {
+          if (update.previousVersion === version) {
+            missed.push(update);
+            version = update.version;
+          }
+        });
+        if (missed.length > 0) {
+          draftVersion.current = version;
+          setDraftState(prev => missed.reduce(applyDraftUpdate, prev || {}));
+        }
+        addMessage(`Caught up with ${missed.length} missed draft update(s)`);
+      }, draftVersion.current ? { 'draft-version': draftVersion.current } : {});
     };
 
     // Set up error callback
@@ -766,7 +859,7 @@ export function Draft() {
 
     if (stompClient.current && stompClient.current.connected) {
       setMakingPick(true);
-      addMessage(`Sending pick: ${selectedPlayer.firstName} ${selectedPlayer.lastName}`);
+      addMessage(`Sending pick: ${selectedPlayer.displayName}`);
 
       stompClient.current.publish({
         destination: '/app/make-pick',
@@ -794,7 +887,7 @@ export function Draft() {
       setSelectedPlayer(null);
     } else {
       setSelectedPlayer(player);
-      addMessage(`Selected player: ${player.firstName} ${player.lastName}`);
+      addMessage(`Selected player: ${player.displayName}`);
     }
   }, [selectedPlayer, addMessage]);
 
@@ -1110,7 +1203,7 @@ export function Draft() {
                 <div className="state-item">
                   <span className="state-label">Last Pick:</span>
                   <span className="state-value">
-                    {draftState.lastPick ? `${draftState.lastPick.firstName} ${draftState.lastPick.lastName}` : 'None'}
+                    {draftState.lastPick ? draftState.lastPick.displayName : 'None'}
                   </span>
                 </div>
               </div>
@@ -1311,7 +1404,7 @@ export function Draft() {
                       </>
                     ) : (
                       <>
-                        {selectedPlayer ? `Draft ${selectedPlayer.firstName} ${selectedPlayer.lastName}` : 'Select a Player'}
+                        {selectedPlayer ? `Draft ${selectedPlayer.displayName}` : 'Select a Player'}
                       </>
                     )}
                   </button>